@@ -1,14 +1,22 @@
 package com.carrental;
 
 import com.carrental.config.ApplicationProperties;
+import com.carrental.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is wired explicitly by ReactiveBookingConfig so it never competes with the JPA transaction manager
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 @EnableConfigurationProperties(ApplicationProperties.class)
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class CarRentalApplication {
     private static final Logger LOGGER = LoggerFactory.getLogger(CarRentalApplication.class);
 
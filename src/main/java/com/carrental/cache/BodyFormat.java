@@ -0,0 +1,78 @@
+package com.carrental.cache;
+
+import com.carrental.exception.NotAcceptableException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Representations the API serves: JSON, plus CBOR and Smile for high-volume consumers. The
+ * binary mappers are copies of the application's JSON mapper, so both carry the same modules
+ * and settings.
+ */
+public enum BodyFormat {
+    JSON(MediaType.APPLICATION_JSON, "", null),
+    CBOR(MediaType.APPLICATION_CBOR, ".cbor", CBORFactory::new),
+    SMILE(new MediaType("application", "x-jackson-smile"), ".smile", SmileFactory::new);
+
+    private static final String SUPPORTED = Arrays.stream(values())
+            .map(f -> f.mediaType().toString())
+            .collect(Collectors.joining(", "));
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+    private final Supplier<JsonFactory> factory;
+
+    BodyFormat(MediaType mediaType, String etagSuffix, Supplier<JsonFactory> factory) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+        this.factory = factory;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** distinguishes the ETags of the representations of one version */
+    public String etagSuffix() {
+        return etagSuffix;
+    }
+
+    /** {@code json} itself for JSON, otherwise a copy of it writing this format */
+    public ObjectMapper mapper(ObjectMapper json) {
+        return factory == null ? json : json.copyWith(factory.get());
+    }
+
+    /**
+     * Best format for an Accept header, by quality and then declaration order; JSON when there is
+     * no header.
+     *
+     * @throws NotAcceptableException when the header accepts none of the formats
+     */
+    public static BodyFormat forAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            throw new NotAcceptableException("Malformed Accept header: " + accept);
+        }
+        return accepted.stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .filter(type -> type.getQualityValue() > 0)
+                .flatMap(type -> Arrays.stream(values()).filter(f -> type.includes(f.mediaType())))
+                .findFirst()
+                .orElseThrow(() -> new NotAcceptableException("Accept " + accept + " matches none of " + SUPPORTED));
+    }
+}
@@ -0,0 +1,202 @@
+package com.carrental.cache;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.entity.CacheInvalidation;
+import com.carrental.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries cache invalidations to the other instances without a broker.
+ * <p>
+ * {@link #publish} appends a row to {@code cache_invalidations} in the writer's own transaction, so
+ * the invalidation commits exactly when the write does and cannot be lost in between. Every
+ * instance polls the rows past its cursor in id order and hands the ones published elsewhere to
+ * its listeners, so a write on one node evicts the other nodes' copies within about one poll
+ * interval. Ids are assigned at insert but become visible at commit, so an id skipped by a poll
+ * is looked up again for {@code gap-timeout} before it is given up. Rows older than
+ * {@code retention} are purged.
+ * <p>
+ * The cursor starts at the newest row on the first poll, right after startup: older
+ * invalidations are already reflected in the database this instance loads from.
+ * <p>
+ * Polls run on a thread of their own, so a long job on the shared scheduler, e.g. an archival
+ * run, cannot hold invalidations back past the poll interval.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    /** Something holding copies that must be dropped when another instance invalidates them. */
+    @FunctionalInterface
+    public interface Listener {
+        void invalidate(String key, long minVersion);
+    }
+
+    /** ids skipped by more than this are a sequence jump, not in-flight inserts */
+    static final int MAX_GAP = 1_000;
+
+    private static final String INSERT = """
+            INSERT INTO cache_invalidations (cache_key, min_version, origin, created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final CacheInvalidationRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final ApplicationProperties.InvalidationBus cfg;
+    private final String origin = UUID.randomUUID().toString();
+    private final List<Listener> listeners;
+    /** skipped ids and when they were first skipped */
+    private final Map<Long, Instant> gaps = new TreeMap<>();
+    private final Timer lag;
+    private final Counter applied;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cache-invalidation-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long cursor = -1;
+
+    public CacheInvalidationBus(CacheInvalidationRepository repository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationProperties props,
+                                MeterRegistry registry,
+                                List<Listener> listeners) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listeners = List.copyOf(listeners);
+        // polls and purges run on scheduler threads, never inside a caller's transaction
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cfg = props.getInvalidationBus();
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from publishing an invalidation on another instance to applying it here")
+                .register(registry);
+        this.applied = Counter.builder("cache.invalidation.applied")
+                .description("Invalidations from other instances applied to the local caches")
+                .register(registry);
+        Gauge.builder("cache.invalidation.gaps", this, CacheInvalidationBus::pendingGaps)
+                .description("Skipped invalidation ids still being looked for")
+                .register(registry);
+    }
+
+    /**
+     * Tells the other instances to drop {@code key}. Inside a transaction the row is written on its
+     * connection and commits or rolls back with it, and a failure fails the write; the caller drops
+     * its own copy after commit. Plain JDBC, as this runs from entity listeners during a flush.
+     */
+    public void publish(String key, long minVersion) {
+        if (!cfg.isEnabled()) {
+            return;
+        }
+        jdbcTemplate.update(INSERT, key, minVersion, origin, Timestamp.from(Instant.now()));
+    }
+
+    @PostConstruct
+    void start() {
+        if (cfg.isEnabled()) {
+            poller.scheduleWithFixedDelay(this::poll, 0, cfg.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdownNow();
+    }
+
+    /** Applies the invalidations published elsewhere since the last poll. */
+    public synchronized void poll() {
+        if (!cfg.isEnabled()) {
+            return;
+        }
+        try {
+            // a read-write transaction, so that the primary is read even when replicas are configured
+            newTransaction.executeWithoutResult(status -> readNew());
+        } catch (RuntimeException e) {
+            log.warn("Polling cache invalidations failed, retrying in {}", cfg.getPollInterval(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.invalidation-bus.purge-interval:PT10M}")
+    public void purge() {
+        Instant before = Instant.now().minus(cfg.getRetention());
+        Integer removed = newTransaction.execute(status -> repository.deleteCreatedBefore(before));
+        log.debug("Purged {} cache invalidations", removed);
+    }
+
+    private void readNew() {
+        if (cursor < 0) {
+            cursor = repository.findMaxId();
+            log.info("Cache invalidation bus origin={} starts after id {}", origin, cursor);
+            return;
+        }
+        Instant now = Instant.now();
+        retryGaps(now);
+        List<CacheInvalidation> batch;
+        do {
+            batch = repository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(cfg.getBatchSize()));
+            for (CacheInvalidation invalidation : batch) {
+                long id = invalidation.getId();
+                if (id - cursor - 1 <= MAX_GAP) {
+                    for (long skipped = cursor + 1; skipped < id; skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                }
+                apply(invalidation);
+                cursor = id;
+            }
+        } while (batch.size() == cfg.getBatchSize());
+    }
+
+    synchronized int pendingGaps() {
+        return gaps.size();
+    }
+
+    private void retryGaps(Instant now) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (CacheInvalidation late : repository.findAllById(gaps.keySet())) {
+            gaps.remove(late.getId());
+            apply(late);
+        }
+        Instant giveUp = now.minus(cfg.getGapTimeout());
+        gaps.values().removeIf(skippedAt -> skippedAt.isBefore(giveUp));
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.getOrigin())) {
+            return;
+        }
+        for (Listener listener : listeners) {
+            listener.invalidate(invalidation.getCacheKey(), invalidation.getMinVersion());
+        }
+        applied.increment();
+        lag.record(Duration.between(invalidation.getCreatedAt(), Instant.now()));
+    }
+}
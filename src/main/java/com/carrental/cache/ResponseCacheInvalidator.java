@@ -0,0 +1,50 @@
+package com.carrental.cache;
+
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that invalidates cached bodies when a vehicle or customer is updated or
+ * deleted through the entity manager. Bulk JPQL updates bypass it and must invalidate themselves.
+ * New vehicles are announced too: nothing is cached for them yet, but the invalidation carries the
+ * creation to the fleet snapshots of the other instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String CUSTOMERS = "customers";
+
+    private final SerializedResponseCache cache;
+
+    @PostPersist
+    public void created(Object entity) {
+        if (entity instanceof Vehicle v) {
+            cache.invalidateAfterCommit(SerializedResponseCache.key(VEHICLES, v.getId()), v.getVersion());
+        }
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        if (entity instanceof Vehicle v) {
+            cache.invalidateAfterCommit(SerializedResponseCache.key(VEHICLES, v.getId()), v.getVersion());
+        } else if (entity instanceof Customer c) {
+            cache.invalidateAfterCommit(SerializedResponseCache.key(CUSTOMERS, c.getId()), c.getVersion());
+        }
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        if (entity instanceof Vehicle v) {
+            cache.invalidateAfterCommit(SerializedResponseCache.key(VEHICLES, v.getId()), Long.MAX_VALUE);
+        } else if (entity instanceof Customer c) {
+            cache.invalidateAfterCommit(SerializedResponseCache.key(CUSTOMERS, c.getId()), Long.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.carrental.cache;
+
+import com.carrental.config.ApplicationProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Serialized bodies of single resources, keyed by resource, id and {@link BodyFormat} and tagged
+ * with the row version, so polling a resource skips both the database read and Jackson.
+ * <p>
+ * Writes invalidate after commit by leaving a tombstone with the lowest acceptable version. A
+ * reader that loaded the old row before the commit therefore cannot put it back afterwards.
+ * Invalidations are also published on the {@link CacheInvalidationBus} inside the writer's
+ * transaction, and the bus applies those of the other instances here. The bus is looked up lazily: it needs the entity manager factory, whose
+ * entity listener needs this cache.
+ */
+@Component
+@Slf4j
+public class SerializedResponseCache implements CacheInvalidationBus.Listener {
+
+    /** A cached body with its strong ETag. */
+    public record Entry(long version, String etag, BodyFormat format, byte[] body) {}
+
+    private record Tombstone(long minVersion) {}
+
+    private final Map<BodyFormat, ObjectMapper> mappers = new EnumMap<>(BodyFormat.class);
+    private final Map<String, Object> entries;
+    private final ObjectProvider<CacheInvalidationBus> bus;
+
+    /** A cache of this instance only. */
+    public SerializedResponseCache(ObjectMapper objectMapper, ApplicationProperties props) {
+        this(objectMapper, props, null);
+    }
+
+    @Autowired
+    public SerializedResponseCache(ObjectMapper objectMapper, ApplicationProperties props,
+                                   ObjectProvider<CacheInvalidationBus> bus) {
+        for (BodyFormat format : BodyFormat.values()) {
+            mappers.put(format, format.mapper(objectMapper));
+        }
+        int maxEntries = props.getResponseCache().getMaxEntries();
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        this.bus = bus;
+    }
+
+    public static String key(String resource, UUID id) {
+        return resource + "/" + id;
+    }
+
+    /** ETag of the JSON representation of {@code version} */
+    public static String etag(long version) {
+        return etag(version, BodyFormat.JSON);
+    }
+
+    public static String etag(long version, BodyFormat format) {
+        return "\"v" + version + format.etagSuffix() + "\"";
+    }
+
+    /** Cached entry for {@code key} in {@code format}, if present. */
+    public Entry get(String key, BodyFormat format) {
+        return entries.get(key + format.etagSuffix()) instanceof Entry entry ? entry : null;
+    }
+
+    /** Cached entry for {@code key} in {@code format}, or loads, serializes and caches the current one. */
+    public <T> Entry get(String key, BodyFormat format, Supplier<T> loader, ToLongFunction<T> version) {
+        Entry cached = get(key, format);
+        if (cached != null) {
+            return cached;
+        }
+        T value = loader.get();
+        long v = version.applyAsLong(value);
+        Entry loaded = new Entry(v, etag(v, format), format, serialize(format, value));
+        entries.compute(key + format.etagSuffix(), (k, current) -> accepts(current, v) ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Drops {@code key} here once the current transaction commits, and on the other instances
+     * through a row written in that transaction; older versions are refused after that.
+     */
+    public void invalidateAfterCommit(String key, long minVersion) {
+        if (bus != null) {
+            bus.ifAvailable(b -> b.publish(key, minVersion));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(key, minVersion);
+                }
+            });
+        } else {
+            invalidate(key, minVersion);
+        }
+    }
+
+    /** Drops every representation of {@code key}. */
+    @Override
+    public void invalidate(String key, long minVersion) {
+        for (BodyFormat format : BodyFormat.values()) {
+            entries.put(key + format.etagSuffix(), new Tombstone(minVersion));
+        }
+        log.debug("Invalidated cached body key={} minVersion={}", key, minVersion);
+    }
+
+    private static boolean accepts(Object current, long version) {
+        if (current instanceof Tombstone tombstone) {
+            return version >= tombstone.minVersion();
+        }
+        return !(current instanceof Entry entry) || version > entry.version();
+    }
+
+    private byte[] serialize(BodyFormat format, Object value) {
+        try {
+            return mappers.get(format).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
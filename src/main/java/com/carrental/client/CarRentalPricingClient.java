@@ -25,31 +25,36 @@ public class CarRentalPricingClient {
 
     public Optional<RateResponse> getRateForCategory(String category) {
         try {
-            RateRequest req = new RateRequest(category);
-            var node = webClient.post()
-                    .uri("/rental/rate")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(req)
-                    .retrieve()
-                    .onStatus(status -> status.value() == 400 || status.value() == 404,
-                            cr -> Mono.error(new InvalidCategoryException("Category not found: " + category)))
-                    .bodyToMono(com.fasterxml.jackson.databind.JsonNode.class)
-                    .block();
-
-            if (node == null) return Optional.empty();
-
-            String cat = node.path("category").asText(null);
-            BigDecimal rate = node.path("ratePerDay").isNumber() ? node.path("ratePerDay").decimalValue() : null;
-            if (rate == null) return Optional.empty();
-            return Optional.of(new RateResponse(cat, rate));
-        } catch (InvalidCategoryException e) {
-            return Optional.empty();
-        }  catch (WebClientResponseException e) {
+            return rateForCategory(category).blockOptional();
+        } catch (WebClientResponseException e) {
             throw new RuntimeException("Pricing service error " , e);
         } catch (Exception e) {
             throw new ExternalServiceException("Pricing service failure", e);
         }
     }
+
+    /**
+     * Non-blocking variant of {@link #getRateForCategory(String)}. Completes empty when the
+     * category is unknown or the response carries no rate.
+     */
+    public Mono<RateResponse> rateForCategory(String category) {
+        RateRequest req = new RateRequest(category);
+        return webClient.post()
+                .uri("/rental/rate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(req)
+                .retrieve()
+                .onStatus(status -> status.value() == 400 || status.value() == 404,
+                        cr -> Mono.error(new InvalidCategoryException("Category not found: " + category)))
+                .bodyToMono(com.fasterxml.jackson.databind.JsonNode.class)
+                .flatMap(node -> {
+                    String cat = node.path("category").asText(null);
+                    BigDecimal rate = node.path("ratePerDay").isNumber() ? node.path("ratePerDay").decimalValue() : null;
+                    return rate == null ? Mono.<RateResponse>empty() : Mono.just(new RateResponse(cat, rate));
+                })
+                .onErrorResume(InvalidCategoryException.class, e -> Mono.empty());
+    }
+
     public static class InvalidCategoryException extends RuntimeException {
         public InvalidCategoryException(String msg) { super(msg); }
     }
@@ -25,24 +25,8 @@ public class DrivingLicenseClient {
 
     public Optional<LicenseResponse> getLicenseDetails(String licenseNumber) {
         try {
-            var node = webClient.post()
-                    .uri("/license/details")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(new LicenseRequest(licenseNumber))
-                    .retrieve()
-                    .onStatus(status -> status.value() == 404,
-                            cr -> Mono.error(new LicenseNotFoundException("License not found: " + licenseNumber)))
-                    .bodyToMono(com.fasterxml.jackson.databind.JsonNode.class)
-                    .block(Duration.ofSeconds(5)); // avoid indefinite block
-
-            if (node == null) return Optional.empty();
-
-            String owner = node.path("ownerName").asText(null);
-            String expiry = node.path("expiryDate").asText(null);
-            LocalDate expiryDate = expiry != null ? LocalDate.parse(expiry, DateTimeFormatter.ISO_DATE) : null;
-            return Optional.of(new LicenseResponse(owner, expiryDate));
-        } catch (LicenseNotFoundException e) {
-            return Optional.empty();
+            return licenseDetails(licenseNumber)
+                    .blockOptional(Duration.ofSeconds(5)); // avoid indefinite block
         } catch (WebClientResponseException e) {
             throw new ExternalServiceException("Driving license service error", e);
         } catch (Exception e) {
@@ -50,6 +34,28 @@ public class DrivingLicenseClient {
         }
     }
 
+    /**
+     * Non-blocking variant of {@link #getLicenseDetails(String)}. Completes empty when the
+     * license is unknown to the driving license service.
+     */
+    public Mono<LicenseResponse> licenseDetails(String licenseNumber) {
+        return webClient.post()
+                .uri("/license/details")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LicenseRequest(licenseNumber))
+                .retrieve()
+                .onStatus(status -> status.value() == 404,
+                        cr -> Mono.error(new LicenseNotFoundException("License not found: " + licenseNumber)))
+                .bodyToMono(com.fasterxml.jackson.databind.JsonNode.class)
+                .map(node -> {
+                    String owner = node.path("ownerName").asText(null);
+                    String expiry = node.path("expiryDate").asText(null);
+                    LocalDate expiryDate = expiry != null ? LocalDate.parse(expiry, DateTimeFormatter.ISO_DATE) : null;
+                    return new LicenseResponse(owner, expiryDate);
+                })
+                .onErrorResume(LicenseNotFoundException.class, e -> Mono.empty());
+    }
+
     public static class LicenseNotFoundException extends RuntimeException {
         public LicenseNotFoundException(String msg) { super(msg); }
     }
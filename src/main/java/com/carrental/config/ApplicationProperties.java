@@ -4,12 +4,36 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @ConfigurationProperties(prefix = "app")
 public class ApplicationProperties {
 
     private CarPricingApi carPricingApi = new CarPricingApi();
     private DrivingLicenseApi drivingLicenseApi = new DrivingLicenseApi();
+    private Reactive reactive = new Reactive();
+    private BookingLimiter bookingLimiter = new BookingLimiter();
+    private AsyncBooking asyncBooking = new AsyncBooking();
+    private Idempotency idempotency = new Idempotency();
+    private ReadReplicas readReplicas = new ReadReplicas();
+    private Quotes quotes = new Quotes();
+    private Pricing pricing = new Pricing();
+    private Occupancy occupancy = new Occupancy();
+    private Archival archival = new Archival();
+    private WarmUp warmUp = new WarmUp();
+    private ResponseCache responseCache = new ResponseCache();
+    private SparseFields sparseFields = new SparseFields();
+    private Lookup lookup = new Lookup();
+    private BookingLease bookingLease = new BookingLease();
+    private InvalidationBus invalidationBus = new InvalidationBus();
+    private VehicleEvents vehicleEvents = new VehicleEvents();
+    private VehicleSearch vehicleSearch = new VehicleSearch();
+    private FleetSnapshot fleetSnapshot = new FleetSnapshot();
 
     @Data
     public static class CarPricingApi {
@@ -20,5 +44,234 @@ public class ApplicationProperties {
     public static class DrivingLicenseApi {
         private String baseUrl;
     }
-}
 
+    /** R2DBC settings for the non-blocking booking path ("reactive" profile). */
+    @Data
+    public static class Reactive {
+        private String url;
+        private String username;
+        private String password;
+        private int maxPoolSize = 20;
+    }
+
+    /** Adaptive admission control in front of POST /api/v1/vehicles/bookings. */
+    @Data
+    public static class BookingLimiter {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        /** weight of each new limit estimate, 0..1 */
+        private double smoothing = 0.2;
+        /** latency increase tolerated before the limit is reduced */
+        private double tolerance = 1.5;
+        /** samples in the long-term latency average */
+        private int longWindow = 600;
+        private long minRetryAfterSeconds = 1;
+    }
+
+    /** Worker pipeline behind POST /api/v1/vehicles/bookings with "Prefer: respond-async". */
+    @Data
+    public static class AsyncBooking {
+        private int workers = 4;
+        private int queueCapacity = 500;
+        /** a claim older than this is taken to belong to a crashed worker and is handed back */
+        private Duration claimTimeout = Duration.ofMinutes(5);
+    }
+
+    /** Idempotency-Key handling for booking creation. */
+    @Data
+    public static class Idempotency {
+        private Duration ttl = Duration.ofHours(24);
+        /** how long a duplicate waits for the in-flight original */
+        private Duration waitTimeout = Duration.ofSeconds(30);
+        private Duration purgeInterval = Duration.ofMinutes(10);
+    }
+
+    /** Routing of read-only transactions to replica pools. */
+    @Data
+    public static class ReadReplicas {
+        private boolean enabled = false;
+        /** replicas lagging further behind than this are skipped */
+        private Duration maxLag = Duration.ofSeconds(5);
+        private Duration checkInterval = Duration.ofSeconds(2);
+        /** must return the lag in seconds, NULL when replication is stopped */
+        private String lagQuery = "SHOW REPLICA STATUS";
+        /** column holding the lag; first column when blank */
+        private String lagColumn = "Seconds_Behind_Source";
+        private List<Replica> replicas = new ArrayList<>();
+
+        @Data
+        public static class Replica {
+            private String url;
+            private String username;
+            private String password;
+            private int maximumPoolSize = 20;
+        }
+    }
+
+    /** GET /api/v1/quotes */
+    @Data
+    public static class Quotes {
+        /** Cache-Control max-age for quote responses */
+        private Duration maxAge = Duration.ofSeconds(60);
+    }
+
+    /** Day-varying rate calendars built on the pricing service's base rates. */
+    @Data
+    public static class Pricing {
+        private Duration reloadInterval = Duration.ofMinutes(5);
+        /** days before today covered by the precomputed calendar */
+        private int lookbackDays = 31;
+        /** days from today covered by the precomputed calendar */
+        private int horizonDays = 730;
+        private List<DayOfWeek> weekendDays = new ArrayList<>();
+        private BigDecimal weekendMultiplier = BigDecimal.ONE;
+        private List<Season> seasons = new ArrayList<>();
+        private List<Holiday> holidays = new ArrayList<>();
+
+        @Data
+        public static class Season {
+            /** MM-dd, inclusive */
+            private String from;
+            /** MM-dd, inclusive; may be earlier than from to wrap over the new year */
+            private String to;
+            private BigDecimal multiplier = BigDecimal.ONE;
+        }
+
+        @Data
+        public static class Holiday {
+            /** MM-dd */
+            private String date;
+            private BigDecimal multiplier = BigDecimal.ONE;
+        }
+    }
+
+    /** Daily per-segment occupancy aggregates. */
+    @Data
+    public static class Occupancy {
+        private int rebuildChunkDays = 31;
+        private int rebuildParallelism = 4;
+        /** longest range a single rebuild accepts */
+        private int maxRebuildDays = 366;
+        /** days either side of today covered by the scheduled rebuild */
+        private int scheduledRebuildDays = 45;
+        /** cron for the scheduled rebuild; "-" disables it */
+        private String rebuildCron = "-";
+    }
+
+    /** Moves finished bookings into bookings_archive. */
+    @Data
+    public static class Archival {
+        /** bookings that ended more than this many days ago are archived */
+        private int retentionDays = 365;
+        private int chunkSize = 500;
+        /** pause between chunks, to leave room for booking traffic */
+        private Duration pause = Duration.ofMillis(200);
+        private int maxChunksPerRun = 1000;
+        /** how long a run's cluster-wide claim lasts unless renewed; renewed before every chunk */
+        private Duration claimTtl = Duration.ofMinutes(5);
+        /** cron for the archival job; "-" disables it */
+        private String cron = "-";
+    }
+
+    /** Startup warm-up that runs before the application reports ready. */
+    @Data
+    public static class WarmUp {
+        private boolean enabled = false;
+        /** readiness is reported after this even if warm-up has not finished */
+        private Duration maxDuration = Duration.ofSeconds(30);
+        /** rounds of validation, booking rules and JSON work */
+        private int iterations = 5_000;
+        /** rounds of the booking queries, inside a rolled-back transaction */
+        private int dbIterations = 300;
+        /** database connections opened concurrently */
+        private int connections = 5;
+    }
+
+    /** Serialized bodies of single vehicles and customers, served with ETags. */
+    @Data
+    public static class ResponseCache {
+        private int maxEntries = 10_000;
+    }
+
+    /** Field selections ({@code fields=}) on vehicle, customer and booking reads. */
+    @Data
+    public static class SparseFields {
+        /** distinct selections whose shaping plans are kept; others are planned per request */
+        private int maxPlans = 1_000;
+    }
+
+    /** Multi-get endpoints (POST .../lookup). */
+    @Data
+    public static class Lookup {
+        /** keys per IN query; a request is resolved with ceil(keys / chunkSize) statements */
+        private int chunkSize = 200;
+    }
+
+    /** Cluster-wide per-vehicle lease taken by the booking transaction. */
+    @Data
+    public static class BookingLease {
+        /** a booking must commit within this after taking the lease, or it rolls back */
+        private Duration ttl = Duration.ofSeconds(5);
+        /** how long a booking waits for a lease held elsewhere; whole seconds, at least 1 */
+        private Duration wait = Duration.ofSeconds(2);
+        /** recorded as the lease holder; defaults to a random id per instance */
+        private String nodeId;
+    }
+
+    /** Propagation of cache invalidations to the other instances through the cache_invalidations table. */
+    @Data
+    public static class InvalidationBus {
+        private boolean enabled = true;
+        /** upper bound, plus one poll, on how long another instance serves an invalidated entry */
+        private Duration pollInterval = Duration.ofSeconds(1);
+        /** rows read per query; a poll keeps reading until it is caught up */
+        private int batchSize = 500;
+        /**
+         * how long a skipped id is looked for again, in case its insert commits late; longer than
+         * any writing transaction, since the row is inserted with the write and seen at its commit
+         */
+        private Duration gapTimeout = Duration.ofMinutes(1);
+        private Duration retention = Duration.ofHours(1);
+        private Duration purgeInterval = Duration.ofMinutes(10);
+    }
+
+    /** Server-sent vehicle event stream (GET /api/v1/vehicles/events). */
+    @Data
+    public static class VehicleEvents {
+        /** latest events kept for clients resuming with Last-Event-ID */
+        private int replayBuffer = 1_024;
+        /** events waiting for one subscriber; a subscriber that falls further behind is disconnected */
+        private int subscriberQueue = 256;
+        private int maxSubscribers = 1_000;
+        /** threads writing to subscribers, so a slow socket never blocks the committing request */
+        private int senderThreads = 4;
+        private Duration timeout = Duration.ofMinutes(30);
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+        /** how often the events of the other instances are read from vehicle_events */
+        private Duration pollInterval = Duration.ofSeconds(1);
+        /** rows read per query; a poll keeps reading until it is caught up */
+        private int pollBatchSize = 500;
+        /** how long a skipped id is looked for again; longer than any writing transaction */
+        private Duration gapTimeout = Duration.ofMinutes(1);
+        private Duration retention = Duration.ofHours(1);
+        private Duration purgeInterval = Duration.ofMinutes(10);
+    }
+
+    /** Filtered vehicle search (GET /api/v1/vehicles/search). */
+    @Data
+    public static class VehicleSearch {
+        /** how long the total of one filter combination is reused across pages */
+        private Duration countTtl = Duration.ofSeconds(10);
+        private int maxCachedCounts = 1_000;
+    }
+
+    /** In-memory columnar copy of the vehicle catalogue serving the vehicle list and search. */
+    @Data
+    public static class FleetSnapshot {
+        private boolean enabled = true;
+        /** full reload from the database, for writes that bypassed the application */
+        private Duration rebuildInterval = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,52 @@
+package com.carrental.config;
+
+import com.carrental.limiter.BookingAdmissionFilter;
+import com.carrental.limiter.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.booking-limiter", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingLimiterConfig {
+
+    private final ApplicationProperties props;
+
+    @Bean
+    public GradientConcurrencyLimiter bookingConcurrencyLimiter(MeterRegistry registry) {
+        ApplicationProperties.BookingLimiter cfg = props.getBookingLimiter();
+        log.info("Booking limiter initialLimit={} min={} max={}", cfg.getInitialLimit(), cfg.getMinLimit(), cfg.getMaxLimit());
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+                cfg.getInitialLimit(), cfg.getMinLimit(), cfg.getMaxLimit(),
+                cfg.getSmoothing(), cfg.getTolerance(), cfg.getLongWindow());
+
+        Gauge.builder("booking.limiter.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for booking creation")
+                .register(registry);
+        Gauge.builder("booking.limiter.inflight", limiter, GradientConcurrencyLimiter::getInFlight)
+                .description("Booking requests currently admitted")
+                .register(registry);
+        FunctionCounter.builder("booking.limiter.rejected", limiter, GradientConcurrencyLimiter::getRejected)
+                .description("Booking requests rejected by the limiter")
+                .register(registry);
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<BookingAdmissionFilter> bookingAdmissionFilter(GradientConcurrencyLimiter limiter) {
+        FilterRegistrationBean<BookingAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new BookingAdmissionFilter(limiter, props.getBookingLimiter().getMinRetryAfterSeconds()));
+        registration.addUrlPatterns("/api/v1/vehicles/bookings");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,24 @@
+package com.carrental.config;
+
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.VehicleEvent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints that AOT processing cannot infer, for the native image.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // built by Hibernate from JPQL constructor expressions
+        hints.reflection().registerType(BookingHistoryItem.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // serialized by Jackson onto the event stream, not returned from a controller method
+        hints.reflection().registerType(VehicleEvent.class,
+                MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        // vendor-specific migration folders below the default location
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -0,0 +1,71 @@
+package com.carrental.config;
+
+import com.carrental.service.BookingLeaseService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Wiring for the non-blocking booking path. Only active with the "reactive" profile.
+ * <p>
+ * Neither the R2DBC connection pool nor its transaction manager is exposed as a bean: a
+ * {@link ConnectionFactory} bean makes Spring Boot back off the JDBC {@code DataSource}, and the
+ * rest of the application uses {@code @Transactional} against JPA and must keep resolving a
+ * single transaction manager.
+ */
+@Configuration
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookingConfig {
+
+    private final ApplicationProperties props;
+
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient bookingDatabaseClient() {
+        return DatabaseClient.create(connectionPool());
+    }
+
+    /** Runs at READ COMMITTED, as the JDBC booking transaction does; see {@link BookingLeaseService#TRANSACTION}. */
+    @Bean
+    public TransactionalOperator bookingTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool()), BookingLeaseService.TRANSACTION);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    private synchronized ConnectionPool connectionPool() {
+        if (connectionPool == null) {
+            ApplicationProperties.Reactive reactive = props.getReactive();
+            log.info("Creating R2DBC connection pool url={} maxSize={}", reactive.getUrl(), reactive.getMaxPoolSize());
+            ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(reactive.getUrl())
+                    .mutate()
+                    .option(ConnectionFactoryOptions.USER, reactive.getUsername())
+                    .option(ConnectionFactoryOptions.PASSWORD, reactive.getPassword() == null ? "" : reactive.getPassword())
+                    .build();
+            ConnectionFactory target = ConnectionFactories.get(options);
+            connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(target)
+                    .maxSize(reactive.getMaxPoolSize())
+                    .build());
+        }
+        return connectionPool;
+    }
+}
@@ -0,0 +1,109 @@
+package com.carrental.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary/replica data source wiring, enabled with {@code app.read-replicas.enabled=true}.
+ * The primary pool is still configured through {@code spring.datasource.*}; replicas come from
+ * {@code app.read-replicas.replicas}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ReadReplicaDataSourceConfig {
+
+    private final ApplicationProperties props;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource) {
+        ApplicationProperties.ReadReplicas cfg = props.getReadReplicas();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < cfg.getReplicas().size(); i++) {
+            ApplicationProperties.ReadReplicas.Replica r = cfg.getReplicas().get(i);
+            HikariDataSource ds = new HikariDataSource();
+            ds.setPoolName("replica-" + i);
+            ds.setJdbcUrl(r.getUrl());
+            ds.setUsername(r.getUsername());
+            ds.setPassword(r.getPassword());
+            ds.setMaximumPoolSize(r.getMaximumPoolSize());
+            ds.setReadOnly(true);
+            replicas.put(ds.getPoolName(), ds);
+        }
+        log.info("Routing read-only transactions to {} replica(s), maxLag={}", replicas.size(), cfg.getMaxLag());
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(
+                primaryDataSource, replicas, cfg.getLagQuery(), cfg.getLagColumn(), cfg.getMaxLag());
+        routing.afterPropertiesSet();
+        return routing; // reads stay on the primary until the monitor's first check
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Bean(destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(readReplicaRoutingDataSource);
+        monitor.start(props.getReadReplicas().getCheckInterval());
+        return monitor;
+    }
+
+    /**
+     * Checks replica lag on a thread of its own, so an unreachable replica, which can hold a check
+     * for the whole connection timeout, neither delays startup nor the shared scheduler; it only
+     * stays out of rotation.
+     */
+    @RequiredArgsConstructor
+    static class ReplicaLagMonitor {
+
+        private final ReadReplicaRoutingDataSource routing;
+        private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        void start(Duration interval) {
+            executor.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            executor.shutdownNow();
+        }
+
+        private void check() {
+            try {
+                routing.checkReplicas();
+            } catch (RuntimeException e) {
+                log.warn("Replica lag check failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.carrental.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * Replicas are picked round-robin among those whose last lag check succeeded within
+ * {@code maxLag}; when none qualifies the read falls back to the primary. The routing decision
+ * relies on the transaction's read-only flag, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers the
+ * physical connection until the first statement, after the flag is set.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<String> healthy = List.of();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                        String lagQuery, String lagColumn, Duration maxLag) {
+        this.replicas = replicas;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    /** Re-evaluates replica lag; replicas that fail the check or lag too far are skipped. */
+    public void checkReplicas() {
+        List<String> ok = new ArrayList<>(replicas.size());
+        replicas.forEach((name, ds) -> {
+            try {
+                Duration lag = measureLag(ds);
+                if (lag != null && lag.compareTo(maxLag) <= 0) {
+                    ok.add(name);
+                } else {
+                    log.warn("Replica {} excluded, lag={} maxLag={}", name, lag, maxLag);
+                }
+            } catch (Exception e) {
+                log.warn("Replica {} excluded, lag check failed: {}", name, e.getMessage());
+            }
+        });
+        if (!ok.equals(healthy)) {
+            log.info("Healthy read replicas: {}", ok);
+        }
+        healthy = List.copyOf(ok);
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthy;
+    }
+
+    /** @return replication lag, or {@code null} when replication is not running */
+    private Duration measureLag(DataSource ds) throws Exception {
+        try (Connection c = ds.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long seconds = lagColumn == null || lagColumn.isBlank() ? rs.getLong(1) : rs.getLong(lagColumn);
+            return rs.wasNull() ? null : Duration.ofSeconds(seconds);
+        }
+    }
+}
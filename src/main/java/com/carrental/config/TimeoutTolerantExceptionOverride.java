@@ -0,0 +1,20 @@
+package com.carrental.config;
+
+import com.zaxxer.hikari.SQLExceptionOverride;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+/**
+ * Keeps connections whose statement timed out in the pool. Hikari evicts them by default, but a
+ * statement cancelled by its timeout, like a booking that gave up waiting for a vehicle lease,
+ * leaves the connection usable, and evicting it mid-transaction makes the rollback fail and
+ * hides the original error.
+ */
+public class TimeoutTolerantExceptionOverride implements SQLExceptionOverride {
+
+    @java.lang.Override
+    public Override adjudicate(SQLException sqlException) {
+        return sqlException instanceof SQLTimeoutException ? Override.DO_NOT_EVICT : Override.CONTINUE_EVICT;
+    }
+}
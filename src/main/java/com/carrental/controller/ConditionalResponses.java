@@ -0,0 +1,90 @@
+package com.carrental.controller;
+
+import com.carrental.cache.BodyFormat;
+import com.carrental.cache.SerializedResponseCache;
+import com.carrental.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/** Conditional request support: ETag / If-None-Match on reads and If-Match on writes. */
+final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * 304 when {@code ifNoneMatch} names the entry's ETag, otherwise 200 with the cached body.
+     * Entries without an ETag are always sent.
+     */
+    static ResponseEntity<byte[]> of(SerializedResponseCache.Entry entry, String ifNoneMatch) {
+        if (entry.etag() == null) {
+            return body(entry.format(), entry.body());
+        }
+        if (matches(ifNoneMatch, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .contentType(entry.format().mediaType())
+                .body(entry.body());
+    }
+
+    /** 200 with an already serialized body; the format was chosen by Accept. */
+    static ResponseEntity<byte[]> body(BodyFormat format, byte[] body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .contentType(format.mediaType())
+                .body(body);
+    }
+
+    /** Weak comparison as required for If-None-Match: a {@code W/} prefix is ignored, {@code *} matches. */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version required by an If-Match header: null when the header is absent or {@code *}. Other
+     * values must be a single strong ETag of ours, of any representation; weak or foreign tags can
+     * never match.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 3 && tag.startsWith("\"v") && tag.endsWith("\"")) {
+            String version = tag.substring(2, tag.length() - 1);
+            for (BodyFormat format : BodyFormat.values()) {
+                if (!format.etagSuffix().isEmpty() && version.endsWith(format.etagSuffix())) {
+                    version = version.substring(0, version.length() - format.etagSuffix().length());
+                }
+            }
+            try {
+                return Long.parseLong(version);
+            } catch (NumberFormatException ignored) {
+                // falls through to the failed precondition
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not name a current ETag: " + ifMatch);
+    }
+}
@@ -1,15 +1,33 @@
 package com.carrental.controller;
 
+import com.carrental.cache.BodyFormat;
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.cache.SerializedResponseCache;
+import com.carrental.dto.BookingHistoryPage;
+import com.carrental.dto.CustomerLookupRequest;
+import com.carrental.dto.CustomerPatchRequest;
 import com.carrental.dto.CustomerRequest;
 import com.carrental.dto.CustomerResponse;
+import com.carrental.dto.LookupResponse;
+import com.carrental.exception.CustomerNotFoundException;
+import com.carrental.projection.ResourceFields;
+import com.carrental.projection.SparseFieldsService;
+import com.carrental.service.BookingHistoryService;
 import com.carrental.service.CustomerService;
+import com.carrental.service.LookupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
@@ -22,6 +40,10 @@ import java.util.UUID;
 public class CustomerController {
 
     private final CustomerService service;
+    private final BookingHistoryService bookingHistoryService;
+    private final SerializedResponseCache responseCache;
+    private final SparseFieldsService sparseFields;
+    private final LookupService lookupService;
 
     /** Create -> POST /api/v1/customers */
     @PostMapping
@@ -33,10 +55,27 @@ public class CustomerController {
                 .body(created);
     }
 
-    /** Get single -> GET /api/v1/customers/{id} */
+    /** Get single -> GET /api/v1/customers/{id}; JSON, CBOR or Smile by Accept; carries an ETag and answers 304 to a matching If-None-Match */
     @GetMapping("{id}")
-    public ResponseEntity<CustomerResponse> getCustomer(@PathVariable UUID id) {
-        return ResponseEntity.ok(service.getCustomerById(id));
+    public ResponseEntity<byte[]> getCustomer(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var entry = responseCache.get(SerializedResponseCache.key(ResponseCacheInvalidator.CUSTOMERS, id),
+                BodyFormat.forAccept(accept), () -> service.getCustomerById(id), CustomerResponse::version);
+        return ConditionalResponses.of(entry, ifNoneMatch);
+    }
+
+    /** Get single -> GET /api/v1/customers/{id}?fields=id,email; reads and returns only the named fields */
+    @GetMapping(path = "{id}", params = "fields")
+    public ResponseEntity<byte[]> getCustomerFields(
+            @PathVariable UUID id,
+            @RequestParam String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var entry = sparseFields.find(id, fields, BodyFormat.forAccept(accept), ResourceFields.CUSTOMERS)
+                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + id));
+        return ConditionalResponses.of(entry, ifNoneMatch);
     }
 
     /** List -> GET /api/v1/customers */
@@ -45,13 +84,50 @@ public class CustomerController {
         return ResponseEntity.ok(service.listCustomers());
     }
 
-    /** Full update -> PUT /api/v1/customers/{id} */
+    /** List -> GET /api/v1/customers?fields=id,email; reads and returns only the named fields */
+    @GetMapping(params = "fields")
+    public ResponseEntity<byte[]> listCustomerFields(
+            @RequestParam String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        BodyFormat format = BodyFormat.forAccept(accept);
+        return ConditionalResponses.body(format, sparseFields.list(ResourceFields.CUSTOMERS, fields, format));
+    }
+
+    /** Multi-get -> POST /api/v1/customers/lookup with {"ids": [...]} or {"licenseNumbers": [...]} */
+    @PostMapping(path = "/lookup", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LookupResponse<CustomerResponse>> lookupCustomers(@Valid @RequestBody CustomerLookupRequest request) {
+        return ResponseEntity.ok(lookupService.customers(request));
+    }
+
+    /** Booking history -> GET /api/v1/customers/{id}/bookings?from=&to=&page=&size= */
+    @GetMapping("{id}/bookings")
+    public ResponseEntity<BookingHistoryPage> getCustomerBookings(
+            @PathVariable("id") UUID customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(bookingHistoryService.customerHistory(customerId, from, to, page, size));
+    }
+
+    /** Full update -> PUT /api/v1/customers/{id}; an If-Match header must name the current ETag */
     @PutMapping("{id}")
     public ResponseEntity<CustomerResponse> updateCustomer(
             @PathVariable("id") UUID id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody CustomerRequest req) {
-        CustomerResponse updated = service.updateCustomer(id, req);
-        return ResponseEntity.ok(updated);
+        CustomerResponse updated = service.updateCustomer(id, req, ConditionalResponses.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(SerializedResponseCache.etag(updated.version())).body(updated);
+    }
+
+    /** Partial update -> PATCH /api/v1/customers/{id}; answers 204 with the new ETag */
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchCustomer(
+            @PathVariable("id") UUID id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CustomerPatchRequest req) {
+        long version = service.patchCustomer(id, req, ConditionalResponses.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(SerializedResponseCache.etag(version)).build();
     }
 
 
@@ -0,0 +1,55 @@
+package com.carrental.controller;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.QuoteResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.service.QuoteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@RestController
+@RequestMapping(path = "/api/v1/quotes", produces = APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class QuoteController {
+
+    private final QuoteService service;
+    private final ApplicationProperties props;
+
+    /** Quote -> GET /api/v1/quotes?segment=&from=&to= */
+    @GetMapping
+    public ResponseEntity<QuoteResponse> quote(
+            @RequestParam VehicleSegment segment,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok().cacheControl(cacheControl()).body(service.quote(segment, from, to));
+    }
+
+    /** Quote several segments -> GET /api/v1/quotes/segments?segments=ECONOMY,LUXURY&from=&to= (all when omitted) */
+    @GetMapping("/segments")
+    public ResponseEntity<List<QuoteResponse>> quoteSegments(
+            @RequestParam(required = false) List<VehicleSegment> segments,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<VehicleSegment> requested = segments == null || segments.isEmpty()
+                ? Arrays.asList(VehicleSegment.values())
+                : segments;
+        return ResponseEntity.ok().cacheControl(cacheControl()).body(service.quote(requested, from, to));
+    }
+
+    private CacheControl cacheControl() {
+        return CacheControl.maxAge(props.getQuotes().getMaxAge()).cachePublic();
+    }
+}
@@ -0,0 +1,41 @@
+package com.carrental.controller;
+
+import com.carrental.dto.BookingRequest;
+import com.carrental.service.ReactiveBookingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.util.UUID;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Non-blocking booking endpoint, enabled with the "reactive" profile. The request thread is
+ * released as soon as the {@link Mono} is returned.
+ */
+@RestController
+@RequestMapping("/api/v1/vehicles")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService service;
+
+    /** Create -> POST /api/v1/vehicles/bookings/reactive */
+    @PostMapping(path = "/bookings/reactive",
+            consumes = APPLICATION_JSON_VALUE,
+            produces = APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<UUID>> createBooking(@RequestBody @Valid BookingRequest request) {
+        return service.createBooking(request)
+                .map(bookingId -> ResponseEntity.status(HttpStatus.CREATED).body(bookingId));
+    }
+}
@@ -0,0 +1,39 @@
+package com.carrental.controller;
+
+import com.carrental.dto.OccupancyResponse;
+import com.carrental.service.OccupancyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@RestController
+@RequestMapping(path = "/api/v1/reports", produces = APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReportController {
+
+    private final OccupancyService occupancyService;
+
+    /** Daily occupancy per segment -> GET /api/v1/reports/occupancy?from=&to= */
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<OccupancyResponse>> occupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(from, to));
+    }
+
+    /** Recompute aggregates from bookings -> POST /api/v1/reports/occupancy/rebuild?from=&to= */
+    @PostMapping("/occupancy/rebuild")
+    public ResponseEntity<Long> rebuildOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(occupancyService.rebuild(from, to));
+    }
+}
@@ -1,16 +1,35 @@
 package com.carrental.controller;
 
+import com.carrental.cache.BodyFormat;
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.cache.SerializedResponseCache;
 import com.carrental.dto.*;
+import com.carrental.events.VehicleEventBroadcaster;
+import com.carrental.exception.BookingNotFoundException;
+import com.carrental.exception.VehicleNotFoundException;
+import com.carrental.projection.ResourceFields;
+import com.carrental.projection.SparseFieldsService;
+import com.carrental.service.AsyncBookingService;
+import com.carrental.service.BookingHistoryService;
+import com.carrental.service.IdempotencyService;
+import com.carrental.service.LookupService;
+import com.carrental.service.VehicleSearchService;
 import com.carrental.service.VehicleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
@@ -24,7 +43,21 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 @Validated
 public class VehicleController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String PREFER = "Prefer";
+    static final String RESPOND_ASYNC = "respond-async";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final VehicleService service;
+    private final AsyncBookingService asyncBookingService;
+    private final IdempotencyService idempotencyService;
+    private final BookingHistoryService bookingHistoryService;
+    private final SerializedResponseCache responseCache;
+    private final SparseFieldsService sparseFields;
+    private final LookupService lookupService;
+    private final VehicleEventBroadcaster vehicleEvents;
+    private final VehicleSearchService vehicleSearchService;
 
     /** Create -> POST /api/v1/vehicles */
     @PostMapping
@@ -33,11 +66,29 @@ public class VehicleController {
         return ResponseEntity.created(URI.create("/api/v1/vehicles/" + created.id())).body(created);
     }
 
-    /** Fetch -> Get /api/v1/vehicles/{id} */
+    /** Fetch -> Get /api/v1/vehicles/{id}; JSON, CBOR or Smile by Accept; carries an ETag and answers 304 to a matching If-None-Match */
     @GetMapping("{id}")
-    public ResponseEntity<VehicleResponse> getVehicle(@PathVariable UUID id) {
-        VehicleResponse resp = service.getVehicle(id); // will throw VehicleNotFoundException -> 404 via handler
-        return ResponseEntity.ok(resp);
+    public ResponseEntity<byte[]> getVehicle(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var entry = responseCache.get(SerializedResponseCache.key(ResponseCacheInvalidator.VEHICLES, id),
+                BodyFormat.forAccept(accept),
+                () -> service.getVehicle(id), // will throw VehicleNotFoundException -> 404 via handler
+                VehicleResponse::version);
+        return ConditionalResponses.of(entry, ifNoneMatch);
+    }
+
+    /** Fetch -> Get /api/v1/vehicles/{id}?fields=id,vin,status; reads and returns only the named fields */
+    @GetMapping(path = "{id}", params = "fields")
+    public ResponseEntity<byte[]> getVehicleFields(
+            @PathVariable UUID id,
+            @RequestParam String fields,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var entry = sparseFields.find(id, fields, BodyFormat.forAccept(accept), ResourceFields.VEHICLES)
+                .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found with id " + id));
+        return ConditionalResponses.of(entry, ifNoneMatch);
     }
 
     /** Fetch All -> Get /api/v1/vehicles */
@@ -46,13 +97,64 @@ public class VehicleController {
         return ResponseEntity.ok(service.listVehicles());
     }
 
-    /** Update -> PUT /api/v1/vehicles/{id} */
+    /** Fetch All -> Get /api/v1/vehicles?fields=id,vin,status; reads and returns only the named fields */
+    @GetMapping(params = "fields")
+    public ResponseEntity<byte[]> listVehicleFields(
+            @RequestParam String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        BodyFormat format = BodyFormat.forAccept(accept);
+        return ConditionalResponses.body(format, sparseFields.list(ResourceFields.VEHICLES, fields, format));
+    }
+
+    /** Search -> GET /api/v1/vehicles/search?type=&segment=&status=&modelYearFrom=&modelYearTo=&page=&size=; JSON, CBOR or Smile by Accept */
+    @GetMapping("/search")
+    public ResponseEntity<VehicleSearchPage> searchVehicles(
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) VehicleSegment segment,
+            @RequestParam(required = false) VehicleStatus status,
+            @RequestParam(required = false) Integer modelYearFrom,
+            @RequestParam(required = false) Integer modelYearTo,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        var criteria = new VehicleSearchCriteria(type, segment, status, modelYearFrom, modelYearTo);
+        return ResponseEntity.ok(vehicleSearchService.search(criteria, page, size));
+    }
+
+    /** Multi-get -> POST /api/v1/vehicles/lookup with {"ids": [...]} or {"vins": [...]} */
+    @PostMapping(path = "/lookup", consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<LookupResponse<VehicleResponse>> lookupVehicles(@Valid @RequestBody VehicleLookupRequest request) {
+        return ResponseEntity.ok(lookupService.vehicles(request));
+    }
+
+    /**
+     * Stream -> GET /api/v1/vehicles/events; server-sent vehicle and availability changes. A client
+     * resumes with the Last-Event-ID header, or the lastEventId parameter on its first connection.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam) {
+        return vehicleEvents.subscribe(lastEventId != null ? lastEventId : lastEventIdParam);
+    }
+
+    /** Update -> PUT /api/v1/vehicles/{id}; an If-Match header must name the current ETag */
     @PutMapping("{id}")
     public ResponseEntity<VehicleResponse> updateVehicle(
             @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody VehicleRequest req) {
-        VehicleResponse updated = service.updateVehicle(id, req);
-        return ResponseEntity.ok(updated);
+        VehicleResponse updated = service.updateVehicle(id, req, ConditionalResponses.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(SerializedResponseCache.etag(updated.version())).body(updated);
+    }
+
+    /** Partial update -> PATCH /api/v1/vehicles/{id}; answers 204 with the new ETag */
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchVehicle(
+            @PathVariable UUID id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody VehiclePatchRequest req) {
+        long version = service.patchVehicle(id, req, ConditionalResponses.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(SerializedResponseCache.etag(version)).build();
     }
 
     /** Delete -> DELETE /api/v1/vehicles/{id} */
@@ -65,14 +167,103 @@ public class VehicleController {
     @PostMapping(path="/bookings",
             consumes = APPLICATION_JSON_VALUE,
             produces = APPLICATION_JSON_VALUE)
-    public ResponseEntity<UUID>  createBooking(@RequestBody @Valid BookingRequest request) {
-        var bookingId = service.createBooking(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(bookingId);
+    public ResponseEntity<UUID>  createBooking(
+            @RequestBody @Valid BookingRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            var bookingId = service.createBooking(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookingId);
+        }
+        var result = idempotencyService.execute(idempotencyKey, request,
+                () -> service.prepareBooking(request), service::persistBooking);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.replayed()))
+                .body(result.bookingId());
+    }
+
+    /**
+     * Async create -> POST /api/v1/vehicles/bookings with "Prefer: respond-async", answers 202.
+     * Any request with a Prefer header lands here; without respond-async among its preferences
+     * it is booked synchronously as above. With an Idempotency-Key, a replay answers with the
+     * original submission and its Location.
+     */
+    @PostMapping(path = "/bookings",
+            headers = PREFER,
+            consumes = APPLICATION_JSON_VALUE,
+            produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> submitBooking(
+            @RequestBody @Valid BookingRequest request,
+            @RequestHeader(PREFER) List<String> preferences,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (!respondAsync(preferences)) {
+            return createBooking(request, idempotencyKey);
+        }
+        if (idempotencyKey == null) {
+            var submission = asyncBookingService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/vehicles/bookings/requests/" + submission.requestId()))
+                    .body(submission);
+        }
+        var result = idempotencyService.submit(idempotencyKey, request,
+                () -> asyncBookingService.journal(request).requestId());
+        return ResponseEntity.accepted()
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.replayed()))
+                .location(URI.create("/api/v1/vehicles/bookings/requests/" + result.bookingId()))
+                .body(asyncBookingService.getSubmission(result.bookingId()));
+    }
+
+    /** Whether respond-async is among the comma-separated preferences (RFC 7240), parameters aside. */
+    static boolean respondAsync(List<String> preferences) {
+        for (String header : preferences) {
+            for (String preference : header.split(",")) {
+                String token = preference.split("[;=]", 2)[0].trim();
+                if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
-    @GetMapping(path = "/bookings/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    /** Poll -> GET /api/v1/vehicles/bookings/requests/{id} */
+    @GetMapping(path = "/bookings/requests/{id}", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookingSubmissionResponse> getBookingSubmission(@PathVariable("id") UUID requestId) {
+        return ResponseEntity.ok(asyncBookingService.getSubmission(requestId));
+    }
+
+    /** Booking -> GET /api/v1/vehicles/bookings/{id}; live or archived; JSON, CBOR or Smile by Accept */
+    @GetMapping("/bookings/{id}")
     public ResponseEntity<BookingResponse> getBookingDetails(@PathVariable("id") UUID bookingId) {
         var resp = service.getBookingDetails(bookingId);
         return ResponseEntity.ok(resp);
     }
-}
\ No newline at end of file
+
+    /** Multi-get -> POST /api/v1/vehicles/bookings/lookup with {"ids": [...]}; live or archived */
+    @PostMapping(path = "/bookings/lookup", consumes = APPLICATION_JSON_VALUE)
+    public ResponseEntity<LookupResponse<BookingResponse>> lookupBookings(@Valid @RequestBody BookingLookupRequest request) {
+        return ResponseEntity.ok(lookupService.bookings(request));
+    }
+
+    /** Booking -> GET /api/v1/vehicles/bookings/{id}?fields=bookingId,reservationStartDate; live or archived */
+    @GetMapping(path = "/bookings/{id}", params = "fields")
+    public ResponseEntity<byte[]> getBookingFields(
+            @PathVariable("id") UUID bookingId,
+            @RequestParam String fields,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        var entry = sparseFields.find(bookingId, fields, BodyFormat.forAccept(accept),
+                        ResourceFields.BOOKINGS, ResourceFields.ARCHIVED_BOOKINGS)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found"));
+        return ConditionalResponses.of(entry, null);
+    }
+
+    /** Booking history -> GET /api/v1/vehicles/{id}/bookings?from=&to=&page=&size= */
+    @GetMapping(path = "{id}/bookings", produces = APPLICATION_JSON_VALUE)
+    public ResponseEntity<BookingHistoryPage> getVehicleBookings(
+            @PathVariable("id") UUID vehicleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(bookingHistoryService.vehicleHistory(vehicleId, from, to, page, size));
+    }
+}
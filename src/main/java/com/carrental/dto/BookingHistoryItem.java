@@ -0,0 +1,19 @@
+package com.carrental.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** One row of a customer's or vehicle's booking history, read as a flat projection. */
+public record BookingHistoryItem(
+        UUID bookingId,
+        UUID customerId,
+        String customerName,
+        UUID vehicleId,
+        String vin,
+        VehicleSegment segment,
+        LocalDate reservationStartDate,
+        LocalDate reservationEndDate,
+        long rentalDays,
+        BigDecimal rentalPrice
+) {}
@@ -0,0 +1,11 @@
+package com.carrental.dto;
+
+import java.util.List;
+
+public record BookingHistoryPage(
+        List<BookingHistoryItem> items,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
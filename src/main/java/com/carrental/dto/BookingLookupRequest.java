@@ -0,0 +1,12 @@
+package com.carrental.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Bookings to look up by id; archived bookings are found too. */
+public record BookingLookupRequest(
+        @NotNull @Size(min = 1, max = LookupLimits.MAX_KEYS) List<@NotNull UUID> ids
+) {}
@@ -0,0 +1,12 @@
+package com.carrental.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record BookingSubmissionResponse(
+        UUID requestId,
+        BookingSubmissionStatus status,
+        UUID bookingId,   // set once COMPLETED
+        String error,     // set once FAILED
+        Instant submittedAt
+) {}
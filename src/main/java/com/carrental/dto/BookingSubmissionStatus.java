@@ -0,0 +1,9 @@
+package com.carrental.dto;
+
+/**
+ * Lifecycle of an asynchronously accepted booking request. {@code PROCESSING} marks an entry a
+ * worker has claimed, so no other worker or node runs it as well.
+ */
+public enum BookingSubmissionStatus {
+    PENDING, PROCESSING, COMPLETED, FAILED;
+}
@@ -0,0 +1,28 @@
+package com.carrental.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Partial customer update; absent (null) fields keep their value. Email and driving licence are
+ * unique keys and only change through PUT.
+ */
+public record CustomerPatchRequest(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") String firstName,
+
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") String lastName,
+
+        @Min(0) @Max(100) Integer age,
+
+        @Pattern(regexp = "^(\\+?[0-9\\- ]{7,20})?$", message = "Invalid phone number format")
+        String phoneNumber
+) {
+    @JsonIgnore
+    @AssertTrue(message = "must change at least one field")
+    public boolean isChangingAnything() {
+        return firstName != null || lastName != null || age != null || phoneNumber != null;
+    }
+}
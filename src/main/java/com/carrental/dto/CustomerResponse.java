@@ -1,5 +1,6 @@
 package com.carrental.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.UUID;
 
 public record CustomerResponse(
@@ -9,5 +10,6 @@ public record CustomerResponse(
         Integer age,
         String email,
         String drivingLicenseNumber,
-        String phoneNumber
+        String phoneNumber,
+        @JsonIgnore long version // sent as the ETag
 ) {}
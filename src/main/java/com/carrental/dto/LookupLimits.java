@@ -0,0 +1,11 @@
+package com.carrental.dto;
+
+/** Bounds of the multi-get endpoints. */
+public final class LookupLimits {
+
+    /** keys accepted by one lookup request */
+    public static final int MAX_KEYS = 1_000;
+
+    private LookupLimits() {
+    }
+}
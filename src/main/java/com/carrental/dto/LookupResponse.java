@@ -0,0 +1,9 @@
+package com.carrental.dto;
+
+import java.util.List;
+
+/** Result of a multi-get: the items found, in request order, and the requested keys that matched nothing. */
+public record LookupResponse<T>(
+        List<T> found,
+        List<String> missing
+) {}
@@ -0,0 +1,11 @@
+package com.carrental.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record OccupancyResponse(
+        LocalDate date,
+        VehicleSegment segment,
+        long bookedVehicles,
+        BigDecimal revenue
+) {}
@@ -0,0 +1,13 @@
+package com.carrental.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record QuoteResponse(
+        VehicleSegment segment,
+        LocalDate from,
+        LocalDate to,
+        long rentalDays,
+        BigDecimal ratePerDay, // average over the period
+        BigDecimal totalPrice
+) {}
@@ -0,0 +1,33 @@
+package com.carrental.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A committed change to a vehicle or its availability, as pushed on GET /api/v1/vehicles/events.
+ * Only the fields the change is about are set; {@code from}/{@code to} are the booked dates.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record VehicleEvent(
+        VehicleEventType type,
+        UUID vehicleId,
+        String vin,
+        VehicleStatus status,
+        Long version,
+        LocalDate from,
+        LocalDate to
+) {
+    public static VehicleEvent of(VehicleEventType type, VehicleResponse vehicle) {
+        return new VehicleEvent(type, vehicle.id(), vehicle.vin(), vehicle.status(), vehicle.version(), null, null);
+    }
+
+    public static VehicleEvent deleted(UUID vehicleId) {
+        return new VehicleEvent(VehicleEventType.VEHICLE_DELETED, vehicleId, null, null, null, null, null);
+    }
+
+    public static VehicleEvent booked(UUID vehicleId, String vin, LocalDate from, LocalDate to) {
+        return new VehicleEvent(VehicleEventType.BOOKING_CREATED, vehicleId, vin, null, null, from, to);
+    }
+}
@@ -0,0 +1,8 @@
+package com.carrental.dto;
+
+/**
+ * Kind of change pushed on the vehicle event stream.
+ */
+public enum VehicleEventType {
+    VEHICLE_CREATED, VEHICLE_UPDATED, VEHICLE_DELETED, STATUS_CHANGED, BOOKING_CREATED;
+}
@@ -0,0 +1,22 @@
+package com.carrental.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Vehicles to look up, either by id or by VIN. */
+public record VehicleLookupRequest(
+        @Size(min = 1, max = LookupLimits.MAX_KEYS) List<@NotNull UUID> ids,
+        @Size(min = 1, max = LookupLimits.MAX_KEYS) List<@NotBlank String> vins
+) {
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of ids or vins is required")
+    public boolean isSingleKeyKind() {
+        return (ids == null) != (vins == null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.carrental.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+
+/** Partial vehicle update; absent (null) fields keep their value. The VIN only changes through PUT. */
+public record VehiclePatchRequest(
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank") String type,
+        VehicleSegment segment,
+        @Min(1886) @Max(3000) Integer modelYear,
+        VehicleStatus status
+) {
+    @JsonIgnore
+    @AssertTrue(message = "must change at least one field")
+    public boolean isChangingAnything() {
+        return type != null || segment != null || modelYear != null || status != null;
+    }
+
+    /** a status flip, the most frequent update, has its own single-column statement */
+    @JsonIgnore
+    public boolean isStatusOnly() {
+        return status != null && type == null && segment == null && modelYear == null;
+    }
+}
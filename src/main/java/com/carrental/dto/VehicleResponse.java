@@ -1,5 +1,7 @@
 package com.carrental.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.UUID;
 
 public record VehicleResponse(
@@ -8,5 +10,6 @@ public record VehicleResponse(
         VehicleSegment segment,
         String vin,
         Integer modelYear,
-        VehicleStatus status
+        VehicleStatus status,
+        @JsonIgnore long version // sent as the ETag
 ) {}
@@ -0,0 +1,13 @@
+package com.carrental.dto;
+
+/**
+ * Filters of GET /api/v1/vehicles/search; null filters match everything. Also the key under which
+ * the total count of a search is cached.
+ */
+public record VehicleSearchCriteria(
+        String type,
+        VehicleSegment segment,
+        VehicleStatus status,
+        Integer modelYearFrom,
+        Integer modelYearTo
+) {}
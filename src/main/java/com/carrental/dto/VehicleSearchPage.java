@@ -0,0 +1,11 @@
+package com.carrental.dto;
+
+import java.util.List;
+
+public record VehicleSearchPage(
+        List<VehicleResponse> items,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {}
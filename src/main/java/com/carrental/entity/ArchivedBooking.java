@@ -0,0 +1,65 @@
+package com.carrental.entity;
+
+import com.carrental.dto.VehicleSegment;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Finished booking moved out of {@code bookings} by the archival job. Keeps the original id;
+ * customer and vehicle are plain ids without foreign keys, so archived rows never block deletes.
+ */
+@Entity
+@Table(name = "bookings_archive",
+        indexes = {
+                @Index(name = "idx_booking_archive_customer", columnList = "customer_id"),
+                @Index(name = "idx_booking_archive_vehicle", columnList = "vehicle_id"),
+                @Index(name = "idx_booking_archive_start_end", columnList = "start_date, end_date")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedBooking {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String licenseNumber;
+
+    @Column(nullable = true)
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private VehicleSegment segment;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private long rentalDays;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal rentalPrice;
+
+    @Column(nullable = false)
+    private Integer age;
+
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private UUID vehicleId;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
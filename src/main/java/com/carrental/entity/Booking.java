@@ -11,8 +11,9 @@ import java.util.UUID;
 @Table(name = "bookings",
         indexes = {
                 @Index(name = "idx_booking_customer", columnList = "customer_id"),
-                @Index(name = "idx_booking_vehicle", columnList = "vehicle_id"),
-                @Index(name = "idx_booking_start_end", columnList = "start_date, end_date")
+                @Index(name = "idx_booking_vehicle_dates", columnList = "vehicle_id, start_date, end_date"),
+                @Index(name = "idx_booking_start_end", columnList = "start_date, end_date"),
+                @Index(name = "idx_booking_end_date", columnList = "end_date")
         })
 @Data
 @NoArgsConstructor
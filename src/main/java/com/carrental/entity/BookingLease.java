@@ -0,0 +1,30 @@
+package com.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Lease on one booking critical section. Held by the transaction that last updated the row until
+ * that transaction ends; {@code holder} and {@code expiresAt} record who took it and the deadline
+ * it had to commit by.
+ */
+@Entity
+@Table(name = "booking_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingLease {
+
+    @Id
+    @Column(name = "lease_key", nullable = false, length = 100)
+    private String key;
+
+    @Column(length = 100)
+    private String holder;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,44 @@
+package com.carrental.entity;
+
+import com.carrental.dto.BookingSubmissionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Journal entry for a booking request accepted with {@code 202 Accepted}. The original request is
+ * kept as JSON so pending entries can be replayed after a restart.
+ */
+@Entity
+@Table(name = "booking_submissions",
+        indexes = {@Index(name = "idx_submission_status", columnList = "status, created_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSubmission {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(nullable = false, length = 2048)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BookingSubmissionStatus status;
+
+    private UUID bookingId;
+
+    @Column(length = 512)
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    private Instant updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One invalidation published on the cluster cache bus: drop {@code cacheKey} and refuse versions
+ * below {@code minVersion}. Ids only grow, so they serve as the polling cursor.
+ */
+@Entity
+@Table(name = "cache_invalidations",
+        indexes = {@Index(name = "idx_cache_invalidations_created", columnList = "created_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_key", nullable = false, updatable = false, length = 200)
+    private String cacheKey;
+
+    @Column(nullable = false, updatable = false)
+    private long minVersion;
+
+    /** instance that published it; that instance has already applied it */
+    @Column(nullable = false, updatable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -1,5 +1,6 @@
 package com.carrental.entity;
 
+import com.carrental.cache.ResponseCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.Instant;
@@ -8,6 +9,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ResponseCacheInvalidator.class)
 @Table(name = "customers")
 @Data
 @NoArgsConstructor
@@ -20,6 +22,11 @@ public class Customer {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
+    /** optimistic-lock version; also the ETag of the resource */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "first_name", nullable = false)
     private String firstName;
 
@@ -0,0 +1,60 @@
+package com.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a booking created under an {@code Idempotency-Key}, kept until {@code expiresAt}
+ * so replays on any node return the original booking.
+ * <p>
+ * A record that was neither loaded nor persisted is new, so saving one always inserts: a key
+ * another node stored meanwhile fails the insert rather than being merged over.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = {@Index(name = "idx_idempotency_expires", columnList = "expires_at")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", nullable = false, updatable = false, length = 128)
+    private String key;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(nullable = false)
+    private UUID bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Transient
+    private boolean stored;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
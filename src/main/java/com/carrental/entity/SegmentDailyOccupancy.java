@@ -0,0 +1,46 @@
+package com.carrental.entity;
+
+import com.carrental.dto.VehicleSegment;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Materialized daily aggregate: vehicles booked and revenue earned per segment per day.
+ * Maintained incrementally by booking creation and recomputable from {@code bookings}.
+ */
+@Entity
+@Table(name = "segment_daily_occupancy")
+@IdClass(SegmentDailyOccupancy.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SegmentDailyOccupancy {
+
+    @Id
+    @Column(name = "occupancy_date", nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private VehicleSegment segment;
+
+    @Column(nullable = false)
+    private long bookedVehicles;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private VehicleSegment segment;
+    }
+}
@@ -1,8 +1,9 @@
 package com.carrental.entity;
 
-
+import com.carrental.cache.ResponseCacheInvalidator;
 import com.carrental.dto.VehicleSegment;
 import com.carrental.dto.VehicleStatus;
+import com.carrental.fleet.FleetSnapshotListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.ArrayList;
@@ -10,8 +11,11 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "vehicles",
-        indexes = {@Index(name = "idx_vehicle_vin", columnList = "vin")})
+@EntityListeners({ResponseCacheInvalidator.class, FleetSnapshotListener.class})
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicle_status_segment_year", columnList = "status, segment, model_year"),
+        @Index(name = "idx_vehicle_segment_year", columnList = "segment, model_year"),
+        @Index(name = "idx_vehicle_type_status", columnList = "type, status")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +27,11 @@ public class Vehicle {
     @Column(nullable = false, updatable = false)
     private UUID id;
 
+    /** optimistic-lock version; also the ETag of the resource */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     /** free text: Car, Van, Scooter etc. */
     @Column(nullable = false)
     private String type;
@@ -0,0 +1,236 @@
+package com.carrental.events;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleEvent;
+import com.carrental.exception.TooManySubscribersException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed {@link VehicleEvent}s out to server-sent event subscribers: those of this
+ * instance right after commit, those of the others as the {@link VehicleEventLog} reads them.
+ * <p>
+ * Publishing never blocks on a client: it numbers the event, keeps it in a replay ring and offers
+ * it to every subscriber's bounded queue. A few sender threads drain those queues onto the
+ * sockets. A subscriber whose queue is full is disconnected; its client reconnects with
+ * {@code Last-Event-ID} and is replayed what it missed from the ring. A client too far behind,
+ * or one that was connected to another instance or before a restart, gets a {@code reset} event
+ * instead and should reload the vehicle list.
+ * <p>
+ * Event ids are {@code <stream>-<sequence>}, where the stream id is random per instance.
+ */
+@Component
+@Slf4j
+public class VehicleEventBroadcaster {
+
+    static final String RESET = "reset";
+
+    private record Sequenced(long sequence, VehicleEvent event) {}
+
+    private enum Signal { HEARTBEAT, RESET }
+
+    private final ApplicationProperties.VehicleEvents cfg;
+    private final String stream = UUID.randomUUID().toString().substring(0, 8);
+    private final Sequenced[] ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final Counter dropped;
+    private long sequence;
+
+    public VehicleEventBroadcaster(ApplicationProperties props, MeterRegistry registry) {
+        this.cfg = props.getVehicleEvents();
+        this.ring = new Sequenced[cfg.getReplayBuffer()];
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(cfg.getSenderThreads(), r -> {
+            Thread t = new Thread(r, "vehicle-events-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("vehicle.events.subscribers", subscribers, Set::size)
+                .description("Connected vehicle event stream subscribers")
+                .register(registry);
+        this.dropped = Counter.builder("vehicle.events.dropped")
+                .description("Subscribers disconnected for falling behind")
+                .register(registry);
+    }
+
+    /** Runs once the writing transaction has committed, or right away outside a transaction. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void committed(VehicleEvent event) {
+        publish(event);
+    }
+
+    public synchronized void publish(VehicleEvent event) {
+        Sequenced sequenced = new Sequenced(++sequence, event);
+        ring[(int) (sequenced.sequence() % ring.length)] = sequenced;
+        // offered under the lock, so every subscriber sees the events in sequence order
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(sequenced);
+        }
+    }
+
+    /**
+     * A new subscription, first replaying the events after {@code lastEventId} when it names an
+     * event still in the ring.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(cfg.getTimeout().toMillis()));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        synchronized (this) {
+            if (subscribers.size() >= cfg.getMaxSubscribers()) {
+                throw new TooManySubscribersException("Too many vehicle event subscribers, retry later");
+            }
+            if (lastEventId != null) {
+                List<Sequenced> missed = missedSince(lastEventId);
+                if (missed == null) {
+                    subscriber.offer(Signal.RESET);
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /** Keeps idle connections open through proxies and finds clients that went away. */
+    @Scheduled(fixedDelayString = "${app.vehicle-events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(Signal.HEARTBEAT));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    /** Events after {@code lastEventId}, or null when they cannot all be replayed. */
+    private List<Sequenced> missedSince(String lastEventId) {
+        String prefix = stream + "-";
+        if (!lastEventId.startsWith(prefix)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long count = sequence - last;
+        if (count < 0 || count > ring.length || count > cfg.getSubscriberQueue()) {
+            return null;
+        }
+        List<Sequenced> missed = new ArrayList<>((int) count);
+        for (long s = last + 1; s <= sequence; s++) {
+            missed.add(ring[(int) (s % ring.length)]);
+        }
+        return missed;
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(cfg.getSubscriberQueue());
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Never blocks: a subscriber that cannot take one more item is disconnected instead. */
+        void offer(Object item) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                log.info("Vehicle event subscriber fell {} events behind, disconnecting it", queue.size());
+                dropped.increment();
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            schedule();
+        }
+
+        private void drain() {
+            try {
+                Object item;
+                while (!closed && (item = queue.poll()) != null) {
+                    emitter.send(toSse(item));
+                }
+                if (closed) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the emitter already completed
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toSse(Object item) {
+            if (item instanceof Sequenced s) {
+                return SseEmitter.event().id(stream + "-" + s.sequence()).data(s.event(), MediaType.APPLICATION_JSON);
+            }
+            if (item == Signal.RESET) {
+                return SseEmitter.event().id(stream + "-" + latest()).name(RESET).data("{}", MediaType.APPLICATION_JSON);
+            }
+            return SseEmitter.event().comment("");
+        }
+    }
+
+    private synchronized long latest() {
+        return sequence;
+    }
+}
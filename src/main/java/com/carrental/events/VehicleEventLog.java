@@ -0,0 +1,194 @@
+package com.carrental.events;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries vehicle events to the other instances through the {@code vehicle_events} table, polled
+ * like the cache invalidation bus.
+ * <p>
+ * {@link #record} writes every event in the transaction that publishes it, so the row commits
+ * exactly when the change does. Every instance polls the rows past its cursor in id order and
+ * hands the ones recorded elsewhere to its {@link VehicleEventBroadcaster}, so a subscriber sees
+ * the changes made on any instance, those of the others about one poll interval late. Ids are
+ * assigned at insert but become visible at commit, so an id skipped by a poll is looked up again
+ * for {@code gap-timeout} before it is given up. Polls run on a thread of their own, off the
+ * shared scheduler.
+ */
+@Component
+@Slf4j
+public class VehicleEventLog {
+
+    /** ids skipped by more than this are a sequence jump, not in-flight inserts */
+    static final int MAX_GAP = 1_000;
+
+    private static final String INSERT = """
+            INSERT INTO vehicle_events (payload, origin, created_at)
+            VALUES (?, ?, ?)
+            """;
+    private static final String SELECT_AFTER = """
+            SELECT id, payload, origin FROM vehicle_events
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+    private static final String SELECT_IDS = "SELECT id, payload, origin FROM vehicle_events WHERE id IN (:ids)";
+
+    private record Row(long id, String payload, String origin) {}
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final ObjectMapper objectMapper;
+    private final VehicleEventBroadcaster broadcaster;
+    private final TransactionTemplate newTransaction;
+    private final ApplicationProperties.VehicleEvents cfg;
+    private final String origin = UUID.randomUUID().toString();
+    /** skipped ids and when they were first skipped */
+    private final Map<Long, Instant> gaps = new TreeMap<>();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "vehicle-event-poll");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long cursor = -1;
+
+    public VehicleEventLog(NamedParameterJdbcTemplate jdbc,
+                           ObjectMapper objectMapper,
+                           VehicleEventBroadcaster broadcaster,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationProperties props) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+        this.broadcaster = broadcaster;
+        // polls and purges run on their own threads; read-write, so that the primary is read
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cfg = props.getVehicleEvents();
+    }
+
+    /**
+     * Runs while the event is published, inside the writing transaction, so the row commits or
+     * rolls back with the change; this instance streams it itself after commit.
+     */
+    @EventListener
+    public void record(VehicleEvent event) {
+        jdbc.getJdbcTemplate().update(INSERT, payload(event), origin, Timestamp.from(Instant.now()));
+    }
+
+    /** The origin of the rows of this instance, for writers that insert them themselves. */
+    public String origin() {
+        return origin;
+    }
+
+    /** The stored form of {@code event}. */
+    public String payload(VehicleEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize vehicle event " + event.type(), e);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        poller.scheduleWithFixedDelay(this::poll, 0, cfg.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        poller.shutdownNow();
+    }
+
+    /** Streams the events recorded elsewhere since the last poll. */
+    public synchronized void poll() {
+        try {
+            newTransaction.executeWithoutResult(status -> readNew());
+        } catch (RuntimeException e) {
+            log.warn("Polling vehicle events failed, retrying in {}", cfg.getPollInterval(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.vehicle-events.purge-interval:PT10M}")
+    public void purge() {
+        Timestamp before = Timestamp.from(Instant.now().minus(cfg.getRetention()));
+        Integer removed = newTransaction.execute(status ->
+                jdbc.getJdbcTemplate().update("DELETE FROM vehicle_events WHERE created_at < ?", before));
+        log.debug("Purged {} vehicle events", removed);
+    }
+
+    private void readNew() {
+        if (cursor < 0) {
+            cursor = jdbc.getJdbcTemplate().queryForObject("SELECT COALESCE(MAX(id), 0) FROM vehicle_events", Long.class);
+            log.info("Vehicle event log origin={} starts after id {}", origin, cursor);
+            return;
+        }
+        Instant now = Instant.now();
+        retryGaps(now);
+        List<Row> batch;
+        do {
+            batch = jdbc.getJdbcTemplate().query(SELECT_AFTER, VehicleEventLog::row, cursor, cfg.getPollBatchSize());
+            for (Row row : batch) {
+                if (row.id() - cursor - 1 <= MAX_GAP) {
+                    for (long skipped = cursor + 1; skipped < row.id(); skipped++) {
+                        gaps.put(skipped, now);
+                    }
+                }
+                apply(row);
+                cursor = row.id();
+            }
+        } while (batch.size() == cfg.getPollBatchSize());
+    }
+
+    private void retryGaps(Instant now) {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (Row late : jdbc.query(SELECT_IDS, Map.of("ids", gaps.keySet()), VehicleEventLog::row)) {
+            gaps.remove(late.id());
+            apply(late);
+        }
+        Instant giveUp = now.minus(cfg.getGapTimeout());
+        gaps.values().removeIf(skippedAt -> skippedAt.isBefore(giveUp));
+    }
+
+    private void apply(Row row) {
+        if (origin.equals(row.origin())) {
+            return;
+        }
+        VehicleEvent event;
+        try {
+            event = objectMapper.readValue(row.payload(), VehicleEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable vehicle event id={}: {}", row.id(), e.getOriginalMessage());
+            return;
+        }
+        broadcaster.publish(event);
+    }
+
+    private static Row row(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(rs.getLong("id"), rs.getString("payload"), rs.getString("origin"));
+    }
+}
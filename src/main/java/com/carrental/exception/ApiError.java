@@ -1,18 +1,23 @@
 package com.carrental.exception;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.Instant;
 
 /**
- * Represents a structured API error response.
+ * Represents a structured API error response. Domain errors are written in the same shape by
+ * {@link ErrorBodies}, with their {@link ErrorCode} as {@code code}.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ApiError(
         Instant timestamp,
         int status,
         String error,
+        String code,
         String message,
         String path
 ) {
     public static ApiError of(int status, String error, String message, String path) {
-        return new ApiError(Instant.now(), status, error, message, path);
+        return new ApiError(Instant.now(), status, error, null, message, path);
     }
 }
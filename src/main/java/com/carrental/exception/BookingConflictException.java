@@ -1,7 +1,7 @@
 package com.carrental.exception;
 
-public class BookingConflictException extends RuntimeException {
+public class BookingConflictException extends DomainException {
     public BookingConflictException(String message) {
-        super(message);
+        super(ErrorCode.BOOKING_CONFLICT, message);
     }
 }
@@ -1,10 +1,10 @@
 package com.carrental.exception;
 
-public class BookingException extends RuntimeException {
+public class BookingException extends DomainException {
     public BookingException(String message) {
-        super(message);
+        super(ErrorCode.BOOKING_INVALID, message);
     }
     public BookingException(String message, Throwable cause) {
-        super(message, cause);
+        super(ErrorCode.BOOKING_INVALID, message, cause);
     }
 }
@@ -1,7 +1,7 @@
 package com.carrental.exception;
 
-public class BookingNotFoundException extends RuntimeException {
+public class BookingNotFoundException extends DomainException {
     public BookingNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.BOOKING_NOT_FOUND, message);
     }
 }
@@ -0,0 +1,7 @@
+package com.carrental.exception;
+
+public class BookingQueueFullException extends DomainException {
+    public BookingQueueFullException(String message) {
+        super(ErrorCode.BOOKING_QUEUE_FULL, message);
+    }
+}
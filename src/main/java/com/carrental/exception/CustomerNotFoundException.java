@@ -1,11 +1,7 @@
 package com.carrental.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.NOT_FOUND)
-public class CustomerNotFoundException extends RuntimeException {
+public class CustomerNotFoundException extends DomainException {
     public CustomerNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.CUSTOMER_NOT_FOUND, message);
     }
 }
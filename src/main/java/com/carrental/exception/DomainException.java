@@ -0,0 +1,24 @@
+package com.carrental.exception;
+
+/**
+ * Base of the expected business outcomes (conflicts, not-found, rule violations). These are
+ * normal, high-volume results rather than bugs, so no stack trace is captured and suppression is
+ * off; a wrapped cause keeps its own trace. Unexpected failures stay plain runtime exceptions.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final ErrorCode code;
+
+    protected DomainException(ErrorCode code, String message) {
+        this(code, message, null);
+    }
+
+    protected DomainException(ErrorCode code, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+}
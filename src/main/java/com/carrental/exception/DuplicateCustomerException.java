@@ -1,11 +1,7 @@
 package com.carrental.exception;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.CONFLICT)
-public class DuplicateCustomerException extends RuntimeException {
+public class DuplicateCustomerException extends DomainException {
     public DuplicateCustomerException(String message) {
-        super(message);
+        super(ErrorCode.DUPLICATE_CUSTOMER, message);
     }
 }
\ No newline at end of file
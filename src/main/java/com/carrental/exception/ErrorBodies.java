@@ -0,0 +1,55 @@
+package com.carrental.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes {@link ApiError}-shaped JSON for domain errors without going through Jackson's object
+ * mapping. The constant part of each body (status, reason and code) is serialized once per
+ * {@link ErrorCode}; only the message, path and timestamp are escaped and appended per response.
+ */
+public final class ErrorBodies {
+
+    private static final Map<ErrorCode, byte[]> PREFIXES = new EnumMap<>(ErrorCode.class);
+    private static final byte[] MESSAGE = bytes(",\"message\":\"");
+    private static final byte[] PATH = bytes("\",\"path\":\"");
+    private static final byte[] TIMESTAMP = bytes("\",\"timestamp\":\"");
+    private static final byte[] END = bytes("\"}");
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            PREFIXES.put(code, bytes("{\"status\":" + code.status().value()
+                    + ",\"error\":\"" + code.status().getReasonPhrase()
+                    + "\",\"code\":\"" + code.name() + "\""));
+        }
+    }
+
+    private ErrorBodies() {
+    }
+
+    public static byte[] render(ErrorCode code, String message, String path) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        byte[] prefix = PREFIXES.get(code);
+        byte[] msg = encoder.quoteAsUTF8(message == null ? code.status().getReasonPhrase() : message);
+        byte[] uri = encoder.quoteAsUTF8(path == null ? "" : path);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + msg.length + uri.length + 96);
+        out.writeBytes(prefix);
+        out.writeBytes(MESSAGE);
+        out.writeBytes(msg);
+        out.writeBytes(PATH);
+        out.writeBytes(uri);
+        out.writeBytes(TIMESTAMP);
+        out.writeBytes(bytes(Instant.now().toString()));
+        out.writeBytes(END);
+        return out.toByteArray();
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
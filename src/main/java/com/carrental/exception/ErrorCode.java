@@ -0,0 +1,39 @@
+package com.carrental.exception;
+
+import org.springframework.http.HttpStatus;
+
+/** Stable, machine-readable codes of the expected API errors, with the HTTP status each maps to. */
+public enum ErrorCode {
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST),
+    BOOKING_INVALID(HttpStatus.BAD_REQUEST),
+    INVALID_LICENSE_DETAILS(HttpStatus.BAD_REQUEST),
+    INVALID_LICENSE_OWNER_NAME(HttpStatus.BAD_REQUEST),
+    INVALID_CATEGORY(HttpStatus.BAD_REQUEST),
+    INVALID_FIELDS(HttpStatus.BAD_REQUEST),
+    LICENSE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    BOOKING_NOT_FOUND(HttpStatus.NOT_FOUND),
+    CUSTOMER_NOT_FOUND(HttpStatus.NOT_FOUND),
+    VEHICLE_NOT_FOUND(HttpStatus.NOT_FOUND),
+    NOT_ACCEPTABLE(HttpStatus.NOT_ACCEPTABLE),
+    UNSUPPORTED_MEDIA_TYPE(HttpStatus.UNSUPPORTED_MEDIA_TYPE),
+    BOOKING_CONFLICT(HttpStatus.CONFLICT),
+    DUPLICATE_CUSTOMER(HttpStatus.CONFLICT),
+    DUPLICATE_VEHICLE(HttpStatus.CONFLICT),
+    VEHICLE_BUSY(HttpStatus.CONFLICT),
+    PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED),
+    IDEMPOTENCY_KEY_REUSE(HttpStatus.UNPROCESSABLE_ENTITY),
+    BOOKING_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE),
+    BOOKINGS_AT_CAPACITY(HttpStatus.SERVICE_UNAVAILABLE),
+    LEASE_EXPIRED(HttpStatus.SERVICE_UNAVAILABLE),
+    TOO_MANY_SUBSCRIBERS(HttpStatus.SERVICE_UNAVAILABLE);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+}
@@ -2,50 +2,76 @@ package com.carrental.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.Arrays;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(BookingException.class)
-    public ResponseEntity<?> handleBookingException(BookingException ex) {
-        var msg = ex.getMessage() == null ? "Booking error" : ex.getMessage();
-        return ResponseEntity.badRequest().body(Map.of("error", msg));
+    /** Expected business outcomes: status and body come from the exception's {@link ErrorCode}. */
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<byte[]> handleDomain(DomainException ex, HttpServletRequest req) {
+        ErrorCode code = ex.getCode();
+        log.debug("{} on {}: {}", code, req.getRequestURI(), ex.getMessage());
+        var response = ResponseEntity.status(code.status()).contentType(MediaType.APPLICATION_JSON);
+        if (code == ErrorCode.BOOKING_QUEUE_FULL) {
+            log.warn("Async booking rejected: {}", ex.getMessage());
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(ErrorBodies.render(code, ex.getMessage(), req.getRequestURI()));
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationErrors(MethodArgumentNotValidException ex) {
+    public ResponseEntity<byte[]> handleValidationErrors(MethodArgumentNotValidException ex, HttpServletRequest req) {
         String msg = ex.getBindingResult().getFieldErrors().stream()
                 .map(f -> f.getField() + " " + f.getDefaultMessage())
                 .findFirst()
                 .orElse("Invalid request");
-        return ResponseEntity.badRequest().body(Map.of("error", msg));
+        return invalidRequest(msg, req);
+    }
+
+    /** Constraints on query parameters and path variables of a {@code @Validated} controller. */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<byte[]> handleConstraintViolation(ConstraintViolationException ex, HttpServletRequest req) {
+        String msg = ex.getConstraintViolations().stream()
+                .map(v -> lastNode(v.getPropertyPath()) + " " + v.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse("Invalid request");
+        return invalidRequest(msg, req);
     }
 
-    @ExceptionHandler({
-            InvalidLicenseDetailsException.class,
-            InvalidLicenseOwnerNameException.class,
-            InvalidCategoryException.class
-    })
-    public ResponseEntity<Map<String, Object>> handleBadRequest(RuntimeException ex) {
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(Map.of("error", ex.getMessage()));
+    /** The same constraints when Spring MVC validates the handler method itself. */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<byte[]> handleMethodValidation(HandlerMethodValidationException ex, HttpServletRequest req) {
+        String msg = ex.getAllValidationResults().stream()
+                .flatMap(r -> r.getResolvableErrors().stream()
+                        .map(e -> r.getMethodParameter().getParameterName() + " " + e.getDefaultMessage()))
+                .sorted()
+                .findFirst()
+                .orElse("Invalid request");
+        return invalidRequest(msg, req);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<Map<String, String>> handleBadRequestBody(HttpMessageNotReadableException ex) {
+    public ResponseEntity<byte[]> handleBadRequestBody(HttpMessageNotReadableException ex, HttpServletRequest req) {
         Throwable cause = ex.getCause();
         if (cause instanceof InvalidFormatException ife && ife.getTargetType() != null && ife.getTargetType().isEnum()) {
             String allowed = Arrays.stream(ife.getTargetType().getEnumConstants())
@@ -53,23 +79,33 @@ public class GlobalExceptionHandler {
                     .collect(Collectors.joining(", "));
             String msg = String.format("Invalid value '%s' for %s. Allowed values: %s",
                     ife.getValue(), ife.getTargetType().getSimpleName(), allowed);
-            return ResponseEntity.badRequest().body(Map.of("error", msg));
+            return invalidRequest(msg, req);
         }
-        return ResponseEntity.badRequest().body(Map.of("error", "Malformed JSON request"));
+        return invalidRequest("Malformed JSON request", req);
+    }
+
+    /** An Accept header that rules out what a {@code produces} mapping offers. */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<byte[]> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorBodies.render(ErrorCode.NOT_ACCEPTABLE, ex.getMessage(), req.getRequestURI()));
     }
 
-    @ExceptionHandler({
-            LicenseNotFoundException.class,
-            BookingNotFoundException.class})
-    public ResponseEntity<Map<String, Object>> handleNotFound(RuntimeException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", ex.getMessage()));
+    /** A request body in a type a {@code consumes} mapping does not take. */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<byte[]> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorBodies.render(ErrorCode.UNSUPPORTED_MEDIA_TYPE, ex.getMessage(), req.getRequestURI()));
     }
 
-    @ExceptionHandler({DuplicateVehicleException.class, BookingConflictException.class})
-    public ResponseEntity<ApiError> handleDuplicate(RuntimeException ex, HttpServletRequest req) {
-        log.warn("Duplicate: {}", ex.getMessage());
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrentUpdate(OptimisticLockingFailureException ex, HttpServletRequest req) {
+        log.warn("Concurrent update rejected: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(ApiError.of(409, "Conflict", ex.getMessage(), req.getRequestURI()));
+                .body(ApiError.of(409, "Conflict", "The resource was modified concurrently; read it again and retry",
+                        req.getRequestURI()));
     }
 
     @ExceptionHandler(Exception.class)
@@ -79,23 +115,17 @@ public class GlobalExceptionHandler {
                 .body(ApiError.of(500, "Internal Server Error", "An unexpected error occurred", req.getRequestURI()));
     }
 
-
-    @ExceptionHandler(CustomerNotFoundException.class)
-    public ResponseEntity<ApiError> handleNotFound(CustomerNotFoundException ex, HttpServletRequest request) {
-        log.warn("Customer not found: {}", ex.getMessage());
-        ApiError error = ApiError.of(
-                HttpStatus.NOT_FOUND.value(),
-                HttpStatus.NOT_FOUND.getReasonPhrase(),
-                ex.getMessage(),
-                request.getRequestURI()
-        );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    private static String lastNode(Path path) {
+        String name = null;
+        for (Path.Node node : path) {
+            name = node.getName();
+        }
+        return name;
     }
 
-    @ExceptionHandler(VehicleNotFoundException.class)
-    public ResponseEntity<ApiError> handleVehicleNotFound(VehicleNotFoundException ex, HttpServletRequest req) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                .body(ApiError.of(404, "Vehicle Not Found", ex.getMessage(), req.getRequestURI()));
+    private static ResponseEntity<byte[]> invalidRequest(String message, HttpServletRequest req) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorBodies.render(ErrorCode.INVALID_REQUEST, message, req.getRequestURI()));
     }
 }
-
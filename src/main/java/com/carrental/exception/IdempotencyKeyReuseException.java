@@ -0,0 +1,7 @@
+package com.carrental.exception;
+
+public class IdempotencyKeyReuseException extends DomainException {
+    public IdempotencyKeyReuseException(String message) {
+        super(ErrorCode.IDEMPOTENCY_KEY_REUSE, message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.carrental.exception;
 
-public class InvalidCategoryException extends RuntimeException {
+public class InvalidCategoryException extends DomainException {
 
     public InvalidCategoryException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_CATEGORY, message);
     }
 }
@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** A {@code fields=} selection names a field the resource does not have, or none at all. */
+public class InvalidFieldsException extends DomainException {
+    public InvalidFieldsException(String message) {
+        super(ErrorCode.INVALID_FIELDS, message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.carrental.exception;
 
-public class InvalidLicenseDetailsException extends RuntimeException {
+public class InvalidLicenseDetailsException extends DomainException {
 
     public InvalidLicenseDetailsException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_LICENSE_DETAILS, message);
     }
 }
@@ -1,8 +1,8 @@
 package com.carrental.exception;
 
-public class InvalidLicenseOwnerNameException extends RuntimeException {
+public class InvalidLicenseOwnerNameException extends DomainException {
 
     public InvalidLicenseOwnerNameException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_LICENSE_OWNER_NAME, message);
     }
 }
@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** A booking overran its lease, e.g. after a long pause, and was rolled back instead of committed. */
+public class LeaseExpiredException extends DomainException {
+    public LeaseExpiredException(String message) {
+        super(ErrorCode.LEASE_EXPIRED, message);
+    }
+}
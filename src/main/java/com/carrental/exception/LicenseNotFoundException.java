@@ -1,7 +1,7 @@
 package com.carrental.exception;
 
-public class LicenseNotFoundException  extends RuntimeException {
+public class LicenseNotFoundException  extends DomainException {
     public LicenseNotFoundException(String message) {
-        super(message);
+        super(ErrorCode.LICENSE_NOT_FOUND, message);
     }
 }
@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** The Accept header names none of the representations the API serves. */
+public class NotAcceptableException extends DomainException {
+    public NotAcceptableException(String message) {
+        super(ErrorCode.NOT_ACCEPTABLE, message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** An If-Match precondition did not hold: the resource changed since the client read it. */
+public class PreconditionFailedException extends DomainException {
+    public PreconditionFailedException(String message) {
+        super(ErrorCode.PRECONDITION_FAILED, message);
+    }
+}
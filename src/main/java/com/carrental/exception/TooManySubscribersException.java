@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** The vehicle event stream already has app.vehicle-events.max-subscribers subscribers on this instance. */
+public class TooManySubscribersException extends DomainException {
+    public TooManySubscribersException(String message) {
+        super(ErrorCode.TOO_MANY_SUBSCRIBERS, message);
+    }
+}
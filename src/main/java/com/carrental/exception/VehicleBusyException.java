@@ -0,0 +1,8 @@
+package com.carrental.exception;
+
+/** Another booking of the same vehicle, possibly on another node, held its lease for longer than we wait. */
+public class VehicleBusyException extends DomainException {
+    public VehicleBusyException(String message) {
+        super(ErrorCode.VEHICLE_BUSY, message);
+    }
+}
@@ -1,5 +1,5 @@
 package com.carrental.exception;
 
-public class VehicleNotFoundException extends RuntimeException {
-    public VehicleNotFoundException(String message) { super(message); }
+public class VehicleNotFoundException extends DomainException {
+    public VehicleNotFoundException(String message) { super(ErrorCode.VEHICLE_NOT_FOUND, message); }
 }
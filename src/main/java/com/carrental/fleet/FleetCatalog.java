@@ -0,0 +1,229 @@
+package com.carrental.fleet;
+
+import com.carrental.cache.CacheInvalidationBus;
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.repository.VehicleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FleetSnapshot} and keeps it up to date.
+ * <p>
+ * Readers take the snapshot from an atomic reference and never lock. Local writers hand over the
+ * state they wrote, and once the transaction commits a patched copy replaces the current snapshot
+ * without going back to the database, so a request sees its own write once it has committed.
+ * Writes on other instances arrive as invalidations on the {@link CacheInvalidationBus}; those
+ * vehicles are read back on the bus's poll, in its transaction. A periodic full rebuild catches
+ * anything that bypassed both, such as SQL run by hand.
+ * <p>
+ * The snapshot is built on first use. Patches and rebuilds are swapped in one at a time, and a
+ * patch only replaces a row with a higher version and never brings back a deleted vehicle, so a
+ * slower one can never put back an older state.
+ */
+@Component
+@Slf4j
+public class FleetCatalog implements CacheInvalidationBus.Listener {
+
+    private static final String VEHICLE_KEY_PREFIX = ResponseCacheInvalidator.VEHICLES + "/";
+    /** deleted ids remembered, so that a late patch of an earlier update cannot bring one back */
+    static final int MAX_DELETED = 10_000;
+
+    private final VehicleRepository repository;
+    private final TransactionTemplate newTransaction;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final AtomicReference<FleetSnapshot> current = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    private final Set<UUID> deleted = Collections.newSetFromMap(new LinkedHashMap<UUID, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+            return size() > MAX_DELETED;
+        }
+    });
+
+    public FleetCatalog(VehicleRepository repository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationProperties props,
+                        MeterRegistry registry) {
+        this.repository = repository;
+        // rebuilds run on the scheduler or the first reader; read-write, so the read goes to the primary and not to a lagging replica
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // remote changes are read in the bus's poll transaction, which is read-write for the same reason
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = props.getFleetSnapshot().isEnabled();
+        this.chunkSize = props.getLookup().getChunkSize();
+        Gauge.builder("fleet.snapshot.vehicles", current, c -> c.get() == null ? 0 : c.get().size())
+                .description("Vehicles in the in-memory fleet snapshot")
+                .register(registry);
+    }
+
+    /** Whether vehicle lists and searches are served from the snapshot. */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** The current snapshot, loading it on first use. */
+    public FleetSnapshot snapshot() {
+        FleetSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (writeLock) {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /** Replaces the snapshot with a fresh one from the database. */
+    public FleetSnapshot rebuild() {
+        synchronized (writeLock) {
+            FleetSnapshot snapshot = FleetSnapshot.of(newTransaction.execute(status -> repository.findAllResponses()));
+            current.set(snapshot);
+            log.debug("Fleet snapshot rebuilt with {} vehicles", snapshot.size());
+            return snapshot;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.fleet-snapshot.rebuild-interval:PT5M}",
+            initialDelayString = "${app.fleet-snapshot.rebuild-interval:PT5M}")
+    public void scheduledRebuild() {
+        // not built yet means nobody has read it, and the first reader loads it anyway
+        if (enabled && current.get() != null) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Patches {@code vehicle}, as the current transaction wrote it, into the snapshot once that
+     * transaction commits, or right away outside a transaction.
+     */
+    public void patchAfterCommit(VehicleResponse vehicle) {
+        afterCommit(vehicle.id(), vehicle);
+    }
+
+    /** Drops {@code id} from the snapshot once the current transaction commits. */
+    public void removeAfterCommit(UUID id) {
+        afterCommit(id, null);
+    }
+
+    private void afterCommit(UUID id, VehicleResponse vehicle) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<UUID, VehicleResponse> change = new HashMap<>();
+            change.put(id, vehicle);
+            apply(change);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingPatch pending && pending.catalog() == this) {
+                pending.changes.put(id, vehicle);
+                return;
+            }
+        }
+        PendingPatch pending = new PendingPatch();
+        pending.changes.put(id, vehicle);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    /** A vehicle written on another instance, read back in the bus's poll transaction. */
+    @Override
+    public void invalidate(String key, long minVersion) {
+        if (!enabled || !key.startsWith(VEHICLE_KEY_PREFIX) || current.get() == null) {
+            return;
+        }
+        UUID id;
+        try {
+            id = UUID.fromString(key.substring(VEHICLE_KEY_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        Map<UUID, VehicleResponse> change = new HashMap<>();
+        change.put(id, null);
+        try {
+            transaction.executeWithoutResult(status -> load(List.of(id)).forEach(v -> change.put(v.id(), v)));
+        } catch (RuntimeException e) {
+            log.warn("Could not read vehicle {} back for the fleet snapshot, dropping it: {}", id, e.toString());
+            current.set(null);
+            return;
+        }
+        apply(change);
+    }
+
+    /**
+     * Swaps in a copy with {@code changes}, a null value meaning deleted. Rows no newer than the
+     * snapshot's are skipped.
+     */
+    void apply(Map<UUID, VehicleResponse> changes) {
+        synchronized (writeLock) {
+            FleetSnapshot base = current.get();
+            if (base == null) {
+                return; // loaded on first use, with these changes
+            }
+            List<UUID> replaced = new ArrayList<>(changes.size());
+            List<VehicleResponse> rows = new ArrayList<>(changes.size());
+            changes.forEach((id, vehicle) -> {
+                Optional<VehicleResponse> known = base.find(id);
+                if (vehicle == null) {
+                    deleted.add(id);
+                    known.ifPresent(k -> replaced.add(id));
+                } else if (!deleted.contains(id) && known.map(k -> k.version() < vehicle.version()).orElse(true)) {
+                    replaced.add(id);
+                    rows.add(vehicle);
+                }
+            });
+            if (!replaced.isEmpty()) {
+                current.set(base.with(replaced, rows));
+            }
+        }
+    }
+
+    private List<VehicleResponse> load(Collection<UUID> ids) {
+        List<UUID> all = new ArrayList<>(ids);
+        List<VehicleResponse> rows = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += chunkSize) {
+            rows.addAll(repository.findResponsesByIdIn(all.subList(from, Math.min(all.size(), from + chunkSize))));
+        }
+        return rows;
+    }
+
+    private final class PendingPatch implements TransactionSynchronization {
+
+        /** the last state written per vehicle, null once deleted */
+        private final Map<UUID, VehicleResponse> changes = new LinkedHashMap<>();
+
+        FleetCatalog catalog() {
+            return FleetCatalog.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(changes);
+        }
+    }
+}
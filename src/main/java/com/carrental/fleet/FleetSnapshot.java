@@ -0,0 +1,283 @@
+package com.carrental.fleet;
+
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSearchPage;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable copy of the vehicle catalogue laid out column by column: the id as two longs, the
+ * type as a code into a small dictionary, segment and status as enum ordinals, the model year as
+ * an int and the VINs as UTF-8 bytes in one array. A filter is a scan over a few primitive
+ * arrays, and the whole fleet costs a few dozen bytes per vehicle instead of an entity graph.
+ * <p>
+ * Rows are kept in id order, compared as unsigned like the database compares UUIDs, so a row is
+ * found by binary search and pages come out in the same order as from SQL.
+ */
+public final class FleetSnapshot {
+
+    private static final VehicleSegment[] SEGMENTS = VehicleSegment.values();
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+    /** stands for a vehicle without a model year, which no year range matches */
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final Comparator<VehicleResponse> BY_ID =
+            (a, b) -> compare(a.id().getMostSignificantBits(), a.id().getLeastSignificantBits(), b.id());
+
+    private final int size;
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final String[] types;
+    private final int[] typeCodes;
+    private final byte[] segments;
+    private final byte[] statuses;
+    private final int[] modelYears;
+    private final long[] versions;
+    /** the VIN of row i is vins[vinOffsets[i], vinOffsets[i + 1]) */
+    private final byte[] vins;
+    private final int[] vinOffsets;
+
+    private FleetSnapshot(Builder b) {
+        this.size = b.size;
+        this.idHigh = Arrays.copyOf(b.idHigh, size);
+        this.idLow = Arrays.copyOf(b.idLow, size);
+        this.types = b.types.toArray(String[]::new);
+        this.typeCodes = Arrays.copyOf(b.typeCodes, size);
+        this.segments = Arrays.copyOf(b.segments, size);
+        this.statuses = Arrays.copyOf(b.statuses, size);
+        this.modelYears = Arrays.copyOf(b.modelYears, size);
+        this.versions = Arrays.copyOf(b.versions, size);
+        this.vins = Arrays.copyOf(b.vins, b.vinLength);
+        this.vinOffsets = Arrays.copyOf(b.vinOffsets, size + 1);
+    }
+
+    /** A snapshot of exactly {@code vehicles}. */
+    public static FleetSnapshot of(Collection<VehicleResponse> vehicles) {
+        List<VehicleResponse> sorted = new ArrayList<>(vehicles);
+        sorted.sort(BY_ID);
+        Builder b = new Builder(sorted.size());
+        sorted.forEach(b::add);
+        return new FleetSnapshot(b);
+    }
+
+    /**
+     * A copy with the rows of {@code ids} replaced by {@code current}, their state as now read
+     * from the database; an id missing from {@code current} was deleted. Costs one pass over this
+     * snapshot.
+     */
+    public FleetSnapshot with(Collection<UUID> ids, Collection<VehicleResponse> current) {
+        BitSet replaced = new BitSet(size);
+        for (UUID id : ids) {
+            int row = indexOf(id);
+            if (row >= 0) {
+                replaced.set(row);
+            }
+        }
+        List<VehicleResponse> added = new ArrayList<>(current);
+        added.sort(BY_ID);
+        Builder b = new Builder(size + added.size());
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            while (next < added.size() && compare(idHigh[row], idLow[row], added.get(next).id()) > 0) {
+                b.add(added.get(next++));
+            }
+            if (!replaced.get(row)) {
+                b.copy(this, row);
+            }
+        }
+        while (next < added.size()) {
+            b.add(added.get(next++));
+        }
+        return new FleetSnapshot(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Row of {@code id}, or a negative number when it is not in the fleet. */
+    int indexOf(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compare(idHigh[mid], idLow[mid], high, low);
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    public Optional<VehicleResponse> find(UUID id) {
+        int row = indexOf(id);
+        return row < 0 ? Optional.empty() : Optional.of(response(row));
+    }
+
+    VehicleResponse response(int row) {
+        int year = modelYears[row];
+        return new VehicleResponse(
+                new UUID(idHigh[row], idLow[row]),
+                types[typeCodes[row]],
+                SEGMENTS[segments[row]],
+                new String(vins, vinOffsets[row], vinOffsets[row + 1] - vinOffsets[row], StandardCharsets.UTF_8),
+                year == NO_YEAR ? null : year,
+                STATUSES[statuses[row]],
+                versions[row]);
+    }
+
+    /** Every vehicle, in id order. */
+    public List<VehicleResponse> all() {
+        List<VehicleResponse> all = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            all.add(response(row));
+        }
+        return all;
+    }
+
+    /** The same result as the SQL search, with an exact total, in one scan. */
+    public VehicleSearchPage search(VehicleSearchCriteria criteria, int page, int pageSize) {
+        int type = -1;
+        if (criteria.type() != null) {
+            type = Arrays.asList(types).indexOf(criteria.type());
+            if (type < 0) {
+                return new VehicleSearchPage(List.of(), page, pageSize, 0, 0);
+            }
+        }
+        int segment = criteria.segment() == null ? -1 : criteria.segment().ordinal();
+        int status = criteria.status() == null ? -1 : criteria.status().ordinal();
+        boolean yearFiltered = criteria.modelYearFrom() != null || criteria.modelYearTo() != null;
+        int yearFrom = criteria.modelYearFrom() == null ? Integer.MIN_VALUE : criteria.modelYearFrom();
+        int yearTo = criteria.modelYearTo() == null ? Integer.MAX_VALUE : criteria.modelYearTo();
+
+        long offset = (long) page * pageSize;
+        List<VehicleResponse> items = new ArrayList<>(Math.min(pageSize, size));
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if ((type >= 0 && typeCodes[row] != type)
+                    || (segment >= 0 && segments[row] != segment)
+                    || (status >= 0 && statuses[row] != status)) {
+                continue;
+            }
+            if (yearFiltered) {
+                int year = modelYears[row];
+                if (year == NO_YEAR || year < yearFrom || year > yearTo) {
+                    continue;
+                }
+            }
+            if (total >= offset && items.size() < pageSize) {
+                items.add(response(row));
+            }
+            total++;
+        }
+        return new VehicleSearchPage(items, page, pageSize, total, (int) ((total + pageSize - 1) / pageSize));
+    }
+
+    private static int compare(long high, long low, UUID other) {
+        return compare(high, low, other.getMostSignificantBits(), other.getLeastSignificantBits());
+    }
+
+    private static int compare(long high, long low, long otherHigh, long otherLow) {
+        int c = Long.compareUnsigned(high, otherHigh);
+        return c != 0 ? c : Long.compareUnsigned(low, otherLow);
+    }
+
+    /** Growable columns; the dictionary of types is rebuilt, so types no longer used drop out. */
+    private static final class Builder {
+
+        private int size;
+        private long[] idHigh;
+        private long[] idLow;
+        private final List<String> types = new ArrayList<>();
+        private final Map<String, Integer> typeIndex = new HashMap<>();
+        private int[] typeCodes;
+        private byte[] segments;
+        private byte[] statuses;
+        private int[] modelYears;
+        private long[] versions;
+        private byte[] vins;
+        private int vinLength;
+        private int[] vinOffsets;
+
+        Builder(int capacity) {
+            idHigh = new long[capacity];
+            idLow = new long[capacity];
+            typeCodes = new int[capacity];
+            segments = new byte[capacity];
+            statuses = new byte[capacity];
+            modelYears = new int[capacity];
+            versions = new long[capacity];
+            vins = new byte[capacity * 17]; // the usual VIN length
+            vinOffsets = new int[capacity + 1];
+        }
+
+        void add(VehicleResponse v) {
+            append(v.id().getMostSignificantBits(), v.id().getLeastSignificantBits(), v.type(),
+                    v.segment().ordinal(), v.status().ordinal(),
+                    v.modelYear() == null ? NO_YEAR : v.modelYear(), v.version());
+            byte[] vin = v.vin().getBytes(StandardCharsets.UTF_8);
+            appendVin(vin, 0, vin.length);
+        }
+
+        void copy(FleetSnapshot from, int row) {
+            append(from.idHigh[row], from.idLow[row], from.types[from.typeCodes[row]],
+                    from.segments[row], from.statuses[row], from.modelYears[row], from.versions[row]);
+            appendVin(from.vins, from.vinOffsets[row], from.vinOffsets[row + 1] - from.vinOffsets[row]);
+        }
+
+        private void append(long high, long low, String type, int segment, int status, int modelYear, long version) {
+            if (size == idHigh.length) {
+                grow();
+            }
+            idHigh[size] = high;
+            idLow[size] = low;
+            typeCodes[size] = typeIndex.computeIfAbsent(type, t -> {
+                types.add(t);
+                return types.size() - 1;
+            });
+            segments[size] = (byte) segment;
+            statuses[size] = (byte) status;
+            modelYears[size] = modelYear;
+            versions[size] = version;
+        }
+
+        private void appendVin(byte[] source, int from, int length) {
+            if (vinLength + length > vins.length) {
+                vins = Arrays.copyOf(vins, Math.max(vins.length * 2, vinLength + length));
+            }
+            System.arraycopy(source, from, vins, vinLength, length);
+            vinLength += length;
+            vinOffsets[++size] = vinLength;
+        }
+
+        private void grow() {
+            int capacity = Math.max(16, idHigh.length * 2);
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            typeCodes = Arrays.copyOf(typeCodes, capacity);
+            segments = Arrays.copyOf(segments, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            modelYears = Arrays.copyOf(modelYears, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            vinOffsets = Arrays.copyOf(vinOffsets, capacity + 1);
+        }
+    }
+}
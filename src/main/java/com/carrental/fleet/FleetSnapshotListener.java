@@ -0,0 +1,36 @@
+package com.carrental.fleet;
+
+import com.carrental.dto.VehicleResponse;
+import com.carrental.entity.Vehicle;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that patches vehicles written through the entity manager into the fleet
+ * snapshot after commit, from the state just flushed. Bulk JPQL updates bypass it and must patch
+ * the vehicle themselves. The catalog is looked up lazily: it needs the entity manager factory,
+ * which creates this listener.
+ */
+@Component
+@RequiredArgsConstructor
+public class FleetSnapshotListener {
+
+    private final ObjectProvider<FleetCatalog> catalog;
+
+    @PostPersist
+    @PostUpdate
+    public void written(Vehicle vehicle) {
+        catalog.getObject().patchAfterCommit(new VehicleResponse(vehicle.getId(), vehicle.getType(),
+                vehicle.getSegment(), vehicle.getVin(), vehicle.getModelYear(), vehicle.getStatus(),
+                vehicle.getVersion() == null ? 0 : vehicle.getVersion()));
+    }
+
+    @PostRemove
+    public void removed(Vehicle vehicle) {
+        catalog.getObject().removeAfterCommit(vehicle.getId());
+    }
+}
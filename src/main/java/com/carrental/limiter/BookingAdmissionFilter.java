@@ -0,0 +1,64 @@
+package com.carrental.limiter;
+
+import com.carrental.exception.ErrorBodies;
+import com.carrental.exception.ErrorCode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for {@code POST /api/v1/vehicles/bookings}. Requests over the adaptive limit
+ * are answered with 503 {@code BOOKINGS_AT_CAPACITY} and a {@code Retry-After} header before they reach the controller, so
+ * they never wait on Tomcat, Hikari or WebClient pools.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class BookingAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_MESSAGE = "Booking service is at capacity, please retry later";
+
+    private final GradientConcurrencyLimiter limiter;
+    private final long minRetryAfterSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        int inFlight = limiter.tryAcquire();
+        if (inFlight < 0) {
+            log.debug("Booking rejected by limiter limit={} inFlight={}", limiter.getLimit(), limiter.getInFlight());
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlight);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long retryAfter = Math.max(minRetryAfterSeconds,
+                TimeUnit.NANOSECONDS.toSeconds(limiter.getLongRttNanos()) + 1);
+        response.setStatus(ErrorCode.BOOKINGS_AT_CAPACITY.status().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = ErrorBodies.render(ErrorCode.BOOKINGS_AT_CAPACITY, REJECTED_MESSAGE, request.getRequestURI());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
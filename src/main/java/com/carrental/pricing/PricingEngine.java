@@ -0,0 +1,127 @@
+package com.carrental.pricing;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleSegment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Prices rentals from per-segment {@link RateCalendar}s in constant time.
+ * <p>
+ * Base rates come from the pricing service; {@link PricingRules} turn them into daily rates.
+ * All arithmetic is done in cents as {@code long}; {@link BigDecimal} appears only in the
+ * public results. Calendars are published as one immutable map: a reload builds a complete new
+ * map and swaps it in, so readers never see a half-built table and never lock.
+ */
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private final CarRentalPricingClient pricingClient;
+    private final PricingRules rules;
+    private final int lookbackDays;
+    private final int horizonDays;
+    private final AtomicReference<Map<VehicleSegment, RateCalendar>> calendars =
+            new AtomicReference<>(new EnumMap<>(VehicleSegment.class));
+
+    public PricingEngine(CarRentalPricingClient pricingClient, ApplicationProperties props) {
+        this.pricingClient = pricingClient;
+        ApplicationProperties.Pricing cfg = props.getPricing();
+        this.rules = PricingRules.from(cfg);
+        this.lookbackDays = cfg.getLookbackDays();
+        this.horizonDays = cfg.getHorizonDays();
+    }
+
+    /** Total price for {@code start..end} inclusive, or empty when the segment has no rate. */
+    public Optional<BigDecimal> price(VehicleSegment segment, LocalDate start, LocalDate end) {
+        RateCalendar calendar = calendars.get().get(segment);
+        if (calendar == null) {
+            Optional<BigDecimal> rate = pricingClient.getRateForCategory(segment.name()).map(RateResponse::ratePerDay);
+            if (rate.isEmpty()) {
+                return Optional.empty();
+            }
+            calendar = publish(Map.of(segment, build(segment, rate.get()))).get(segment);
+        }
+        return Optional.of(toAmount(calendar.totalCents(start, end)));
+    }
+
+    /** Non-blocking variant of {@link #price}; a missing calendar is fetched without blocking. */
+    public Mono<BigDecimal> priceAsync(VehicleSegment segment, LocalDate start, LocalDate end) {
+        RateCalendar calendar = calendars.get().get(segment);
+        if (calendar != null) {
+            return Mono.just(toAmount(calendar.totalCents(start, end)));
+        }
+        return pricingClient.rateForCategory(segment.name())
+                .map(rate -> publish(Map.of(segment, build(segment, rate.ratePerDay()))).get(segment))
+                .map(c -> toAmount(c.totalCents(start, end)));
+    }
+
+    /** Segments with a loaded rate calendar. */
+    public Set<VehicleSegment> loadedSegments() {
+        return Collections.unmodifiableSet(calendars.get().keySet());
+    }
+
+    /** Reloads every segment from the pricing service. */
+    public void reloadAll() {
+        load(List.of(VehicleSegment.values()));
+    }
+
+    /** Reloads the segments already known, keeping the previous calendar for any that fail. */
+    @Scheduled(fixedDelayString = "${app.pricing.reload-interval:PT5M}")
+    public void refresh() {
+        load(calendars.get().keySet());
+    }
+
+    private void load(Collection<VehicleSegment> segments) {
+        Map<VehicleSegment, RateCalendar> loaded = new EnumMap<>(VehicleSegment.class);
+        for (VehicleSegment segment : List.copyOf(segments)) {
+            try {
+                pricingClient.getRateForCategory(segment.name())
+                        .map(RateResponse::ratePerDay)
+                        .ifPresent(rate -> loaded.put(segment, build(segment, rate)));
+            } catch (RuntimeException e) {
+                log.warn("Rate reload failed for segment={}: {}", segment, e.getMessage());
+            }
+        }
+        if (!loaded.isEmpty()) {
+            publish(loaded);
+        }
+    }
+
+    /** Copy-on-write swap of the calendar map. */
+    private Map<VehicleSegment, RateCalendar> publish(Map<VehicleSegment, RateCalendar> updates) {
+        return calendars.updateAndGet(current -> {
+            Map<VehicleSegment, RateCalendar> next = new EnumMap<>(VehicleSegment.class);
+            next.putAll(current);
+            next.putAll(updates);
+            return next;
+        });
+    }
+
+    private RateCalendar build(VehicleSegment segment, BigDecimal ratePerDay) {
+        long baseCents = ratePerDay.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        LocalDate origin = LocalDate.now().minusDays(lookbackDays);
+        log.debug("Building rate calendar segment={} baseCents={} origin={} days={}", segment, baseCents, origin, horizonDays);
+        return RateCalendar.build(baseCents, origin, lookbackDays + horizonDays, rules);
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
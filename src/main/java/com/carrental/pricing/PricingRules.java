@@ -0,0 +1,99 @@
+package com.carrental.pricing;
+
+import com.carrental.config.ApplicationProperties;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Day-dependent multipliers applied on top of a segment's base rate: weekends, seasons and
+ * holidays. Multipliers are held in basis points (10000 = 1.0) so daily rates can be derived
+ * with long arithmetic.
+ */
+public final class PricingRules {
+
+    static final long ONE = 10_000;
+
+    private record Season(MonthDay from, MonthDay to, long multiplier) {
+        boolean contains(MonthDay day) {
+            return from.isAfter(to)
+                    ? !day.isBefore(from) || !day.isAfter(to)   // wraps over the new year
+                    : !day.isBefore(from) && !day.isAfter(to);
+        }
+    }
+
+    private final Set<DayOfWeek> weekendDays;
+    private final long weekendMultiplier;
+    private final List<Season> seasons;
+    private final Map<MonthDay, Long> holidays;
+
+    private PricingRules(Set<DayOfWeek> weekendDays, long weekendMultiplier,
+                         List<Season> seasons, Map<MonthDay, Long> holidays) {
+        this.weekendDays = weekendDays;
+        this.weekendMultiplier = weekendMultiplier;
+        this.seasons = seasons;
+        this.holidays = holidays;
+    }
+
+    /** Rules that leave every day at the base rate. */
+    public static PricingRules flat() {
+        return new PricingRules(EnumSet.noneOf(DayOfWeek.class), ONE, List.of(), Map.of());
+    }
+
+    public static PricingRules from(ApplicationProperties.Pricing cfg) {
+        Set<DayOfWeek> weekend = cfg.getWeekendDays().isEmpty()
+                ? EnumSet.noneOf(DayOfWeek.class)
+                : EnumSet.copyOf(cfg.getWeekendDays());
+        List<Season> seasons = new ArrayList<>();
+        for (ApplicationProperties.Pricing.Season s : cfg.getSeasons()) {
+            seasons.add(new Season(monthDay(s.getFrom()), monthDay(s.getTo()), basisPoints(s.getMultiplier())));
+        }
+        Map<MonthDay, Long> holidays = new HashMap<>();
+        for (ApplicationProperties.Pricing.Holiday h : cfg.getHolidays()) {
+            holidays.put(monthDay(h.getDate()), basisPoints(h.getMultiplier()));
+        }
+        return new PricingRules(weekend, basisPoints(cfg.getWeekendMultiplier()), List.copyOf(seasons), Map.copyOf(holidays));
+    }
+
+    /** Price of {@code day} in cents for a base rate of {@code baseCents}. */
+    long dailyCents(long baseCents, LocalDate day) {
+        long cents = baseCents;
+        if (weekendDays.contains(day.getDayOfWeek())) {
+            cents = apply(cents, weekendMultiplier);
+        }
+        MonthDay md = MonthDay.from(day);
+        for (Season season : seasons) {
+            if (season.contains(md)) {
+                cents = apply(cents, season.multiplier());
+                break;
+            }
+        }
+        Long holiday = holidays.get(md);
+        if (holiday != null) {
+            cents = apply(cents, holiday);
+        }
+        return cents;
+    }
+
+    private static long apply(long cents, long multiplier) {
+        return Math.floorDiv(cents * multiplier + ONE / 2, ONE); // half-up to the cent
+    }
+
+    private static long basisPoints(BigDecimal multiplier) {
+        return multiplier.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** Parses {@code MM-dd}. */
+    private static MonthDay monthDay(String value) {
+        return MonthDay.parse("--" + value);
+    }
+}
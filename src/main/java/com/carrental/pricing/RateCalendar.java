@@ -0,0 +1,50 @@
+package com.carrental.pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable daily rate calendar for one segment's base rate.
+ * <p>
+ * {@code prefix[i]} holds the sum in cents of the daily rates for the first {@code i} days
+ * from {@code origin}, so the price of any range inside the horizon is a single subtraction.
+ * Ranges that leave the horizon are summed day by day from the rules, which is bounded by the
+ * maximum rental length.
+ */
+final class RateCalendar {
+
+    private final long baseCents;
+    private final long originEpochDay;
+    private final long[] prefix;
+    private final PricingRules rules;
+
+    private RateCalendar(long baseCents, long originEpochDay, long[] prefix, PricingRules rules) {
+        this.baseCents = baseCents;
+        this.originEpochDay = originEpochDay;
+        this.prefix = prefix;
+        this.rules = rules;
+    }
+
+    static RateCalendar build(long baseCents, LocalDate origin, int days, PricingRules rules) {
+        long[] prefix = new long[days + 1];
+        LocalDate day = origin;
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + rules.dailyCents(baseCents, day);
+            day = day.plusDays(1);
+        }
+        return new RateCalendar(baseCents, origin.toEpochDay(), prefix, rules);
+    }
+
+    /** Total in cents for {@code start..end}, both inclusive. */
+    long totalCents(LocalDate start, LocalDate end) {
+        long from = start.toEpochDay() - originEpochDay;
+        long to = end.toEpochDay() - originEpochDay + 1;
+        if (from >= 0 && to < prefix.length) {
+            return prefix[(int) to] - prefix[(int) from];
+        }
+        long total = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            total += rules.dailyCents(baseCents, day);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,127 @@
+package com.carrental.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The fields a client can select with {@code fields=} on one resource: each one's name in the
+ * response, the JPQL path it is read from and a writer for its value type. Names and order
+ * match the full response records; {@code version}, sent as the ETag of a full read, can be
+ * selected too, for an {@code If-Match} taken from a sparse list.
+ */
+public final class ResourceFields {
+
+    public static final ResourceFields VEHICLES = new ResourceFields("vehicles", "Vehicle", "v", "v.version",
+            field("id", "v.id", ResourceFields::writeString),
+            field("type", "v.type", ResourceFields::writeString),
+            field("segment", "v.segment", ResourceFields::writeEnum),
+            field("vin", "v.vin", ResourceFields::writeString),
+            field("modelYear", "v.modelYear", ResourceFields::writeInteger),
+            field("status", "v.status", ResourceFields::writeEnum),
+            field("version", "v.version", ResourceFields::writeLong));
+
+    public static final ResourceFields CUSTOMERS = new ResourceFields("customers", "Customer", "c", "c.version",
+            field("id", "c.id", ResourceFields::writeString),
+            field("firstName", "c.firstName", ResourceFields::writeString),
+            field("lastName", "c.lastName", ResourceFields::writeString),
+            field("age", "c.age", ResourceFields::writeInteger),
+            field("email", "c.email", ResourceFields::writeString),
+            field("drivingLicenseNumber", "c.drivingLicenseNumber", ResourceFields::writeString),
+            field("phoneNumber", "c.phoneNumber", ResourceFields::writeString),
+            field("version", "c.version", ResourceFields::writeLong));
+
+    public static final ResourceFields BOOKINGS = new ResourceFields("bookings", "Booking", "v", null,
+            field("bookingId", "v.id", ResourceFields::writeString),
+            field("licenseNumber", "v.licenseNumber", ResourceFields::writeString),
+            field("customerName", "v.customerName", ResourceFields::writeString),
+            field("age", "v.age", ResourceFields::writeInteger),
+            field("reservationStartDate", "v.startDate", ResourceFields::writeString),
+            field("reservationEndDate", "v.endDate", ResourceFields::writeString),
+            field("segment", "v.segment", ResourceFields::writeEnum),
+            field("rentalPrice", "v.rentalPrice", ResourceFields::writeDecimal));
+
+    /** Finished bookings moved out by the archival job; same fields as {@link #BOOKINGS}. */
+    public static final ResourceFields ARCHIVED_BOOKINGS = BOOKINGS.from("archived-bookings", "ArchivedBooking");
+
+    /** Writes one non-null value of a field. */
+    @FunctionalInterface
+    interface ValueWriter {
+        void write(JsonGenerator generator, Object value) throws IOException;
+    }
+
+    record Field(String name, String path, ValueWriter writer) {}
+
+    private final String resource;
+    private final String entity;
+    /** JPQL alias of the entity that the paths start with */
+    private final String alias;
+    /** JPQL path of the version sent as the ETag; null when the resource has none */
+    private final String versionPath;
+    private final Map<String, Field> fields;
+
+    private ResourceFields(String resource, String entity, String alias, String versionPath, Field... fields) {
+        this.resource = resource;
+        this.entity = entity;
+        this.alias = alias;
+        this.versionPath = versionPath;
+        Map<String, Field> byName = new LinkedHashMap<>();
+        Arrays.stream(fields).forEach(f -> byName.put(f.name(), f));
+        this.fields = Collections.unmodifiableMap(byName);
+    }
+
+    private ResourceFields from(String resource, String entity) {
+        return new ResourceFields(resource, entity, alias, versionPath, fields.values().toArray(Field[]::new));
+    }
+
+    public String resource() {
+        return resource;
+    }
+
+    String entity() {
+        return entity;
+    }
+
+    String alias() {
+        return alias;
+    }
+
+    String versionPath() {
+        return versionPath;
+    }
+
+    /** selectable fields by name, in response order */
+    Map<String, Field> fields() {
+        return fields;
+    }
+
+    private static Field field(String name, String path, ValueWriter writer) {
+        return new Field(name, path, writer);
+    }
+
+    private static void writeString(JsonGenerator generator, Object value) throws IOException {
+        // UUID and LocalDate: toString() is the ISO form Jackson writes for them
+        generator.writeString(value instanceof String s ? s : value.toString());
+    }
+
+    private static void writeEnum(JsonGenerator generator, Object value) throws IOException {
+        generator.writeString(((Enum<?>) value).name());
+    }
+
+    private static void writeInteger(JsonGenerator generator, Object value) throws IOException {
+        generator.writeNumber(((Number) value).intValue());
+    }
+
+    private static void writeLong(JsonGenerator generator, Object value) throws IOException {
+        generator.writeNumber(((Number) value).longValue());
+    }
+
+    private static void writeDecimal(JsonGenerator generator, Object value) throws IOException {
+        generator.writeNumber((BigDecimal) value);
+    }
+}
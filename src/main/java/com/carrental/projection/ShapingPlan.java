@@ -0,0 +1,62 @@
+package com.carrental.projection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jakarta.persistence.Tuple;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * How to read and write one field selection of a resource: the JPQL selecting just those
+ * columns, and the pre-encoded names and writers that turn a row into an object. Built once
+ * per distinct selection, so a request only walks two arrays.
+ */
+final class ShapingPlan {
+
+    private final SerializedString[] names;
+    private final ResourceFields.ValueWriter[] writers;
+    private final String listQuery;
+    private final String byIdQuery;
+    private final boolean versioned;
+
+    ShapingPlan(ResourceFields resource, List<ResourceFields.Field> selected) {
+        this.names = selected.stream().map(f -> new SerializedString(f.name())).toArray(SerializedString[]::new);
+        this.writers = selected.stream().map(ResourceFields.Field::writer).toArray(ResourceFields.ValueWriter[]::new);
+        String columns = selected.stream().map(ResourceFields.Field::path).collect(Collectors.joining(", "));
+        String from = " FROM " + resource.entity() + " " + resource.alias();
+        this.listQuery = "SELECT " + columns + from;
+        this.versioned = resource.versionPath() != null;
+        this.byIdQuery = "SELECT " + columns + (versioned ? ", " + resource.versionPath() : "")
+                + from + " WHERE " + resource.alias() + ".id = :id";
+    }
+
+    String listQuery() {
+        return listQuery;
+    }
+
+    /** selects the fields followed by the version, when the resource has one */
+    String byIdQuery() {
+        return byIdQuery;
+    }
+
+    /** version of a {@link #byIdQuery()} row, 0 for unversioned resources */
+    long version(Tuple row) {
+        return versioned ? ((Number) row.get(names.length)).longValue() : 0;
+    }
+
+    void write(JsonGenerator generator, Tuple row) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < names.length; i++) {
+            generator.writeFieldName(names[i]);
+            Object value = row.get(i);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                writers[i].write(generator, value);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,157 @@
+package com.carrental.projection;
+
+import com.carrental.cache.BodyFormat;
+import com.carrental.cache.SerializedResponseCache;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.exception.InvalidFieldsException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads for {@code fields=} requests: selects only the requested columns and writes them
+ * straight to the generator of the negotiated {@link BodyFormat}, without materializing
+ * entities or response records. Plans are cached per resource and selection.
+ */
+@Service
+@Slf4j
+public class SparseFieldsService {
+
+    private final EntityManager entityManager;
+    private final Map<BodyFormat, JsonFactory> factories = new EnumMap<>(BodyFormat.class);
+    /** by resource and the selection as sent; several spellings share one plan */
+    private final Map<String, ShapingPlan> plansBySelection = new ConcurrentHashMap<>();
+    /** by resource and the canonical (response-ordered) selection */
+    private final Map<String, ShapingPlan> plans = new ConcurrentHashMap<>();
+    private final int maxPlans;
+
+    public SparseFieldsService(EntityManager entityManager, ObjectMapper objectMapper, ApplicationProperties props) {
+        this.entityManager = entityManager;
+        for (BodyFormat format : BodyFormat.values()) {
+            factories.put(format, format.mapper(objectMapper).getFactory());
+        }
+        this.maxPlans = props.getSparseFields().getMaxPlans();
+    }
+
+    /** All rows of {@code resource}, each narrowed to {@code fields}, as one array body. */
+    @Transactional(readOnly = true)
+    public byte[] list(ResourceFields resource, String fields, BodyFormat format) {
+        ShapingPlan plan = plan(resource, fields);
+        List<Tuple> rows = entityManager.createQuery(plan.listQuery(), Tuple.class).getResultList();
+        return write(format, generator -> {
+            generator.writeStartArray();
+            for (Tuple row : rows) {
+                plan.write(generator, row);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * One row narrowed to {@code fields}, from the first of {@code sources} that has it, with the
+     * ETag of its version when the resource is versioned.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SerializedResponseCache.Entry> find(UUID id, String fields, BodyFormat format,
+                                                        ResourceFields... sources) {
+        for (ResourceFields resource : sources) {
+            ShapingPlan plan = plan(resource, fields);
+            List<Tuple> rows = entityManager.createQuery(plan.byIdQuery(), Tuple.class)
+                    .setParameter("id", id)
+                    .getResultList();
+            if (!rows.isEmpty()) {
+                Tuple row = rows.get(0);
+                long version = plan.version(row);
+                String etag = resource.versionPath() == null ? null : SerializedResponseCache.etag(version, format);
+                return Optional.of(new SerializedResponseCache.Entry(version, etag, format,
+                        write(format, generator -> plan.write(generator, row))));
+            }
+        }
+        return Optional.empty();
+    }
+
+    ShapingPlan plan(ResourceFields resource, String fields) {
+        String key = resource.resource() + ":" + fields;
+        ShapingPlan plan = plansBySelection.get(key);
+        if (plan != null) {
+            return plan;
+        }
+        List<ResourceFields.Field> selected = select(resource, fields);
+        String canonical = resource.resource() + ":" + String.join(",", selected.stream().map(ResourceFields.Field::name).toList());
+        plan = plans.get(canonical);
+        if (plan == null) {
+            plan = new ShapingPlan(resource, selected);
+            if (plans.size() < maxPlans) {
+                plans.putIfAbsent(canonical, plan);
+            }
+        }
+        if (plansBySelection.size() < maxPlans) {
+            plansBySelection.putIfAbsent(key, plan);
+        }
+        return plan;
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    /** the named fields in response order, without duplicates */
+    private static List<ResourceFields.Field> select(ResourceFields resource, String fields) {
+        Map<String, ResourceFields.Field> available = resource.fields();
+        boolean[] chosen = new boolean[available.size()];
+        List<String> names = new ArrayList<>(available.keySet());
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int index = names.indexOf(trimmed);
+            if (index < 0) {
+                throw new InvalidFieldsException("Unknown field '" + trimmed + "' for " + resource.resource()
+                        + "; available: " + String.join(",", names));
+            }
+            chosen[index] = true;
+        }
+        List<ResourceFields.Field> selected = new ArrayList<>();
+        for (int i = 0; i < chosen.length; i++) {
+            if (chosen[i]) {
+                selected.add(available.get(names.get(i)));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidFieldsException("fields must name at least one of: " + String.join(",", names));
+        }
+        return selected;
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private byte[] write(BodyFormat format, Body body) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator generator = factories.get(format).createGenerator(buffer)) {
+            body.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package com.carrental.repository;
+
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.BookingResponse;
+import com.carrental.entity.ArchivedBooking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, UUID> {
+
+    /** Same projection as {@link BookingRepository#findResponsesByIdIn}, over archived bookings. */
+    @Query("""
+        SELECT new com.carrental.dto.BookingResponse(a.id, a.licenseNumber, a.customerName, a.age,
+                                                     a.startDate, a.endDate, a.segment, a.rentalPrice)
+        FROM ArchivedBooking a
+        WHERE a.id IN :ids
+    """)
+    List<BookingResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Same projection as {@link BookingRepository#findHistoryByCustomer}, over archived bookings;
+     * {@code vin} is null once the vehicle is deleted. Pages are cut by the caller, so no count.
+     */
+    @Query("""
+        SELECT new com.carrental.dto.BookingHistoryItem(
+                   a.id, a.customerId, a.customerName, a.vehicleId, v.vin, a.segment,
+                   a.startDate, a.endDate, a.rentalDays, a.rentalPrice)
+        FROM ArchivedBooking a LEFT JOIN Vehicle v ON v.id = a.vehicleId
+        WHERE a.customerId = :customerId
+          AND (:from IS NULL OR a.endDate >= :from)
+          AND (:to IS NULL OR a.startDate <= :to)
+    """)
+    List<BookingHistoryItem> findHistoryByCustomer(@Param("customerId") UUID customerId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to,
+                                                   Pageable pageable);
+
+    @Query("""
+        SELECT COUNT(a) FROM ArchivedBooking a
+        WHERE a.customerId = :customerId
+          AND (:from IS NULL OR a.endDate >= :from)
+          AND (:to IS NULL OR a.startDate <= :to)
+    """)
+    long countHistoryByCustomer(@Param("customerId") UUID customerId,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    /** Archived counterpart of {@link BookingRepository#findHistoryByVehicle}; see {@link #findHistoryByCustomer}. */
+    @Query("""
+        SELECT new com.carrental.dto.BookingHistoryItem(
+                   a.id, a.customerId, a.customerName, a.vehicleId, v.vin, a.segment,
+                   a.startDate, a.endDate, a.rentalDays, a.rentalPrice)
+        FROM ArchivedBooking a LEFT JOIN Vehicle v ON v.id = a.vehicleId
+        WHERE a.vehicleId = :vehicleId
+          AND (:from IS NULL OR a.endDate >= :from)
+          AND (:to IS NULL OR a.startDate <= :to)
+    """)
+    List<BookingHistoryItem> findHistoryByVehicle(@Param("vehicleId") UUID vehicleId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to,
+                                                  Pageable pageable);
+
+    @Query("""
+        SELECT COUNT(a) FROM ArchivedBooking a
+        WHERE a.vehicleId = :vehicleId
+          AND (:from IS NULL OR a.endDate >= :from)
+          AND (:to IS NULL OR a.startDate <= :to)
+    """)
+    long countHistoryByVehicle(@Param("vehicleId") UUID vehicleId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+    /** Copies the given bookings into the archive in one statement. */
+    @Modifying
+    @Query(value = """
+        INSERT INTO bookings_archive (id, license_number, customer_name, segment, start_date, end_date,
+                                      rental_days, rental_price, age, customer_id, vehicle_id, archived_at)
+        SELECT id, license_number, customer_name, segment, start_date, end_date,
+               rental_days, rental_price, age, customer_id, vehicle_id, CURRENT_TIMESTAMP
+        FROM bookings
+        WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<UUID> ids);
+
+    /** Same projection as {@link BookingRepository#findOccupancySources}, over archived bookings. */
+    @Query("""
+        SELECT a.segment AS segment, a.startDate AS startDate, a.endDate AS endDate,
+               a.rentalDays AS rentalDays, a.rentalPrice AS rentalPrice
+        FROM ArchivedBooking a
+        WHERE a.startDate <= :to
+          AND a.endDate >= :from
+    """)
+    List<BookingRepository.OccupancySource> findOccupancySources(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,18 +1,36 @@
 package com.carrental.repository;
 
 
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.BookingResponse;
+import com.carrental.dto.VehicleSegment;
 import com.carrental.entity.Booking;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
+    /** Multi-get projection: responses for the bookings among {@code ids}, without managed entities. */
+    @Query("""
+        SELECT new com.carrental.dto.BookingResponse(b.id, b.licenseNumber, b.customerName, b.age,
+                                                     b.startDate, b.endDate, b.segment, b.rentalPrice)
+        FROM Booking b
+        WHERE b.id IN :ids
+    """)
+    List<BookingResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
     @Query("""
         SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END
         FROM Booking b
@@ -25,5 +43,73 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
-}
 
+    /** Minimal booking data needed to recompute occupancy aggregates. */
+    interface OccupancySource {
+        VehicleSegment getSegment();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        long getRentalDays();
+        BigDecimal getRentalPrice();
+    }
+
+    @Query("""
+        SELECT b.segment AS segment, b.startDate AS startDate, b.endDate AS endDate,
+               b.rentalDays AS rentalDays, b.rentalPrice AS rentalPrice
+        FROM Booking b
+        WHERE b.startDate <= :to
+          AND b.endDate >= :from
+    """)
+    List<OccupancySource> findOccupancySources(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Booking history of a customer as flat rows; vehicle columns come from a join, so a page
+     * costs one select plus the count, whatever its size.
+     */
+    @Query(value = """
+        SELECT new com.carrental.dto.BookingHistoryItem(
+                   b.id, c.id, b.customerName, v.id, v.vin, b.segment,
+                   b.startDate, b.endDate, b.rentalDays, b.rentalPrice)
+        FROM Booking b JOIN b.customer c JOIN b.vehicle v
+        WHERE c.id = :customerId
+          AND (:from IS NULL OR b.endDate >= :from)
+          AND (:to IS NULL OR b.startDate <= :to)
+    """, countQuery = """
+        SELECT COUNT(b) FROM Booking b
+        WHERE b.customer.id = :customerId
+          AND (:from IS NULL OR b.endDate >= :from)
+          AND (:to IS NULL OR b.startDate <= :to)
+    """)
+    Page<BookingHistoryItem> findHistoryByCustomer(@Param("customerId") UUID customerId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to,
+                                                   Pageable pageable);
+
+    /** Booking history of a vehicle; same shape and cost as {@link #findHistoryByCustomer}. */
+    @Query(value = """
+        SELECT new com.carrental.dto.BookingHistoryItem(
+                   b.id, c.id, b.customerName, v.id, v.vin, b.segment,
+                   b.startDate, b.endDate, b.rentalDays, b.rentalPrice)
+        FROM Booking b JOIN b.customer c JOIN b.vehicle v
+        WHERE v.id = :vehicleId
+          AND (:from IS NULL OR b.endDate >= :from)
+          AND (:to IS NULL OR b.startDate <= :to)
+    """, countQuery = """
+        SELECT COUNT(b) FROM Booking b
+        WHERE b.vehicle.id = :vehicleId
+          AND (:from IS NULL OR b.endDate >= :from)
+          AND (:to IS NULL OR b.startDate <= :to)
+    """)
+    Page<BookingHistoryItem> findHistoryByVehicle(@Param("vehicleId") UUID vehicleId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to,
+                                                  Pageable pageable);
+
+    /** Ids of bookings that ended before {@code cutoff}, oldest first; sized by {@code pageable}. */
+    @Query("SELECT b.id FROM Booking b WHERE b.endDate < :cutoff ORDER BY b.endDate, b.id")
+    List<UUID> findIdsEndedBefore(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<UUID> ids);
+}
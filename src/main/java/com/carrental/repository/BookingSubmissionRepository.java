@@ -0,0 +1,51 @@
+package com.carrental.repository;
+
+import com.carrental.dto.BookingSubmissionStatus;
+import com.carrental.entity.BookingSubmission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface BookingSubmissionRepository extends JpaRepository<BookingSubmission, UUID> {
+
+    @Query("SELECT s.id FROM BookingSubmission s WHERE s.status = :status ORDER BY s.createdAt")
+    List<UUID> findIdsByStatus(@Param("status") BookingSubmissionStatus status);
+
+    /**
+     * Moves a pending entry to {@code PROCESSING}, stamping it with {@code claimedAt}. Returns 0
+     * when the entry is not pending any more, i.e. another worker or node claimed it first.
+     */
+    @Modifying
+    @Query("""
+        UPDATE BookingSubmission s
+        SET s.status = com.carrental.dto.BookingSubmissionStatus.PROCESSING, s.updatedAt = :claimedAt
+        WHERE s.id = :id AND s.status = com.carrental.dto.BookingSubmissionStatus.PENDING
+    """)
+    int claim(@Param("id") UUID id, @Param("claimedAt") Instant claimedAt);
+
+    /** Finishes an entry, but only while it still holds the claim stamped {@code claimedAt}. */
+    @Modifying
+    @Query("""
+        UPDATE BookingSubmission s
+        SET s.status = :status, s.bookingId = :bookingId, s.error = :error, s.updatedAt = :now
+        WHERE s.id = :id AND s.status = com.carrental.dto.BookingSubmissionStatus.PROCESSING
+            AND s.updatedAt = :claimedAt
+    """)
+    int finish(@Param("id") UUID id, @Param("claimedAt") Instant claimedAt,
+               @Param("status") BookingSubmissionStatus status, @Param("bookingId") UUID bookingId,
+               @Param("error") String error, @Param("now") Instant now);
+
+    /** Hands entries claimed before {@code before} back to {@code PENDING}; their worker is gone. */
+    @Modifying
+    @Query("""
+        UPDATE BookingSubmission s
+        SET s.status = com.carrental.dto.BookingSubmissionStatus.PENDING
+        WHERE s.status = com.carrental.dto.BookingSubmissionStatus.PROCESSING AND s.updatedAt < :before
+    """)
+    int releaseClaimsBefore(@Param("before") Instant before);
+}
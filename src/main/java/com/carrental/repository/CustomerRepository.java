@@ -1,7 +1,14 @@
 package com.carrental.repository;
 
+import com.carrental.dto.CustomerResponse;
 import com.carrental.entity.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +21,46 @@ public interface CustomerRepository extends JpaRepository<Customer, UUID> {
     boolean existsByEmail(String email);
 
     boolean existsByDrivingLicenseNumber(String drivingLicenseNumber);
+
+    /** Multi-get projection: responses for the customers among {@code ids}, without managed entities. */
+    @Query("""
+        SELECT new com.carrental.dto.CustomerResponse(c.id, c.firstName, c.lastName, c.age, c.email,
+                                                      c.drivingLicenseNumber, c.phoneNumber, c.version)
+        FROM Customer c
+        WHERE c.id IN :ids
+    """)
+    List<CustomerResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /** Multi-get projection by driving licence number; same shape as {@link #findResponsesByIdIn}. */
+    @Query("""
+        SELECT new com.carrental.dto.CustomerResponse(c.id, c.firstName, c.lastName, c.age, c.email,
+                                                      c.drivingLicenseNumber, c.phoneNumber, c.version)
+        FROM Customer c
+        WHERE c.drivingLicenseNumber IN :licenseNumbers
+    """)
+    List<CustomerResponse> findResponsesByDrivingLicenseNumberIn(@Param("licenseNumbers") Collection<String> licenseNumbers);
+
+    @Query("SELECT c.version FROM Customer c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Partial update without loading the customer; null arguments keep the column value. Bumps the
+     * version; a non-null {@code version} only matches that version. Returns the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Customer c
+        SET c.firstName = COALESCE(:firstName, c.firstName),
+            c.lastName = COALESCE(:lastName, c.lastName),
+            c.age = COALESCE(:age, c.age),
+            c.phoneNumber = COALESCE(:phoneNumber, c.phoneNumber),
+            c.version = c.version + 1
+        WHERE c.id = :id AND (:version IS NULL OR c.version = :version)
+    """)
+    int patch(@Param("id") UUID id,
+              @Param("firstName") String firstName,
+              @Param("lastName") String lastName,
+              @Param("age") Integer age,
+              @Param("phoneNumber") String phoneNumber,
+              @Param("version") Long version);
 }
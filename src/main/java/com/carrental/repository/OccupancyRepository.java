@@ -0,0 +1,58 @@
+package com.carrental.repository;
+
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.SegmentDailyOccupancy;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OccupancyRepository extends JpaRepository<SegmentDailyOccupancy, SegmentDailyOccupancy.Key> {
+
+    @Query("""
+        SELECT o FROM SegmentDailyOccupancy o
+        WHERE o.day BETWEEN :from AND :to
+        ORDER BY o.day, o.segment
+    """)
+    List<SegmentDailyOccupancy> findRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+        SELECT o.day FROM SegmentDailyOccupancy o
+        WHERE o.segment = :segment AND o.day BETWEEN :from AND :to
+    """)
+    List<LocalDate> findExistingDays(@Param("segment") VehicleSegment segment,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("""
+        UPDATE SegmentDailyOccupancy o
+        SET o.bookedVehicles = o.bookedVehicles + 1, o.revenue = o.revenue + :dailyRevenue
+        WHERE o.segment = :segment AND o.day BETWEEN :from AND :to
+    """)
+    int addBooking(@Param("segment") VehicleSegment segment,
+                   @Param("from") LocalDate from,
+                   @Param("to") LocalDate to,
+                   @Param("dailyRevenue") BigDecimal dailyRevenue);
+
+    @Modifying
+    @Query("""
+        UPDATE SegmentDailyOccupancy o
+        SET o.revenue = o.revenue + :amount
+        WHERE o.segment = :segment AND o.day = :day
+    """)
+    int addRevenue(@Param("segment") VehicleSegment segment,
+                   @Param("day") LocalDate day,
+                   @Param("amount") BigDecimal amount);
+
+    /** Locks the existing rows of {@code from..to} until the end of the transaction. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM SegmentDailyOccupancy o WHERE o.day BETWEEN :from AND :to")
+    List<SegmentDailyOccupancy> lockRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,172 @@
+package com.carrental.repository;
+
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * R2DBC access to the booking tables for the non-blocking booking path.
+ * Works on the same schema that the JPA entities map.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveBookingRepository {
+
+    private final DatabaseClient client;
+
+    public Mono<UUID> findCustomerIdByDrivingLicenseNumber(String drivingLicenseNumber) {
+        return client.sql("SELECT id FROM customers WHERE driving_license_number = :license")
+                .bind("license", drivingLicenseNumber)
+                .map(row -> row.get("id", UUID.class))
+                .first();
+    }
+
+    public Mono<UUID> findVehicleIdByVin(String vin) {
+        return client.sql("SELECT id FROM vehicles WHERE vin = :vin")
+                .bind("vin", vin)
+                .map(row -> row.get("id", UUID.class))
+                .first();
+    }
+
+    /**
+     * Takes the lease row of {@code key} for the current transaction, as
+     * {@link com.carrental.service.BookingLeaseService#acquire} does on the JDBC path, creating it
+     * if the key was never registered. Waits at most {@code wait} on a lock held elsewhere, where
+     * the driver supports a lock wait timeout; otherwise for the database's own lock timeout.
+     */
+    public Mono<Long> takeLease(String key, String holder, Instant expiresAt, Duration wait) {
+        Mono<Long> take = client.sql("""
+                    UPDATE booking_leases
+                    SET holder = :holder, expires_at = :expiresAt
+                    WHERE lease_key = :key
+                """)
+                .bind("holder", holder)
+                .bind("expiresAt", expiresAt)
+                .bind("key", key)
+                .fetch().rowsUpdated();
+        Mono<Long> create = client.sql("""
+                    INSERT INTO booking_leases (lease_key, holder, expires_at)
+                    VALUES (:key, :holder, :expiresAt)
+                """)
+                .bind("key", key)
+                .bind("holder", holder)
+                .bind("expiresAt", expiresAt)
+                .fetch().rowsUpdated();
+        return client.inConnection(connection -> Mono.from(connection.setLockWaitTimeout(wait)))
+                .then(take)
+                .flatMap(updated -> updated > 0 ? Mono.just(updated) : create);
+    }
+
+    public Mono<Boolean> existsOverlappingBookingForVehicle(UUID vehicleId, LocalDate startDate, LocalDate endDate) {
+        return client.sql("""
+                    SELECT COUNT(*) AS cnt
+                    FROM bookings b
+                    WHERE b.vehicle_id = :vehicleId
+                      AND b.start_date <= :endDate
+                      AND b.end_date >= :startDate
+                """)
+                .bind("vehicleId", vehicleId)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map(row -> row.get("cnt", Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    /** Inserts the booking with the given customer and vehicle ids and returns its generated id. */
+    public Mono<UUID> insert(Booking booking, UUID customerId, UUID vehicleId) {
+        UUID id = UUID.randomUUID();
+        DatabaseClient.GenericExecuteSpec spec = client.sql("""
+                    INSERT INTO bookings (id, license_number, customer_name, segment, start_date, end_date,
+                                          rental_days, rental_price, age, customer_id, vehicle_id)
+                    VALUES (:id, :licenseNumber, :customerName, :segment, :startDate, :endDate,
+                            :rentalDays, :rentalPrice, :age, :customerId, :vehicleId)
+                """)
+                .bind("id", id)
+                .bind("licenseNumber", booking.getLicenseNumber())
+                .bind("segment", booking.getSegment().name())
+                .bind("startDate", booking.getStartDate())
+                .bind("endDate", booking.getEndDate())
+                .bind("rentalDays", booking.getRentalDays())
+                .bind("rentalPrice", booking.getRentalPrice())
+                .bind("age", booking.getAge())
+                .bind("customerId", customerId)
+                .bind("vehicleId", vehicleId);
+        spec = booking.getCustomerName() == null
+                ? spec.bindNull("customerName", String.class)
+                : spec.bind("customerName", booking.getCustomerName());
+        return spec.fetch().rowsUpdated().thenReturn(id);
+    }
+
+    /** A row of the vehicle event log, written in the booking transaction like the JPA path writes it. */
+    public Mono<Long> insertVehicleEvent(String payload, String origin) {
+        return client.sql("""
+                    INSERT INTO vehicle_events (payload, origin, created_at)
+                    VALUES (:payload, :origin, CURRENT_TIMESTAMP)
+                """)
+                .bind("payload", payload)
+                .bind("origin", origin)
+                .fetch().rowsUpdated();
+    }
+
+    /** Inserts a zero occupancy row; fails with a duplicate-key error if it already exists. */
+    public Mono<Long> insertOccupancyRow(VehicleSegment segment, LocalDate day) {
+        return client.sql("""
+                    INSERT INTO segment_daily_occupancy (occupancy_date, segment, booked_vehicles, revenue)
+                    VALUES (:day, :segment, 0, 0)
+                """)
+                .bind("day", day)
+                .bind("segment", segment.name())
+                .fetch().rowsUpdated();
+    }
+
+    public Flux<LocalDate> findExistingOccupancyDays(VehicleSegment segment, LocalDate from, LocalDate to) {
+        return client.sql("""
+                    SELECT occupancy_date FROM segment_daily_occupancy
+                    WHERE segment = :segment AND occupancy_date BETWEEN :from AND :to
+                """)
+                .bind("segment", segment.name())
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> row.get("occupancy_date", LocalDate.class))
+                .all();
+    }
+
+    /** Adds one booked vehicle and {@code dailyRevenue} to each day in {@code from..to}. */
+    public Mono<Long> addOccupancy(VehicleSegment segment, LocalDate from, LocalDate to, BigDecimal dailyRevenue) {
+        return client.sql("""
+                    UPDATE segment_daily_occupancy
+                    SET booked_vehicles = booked_vehicles + 1, revenue = revenue + :dailyRevenue
+                    WHERE segment = :segment AND occupancy_date BETWEEN :from AND :to
+                """)
+                .bind("dailyRevenue", dailyRevenue)
+                .bind("segment", segment.name())
+                .bind("from", from)
+                .bind("to", to)
+                .fetch().rowsUpdated();
+    }
+
+    public Mono<Long> addOccupancyRevenue(VehicleSegment segment, LocalDate day, BigDecimal amount) {
+        return client.sql("""
+                    UPDATE segment_daily_occupancy
+                    SET revenue = revenue + :amount
+                    WHERE segment = :segment AND occupancy_date = :day
+                """)
+                .bind("amount", amount)
+                .bind("segment", segment.name())
+                .bind("day", day)
+                .fetch().rowsUpdated();
+    }
+}
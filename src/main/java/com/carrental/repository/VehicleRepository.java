@@ -1,12 +1,72 @@
 package com.carrental.repository;
 
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
 import com.carrental.entity.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, UUID> {
     Optional<Vehicle> findByVin(String vin);
     boolean existsByVin(String vin);
+
+    /** Multi-get projection: responses for the vehicles among {@code ids}, without managed entities. */
+    @Query("""
+        SELECT new com.carrental.dto.VehicleResponse(v.id, v.type, v.segment, v.vin, v.modelYear, v.status, v.version)
+        FROM Vehicle v
+        WHERE v.id IN :ids
+    """)
+    List<VehicleResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /** The whole fleet as responses, for the in-memory fleet snapshot. */
+    @Query("""
+        SELECT new com.carrental.dto.VehicleResponse(v.id, v.type, v.segment, v.vin, v.modelYear, v.status, v.version)
+        FROM Vehicle v
+    """)
+    List<VehicleResponse> findAllResponses();
+
+    /** Multi-get projection by VIN; same shape as {@link #findResponsesByIdIn}. */
+    @Query("""
+        SELECT new com.carrental.dto.VehicleResponse(v.id, v.type, v.segment, v.vin, v.modelYear, v.status, v.version)
+        FROM Vehicle v
+        WHERE v.vin IN :vins
+    """)
+    List<VehicleResponse> findResponsesByVinIn(@Param("vins") Collection<String> vins);
+
+    /**
+     * Status flip without loading the vehicle. Bumps the version like an entity update; a non-null
+     * {@code version} only matches that version. Returns the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Vehicle v SET v.status = :status, v.version = v.version + 1
+        WHERE v.id = :id AND (:version IS NULL OR v.version = :version)
+    """)
+    int updateStatus(@Param("id") UUID id, @Param("status") VehicleStatus status, @Param("version") Long version);
+
+    /** Partial update without loading the vehicle; null arguments keep the column value. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Vehicle v
+        SET v.type = COALESCE(:type, v.type),
+            v.segment = COALESCE(:segment, v.segment),
+            v.modelYear = COALESCE(:modelYear, v.modelYear),
+            v.status = COALESCE(:status, v.status),
+            v.version = v.version + 1
+        WHERE v.id = :id AND (:version IS NULL OR v.version = :version)
+    """)
+    int patch(@Param("id") UUID id,
+              @Param("type") String type,
+              @Param("segment") VehicleSegment segment,
+              @Param("modelYear") Integer modelYear,
+              @Param("status") VehicleStatus status,
+              @Param("version") Long version);
 }
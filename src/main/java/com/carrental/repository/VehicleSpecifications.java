@@ -0,0 +1,61 @@
+package com.carrental.repository;
+
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Vehicle;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vehicle filters, combined into one predicate per search. Equality filters come first, so a
+ * composite index on (status, segment, model_year) or (segment, model_year) serves them.
+ */
+public final class VehicleSpecifications {
+
+    private VehicleSpecifications() {
+    }
+
+    /** Conjunction of the non-null filters of {@code criteria}. */
+    public static Specification<Vehicle> matching(VehicleSearchCriteria criteria) {
+        List<Specification<Vehicle>> filters = new ArrayList<>();
+        if (criteria.status() != null) {
+            filters.add(hasStatus(criteria.status()));
+        }
+        if (criteria.segment() != null) {
+            filters.add(inSegment(criteria.segment()));
+        }
+        if (criteria.type() != null) {
+            filters.add(hasType(criteria.type()));
+        }
+        if (criteria.modelYearFrom() != null) {
+            filters.add(modelYearFrom(criteria.modelYearFrom()));
+        }
+        if (criteria.modelYearTo() != null) {
+            filters.add(modelYearTo(criteria.modelYearTo()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    public static Specification<Vehicle> hasStatus(VehicleStatus status) {
+        return (v, query, cb) -> cb.equal(v.get("status"), status);
+    }
+
+    public static Specification<Vehicle> inSegment(VehicleSegment segment) {
+        return (v, query, cb) -> cb.equal(v.get("segment"), segment);
+    }
+
+    public static Specification<Vehicle> hasType(String type) {
+        return (v, query, cb) -> cb.equal(v.get("type"), type);
+    }
+
+    public static Specification<Vehicle> modelYearFrom(int year) {
+        return (v, query, cb) -> cb.greaterThanOrEqualTo(v.get("modelYear"), year);
+    }
+
+    public static Specification<Vehicle> modelYearTo(int year) {
+        return (v, query, cb) -> cb.lessThanOrEqualTo(v.get("modelYear"), year);
+    }
+}
@@ -0,0 +1,256 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.BookingSubmissionResponse;
+import com.carrental.dto.BookingSubmissionStatus;
+import com.carrental.entity.BookingSubmission;
+import com.carrental.exception.BookingNotFoundException;
+import com.carrental.exception.BookingQueueFullException;
+import com.carrental.repository.BookingSubmissionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Accepts booking requests for later processing on a bounded worker pipeline.
+ * <p>
+ * Every request is journalled as a {@link BookingSubmission} before it is queued. The queue is
+ * bounded: when it is full the request is refused with {@link BookingQueueFullException} instead
+ * of growing without limit. Workers run the regular booking flow: remote verification and
+ * pricing first, then the booking insert and the journal entry's completion in one transaction.
+ * A worker first claims its entry ({@code PENDING} to {@code PROCESSING} in one conditional
+ * update), so an entry queued on several nodes is still run once. An entry left {@code PENDING}
+ * or claimed by a crashed worker has no booking and is replayed.
+ */
+@Service
+@Slf4j
+public class AsyncBookingService {
+
+    private final BookingSubmissionRepository submissionRepository;
+    private final VehicleService vehicleService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate bookingTransaction;
+    private final BlockingQueue<UUID> queue;
+    private final Duration claimTimeout;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public AsyncBookingService(BookingSubmissionRepository submissionRepository,
+                               VehicleService vehicleService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationProperties props) {
+        this.submissionRepository = submissionRepository;
+        this.vehicleService = vehicleService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingTransaction = new TransactionTemplate(transactionManager, BookingLeaseService.TRANSACTION);
+        ApplicationProperties.AsyncBooking cfg = props.getAsyncBooking();
+        this.claimTimeout = cfg.getClaimTimeout();
+        this.queue = new ArrayBlockingQueue<>(cfg.getQueueCapacity());
+        for (int i = 0; i < cfg.getWorkers(); i++) {
+            Thread worker = new Thread(this::runWorker, "booking-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+    }
+
+    public BookingSubmissionResponse submit(BookingRequest req) {
+        BookingSubmission submission = save(req);
+        if (!queue.offer(submission.getId())) {
+            submissionRepository.deleteById(submission.getId());
+            throw queueFull(req);
+        }
+        return toResponse(submission);
+    }
+
+    /**
+     * Journals {@code req} in the current transaction and queues it once that commits, so a caller
+     * can store its own rows with the entry, e.g. an idempotency key. A full queue is refused
+     * before anything is written; should it fill up by the commit, the entry waits for room.
+     */
+    public BookingSubmissionResponse journal(BookingRequest req) {
+        if (queue.remainingCapacity() == 0) {
+            throw queueFull(req);
+        }
+        BookingSubmission submission = save(req);
+        UUID id = submission.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(id);
+            }
+        });
+        return toResponse(submission);
+    }
+
+    public BookingSubmissionResponse getSubmission(UUID requestId) {
+        return submissionRepository.findById(requestId)
+                .map(AsyncBookingService::toResponse)
+                .orElseThrow(() -> new BookingNotFoundException("Booking request not found"));
+    }
+
+    /** Starts the workers, hands back claims a crashed run left behind and replays pending entries. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workers.forEach(Thread::start);
+        releaseStaleClaims();
+        replayPending();
+    }
+
+    /** Picks up entries whose worker died while other nodes kept running. */
+    @Scheduled(fixedDelayString = "${app.async-booking.claim-timeout:PT5M}",
+            initialDelayString = "${app.async-booking.claim-timeout:PT5M}")
+    public void recoverStaleClaims() {
+        if (releaseStaleClaims() > 0) {
+            replayPending();
+        }
+    }
+
+    /**
+     * Queues every pending entry. Every node does this on start, so an entry may be queued more
+     * than once; only the worker that claims it runs it.
+     */
+    public void replayPending() {
+        List<UUID> pending = submissionRepository.findIdsByStatus(BookingSubmissionStatus.PENDING);
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} pending booking submissions", pending.size());
+        }
+        for (UUID id : pending) {
+            if (!enqueue(id)) {
+                return;
+            }
+        }
+    }
+
+    private BookingSubmission save(BookingRequest req) {
+        log.info("Accepting async booking for license={} and VIN={}", req.licenseNumber(), req.vin());
+        return submissionRepository.save(BookingSubmission.builder()
+                .payload(toJson(req))
+                .status(BookingSubmissionStatus.PENDING)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private static BookingQueueFullException queueFull(BookingRequest req) {
+        log.warn("Async booking queue full, rejecting license={}", req.licenseNumber());
+        return new BookingQueueFullException("Booking queue is full, please retry later");
+    }
+
+    /** Waits for room rather than dropping journalled work; false when interrupted. */
+    private boolean enqueue(UUID id) {
+        try {
+            queue.put(id);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int releaseStaleClaims() {
+        Instant before = Instant.now().minus(claimTimeout);
+        Integer released = transactionTemplate.execute(status -> submissionRepository.releaseClaimsBefore(before));
+        if (released != null && released > 0) {
+            log.warn("Released {} booking submissions claimed before {}", released, before);
+        }
+        return released == null ? 0 : released;
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.forEach(Thread::interrupt);
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            UUID id;
+            try {
+                id = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                process(id);
+            } catch (RuntimeException e) {
+                log.error("Async booking submission id={} could not be processed", id, e);
+            }
+        }
+    }
+
+    /**
+     * Claims the entry and runs it. The claim's timestamp guards the completion: if the claim was
+     * released as stale meanwhile, the booking is rolled back rather than made a second time.
+     */
+    void process(UUID id) {
+        Instant claimedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Integer claimed = transactionTemplate.execute(status -> submissionRepository.claim(id, claimedAt));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        try {
+            BookingSubmission submission = submissionRepository.findById(id).orElseThrow();
+            VehicleService.PreparedBooking prepared = vehicleService.prepareBooking(fromJson(submission.getPayload()));
+            bookingTransaction.executeWithoutResult(status -> {
+                UUID bookingId = vehicleService.persistBooking(prepared);
+                if (submissionRepository.finish(id, claimedAt, BookingSubmissionStatus.COMPLETED,
+                        bookingId, null, Instant.now()) == 0) {
+                    log.warn("Async booking submission id={} lost its claim, rolling back bookingId={}", id, bookingId);
+                    status.setRollbackOnly();
+                    return;
+                }
+                log.info("Async booking submission id={} completed bookingId={}", id, bookingId);
+            });
+        } catch (RuntimeException e) {
+            log.error("Async booking submission id={} failed", id, e);
+            fail(id, claimedAt, e);
+        }
+    }
+
+    private void fail(UUID id, Instant claimedAt, RuntimeException cause) {
+        String msg = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+        String error = msg.length() > 512 ? msg.substring(0, 512) : msg;
+        transactionTemplate.executeWithoutResult(status -> submissionRepository.finish(
+                id, claimedAt, BookingSubmissionStatus.FAILED, null, error, Instant.now()));
+    }
+
+    private String toJson(BookingRequest req) {
+        try {
+            return objectMapper.writeValueAsString(req);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to journal booking request", e);
+        }
+    }
+
+    private BookingRequest fromJson(String payload) {
+        try {
+            return objectMapper.readValue(payload, BookingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt booking journal entry", e);
+        }
+    }
+
+    private static BookingSubmissionResponse toResponse(BookingSubmission s) {
+        return new BookingSubmissionResponse(s.getId(), s.getStatus(), s.getBookingId(), s.getError(), s.getCreatedAt());
+    }
+}
@@ -0,0 +1,123 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps {@code bookings} small by moving bookings that ended before the retention horizon into
+ * {@code bookings_archive}. Each chunk is copied and deleted in its own short transaction, with a
+ * pause between chunks, so a large backlog never holds locks for long.
+ * <p>
+ * A run claims the {@code archival} row of {@code booking_leases} and renews the claim before
+ * every chunk, so one node at a time archives; the others skip their run.
+ */
+@Service
+@Slf4j
+public class BookingArchivalService {
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.Archival cfg;
+    private final BookingLeaseService bookingLeases;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** The {@code booking_leases} row claimed by the node that runs archival. */
+    static final String LEASE_KEY = "archival";
+
+    public BookingArchivalService(BookingRepository bookingRepository,
+                                  ArchivedBookingRepository archivedBookingRepository,
+                                  BookingLeaseService bookingLeases,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationProperties props) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.bookingLeases = bookingLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cfg = props.getArchival();
+    }
+
+    @Scheduled(cron = "${app.archival.cron:-}")
+    public void scheduledArchive() {
+        archive(LocalDate.now().minusDays(cfg.getRetentionDays()));
+    }
+
+    /**
+     * Archives bookings that ended before {@code cutoff}, up to {@code max-chunks-per-run} chunks.
+     *
+     * @return number of bookings moved; 0 if another run is in progress, on this node or another
+     */
+    public long archive(LocalDate cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Booking archival already running, skipping");
+            return 0;
+        }
+        try {
+            Optional<BookingLeaseService.Lease> claim = bookingLeases.claim(LEASE_KEY, cfg.getClaimTtl());
+            if (claim.isEmpty()) {
+                log.info("Booking archival running on another node, skipping");
+                return 0;
+            }
+            BookingLeaseService.Lease lease = claim.get();
+            long moved = 0;
+            try {
+                for (int chunk = 0; chunk < cfg.getMaxChunksPerRun(); chunk++) {
+                    Integer count = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                    moved += count;
+                    if (count < cfg.getChunkSize()) {
+                        break;
+                    }
+                    pause();
+                    Optional<BookingLeaseService.Lease> renewed = bookingLeases.renew(lease, cfg.getClaimTtl());
+                    if (renewed.isEmpty()) {
+                        log.warn("Booking archival claim expired and was taken over, stopping after {} bookings", moved);
+                        break;
+                    }
+                    lease = renewed.get();
+                }
+            } finally {
+                bookingLeases.release(lease);
+            }
+            log.info("Archived {} bookings that ended before {}", moved, cutoff);
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int archiveChunk(LocalDate cutoff) {
+        List<UUID> ids = bookingRepository.findIdsEndedBefore(cutoff, PageRequest.of(0, cfg.getChunkSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedBookingRepository.copyFromBookings(ids);
+        int deleted = bookingRepository.deleteByIds(ids);
+        if (copied != ids.size() || deleted != ids.size()) {
+            throw new IllegalStateException("Archival chunk mismatch: selected=" + ids.size()
+                    + " copied=" + copied + " deleted=" + deleted);
+        }
+        return ids.size();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(cfg.getPause().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Booking archival interrupted", e);
+        }
+    }
+}
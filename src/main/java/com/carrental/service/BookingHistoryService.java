@@ -0,0 +1,111 @@
+package com.carrental.service;
+
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.BookingHistoryPage;
+import com.carrental.exception.BookingException;
+import com.carrental.exception.CustomerNotFoundException;
+import com.carrental.exception.VehicleNotFoundException;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Paged booking history per customer and per vehicle, archived bookings included. Rows are read
+ * as projections joined in one select, so a page costs at most four statements whatever its
+ * size: the owner check, the archive count, the page and the count (skipped when the page is not
+ * full). Owners with archived bookings cost one more: both sources are read newest first up to
+ * the end of the page and merged.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingHistoryService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "startDate").and(Sort.by("id"));
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final CustomerRepository customerRepository;
+    private final VehicleRepository vehicleRepository;
+
+    @Transactional(readOnly = true)
+    public BookingHistoryPage customerHistory(UUID customerId, LocalDate from, LocalDate to, int page, int size) {
+        log.debug("Fetching booking history customerId={} from={} to={} page={} size={}", customerId, from, to, page, size);
+        validateRange(from, to);
+        if (!customerRepository.existsById(customerId)) {
+            throw new CustomerNotFoundException("Customer not found with id " + customerId);
+        }
+        return history(pageable -> bookingRepository.findHistoryByCustomer(customerId, from, to, pageable),
+                archivedBookingRepository.countHistoryByCustomer(customerId, from, to),
+                pageable -> archivedBookingRepository.findHistoryByCustomer(customerId, from, to, pageable),
+                page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingHistoryPage vehicleHistory(UUID vehicleId, LocalDate from, LocalDate to, int page, int size) {
+        log.debug("Fetching booking history vehicleId={} from={} to={} page={} size={}", vehicleId, from, to, page, size);
+        validateRange(from, to);
+        if (!vehicleRepository.existsById(vehicleId)) {
+            throw new VehicleNotFoundException("Vehicle not found with id " + vehicleId);
+        }
+        return history(pageable -> bookingRepository.findHistoryByVehicle(vehicleId, from, to, pageable),
+                archivedBookingRepository.countHistoryByVehicle(vehicleId, from, to),
+                pageable -> archivedBookingRepository.findHistoryByVehicle(vehicleId, from, to, pageable),
+                page, size);
+    }
+
+    private static BookingHistoryPage history(Function<Pageable, Page<BookingHistoryItem>> live,
+                                              long archivedTotal,
+                                              Function<Pageable, List<BookingHistoryItem>> archived,
+                                              int page, int size) {
+        if (archivedTotal == 0) {
+            return toPage(live.apply(PageRequest.of(page, size, NEWEST_FIRST)));
+        }
+        int end = (int) Math.min(Integer.MAX_VALUE, (page + 1L) * size);
+        Page<BookingHistoryItem> liveRows = live.apply(PageRequest.of(0, end, NEWEST_FIRST));
+        List<BookingHistoryItem> merged = merge(liveRows.getContent(), archived.apply(PageRequest.of(0, end, NEWEST_FIRST)), end);
+        int start = (int) Math.min(merged.size(), (long) page * size);
+        long total = liveRows.getTotalElements() + archivedTotal;
+        return new BookingHistoryPage(merged.subList(start, Math.min(merged.size(), start + size)), page, size,
+                total, (int) ((total + size - 1) / size));
+    }
+
+    /** The first {@code limit} rows of two lists sorted {@link #NEWEST_FIRST}, live rows first on ties. */
+    private static List<BookingHistoryItem> merge(List<BookingHistoryItem> live, List<BookingHistoryItem> archived, int limit) {
+        List<BookingHistoryItem> merged = new ArrayList<>(Math.min(limit, live.size() + archived.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < live.size() || j < archived.size())) {
+            boolean fromLive = j == archived.size() || (i < live.size()
+                    && !live.get(i).reservationStartDate().isBefore(archived.get(j).reservationStartDate()));
+            merged.add(fromLive ? live.get(i++) : archived.get(j++));
+        }
+        return merged;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BookingException("'to' must be after or equal to 'from'");
+        }
+    }
+
+    private static BookingHistoryPage toPage(Page<BookingHistoryItem> page) {
+        return new BookingHistoryPage(page.getContent(), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
@@ -0,0 +1,69 @@
+package com.carrental.service;
+
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.dto.BookingRequest;
+import com.carrental.entity.Booking;
+import com.carrental.exception.BookingException;
+import com.carrental.exception.InvalidLicenseOwnerNameException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Booking rules shared by the blocking and reactive booking paths.
+ */
+final class BookingRules {
+
+    static final long MAX_RENTAL_DAYS = 30;
+
+    private BookingRules() {
+    }
+
+    static void validateReservationDates(LocalDate start, LocalDate end) {
+        Objects.requireNonNull(start, "reservationStartDate must not be null");
+        Objects.requireNonNull(end, "reservationEndDate must not be null");
+
+        if (end.isBefore(start)) {
+            throw new BookingException("Reservation end date must be after or equal to start date");
+        }
+        long days = calculateInclusiveDays(start, end);
+        if (days > MAX_RENTAL_DAYS) {
+            throw new BookingException("A car cannot be reserved for more than 30 days");
+        }
+    }
+
+    static long calculateInclusiveDays(LocalDate start, LocalDate end) {
+        return ChronoUnit.DAYS.between(start, end) + 1; // inclusive
+    }
+
+    static void verifyLicense(DrivingLicenseClient.LicenseResponse license, BookingRequest req) {
+        if (license.expiryDate() != null && license.expiryDate().isBefore(LocalDate.now())) {
+            throw new BookingException("Driving license must have at least 1 year remaining validity");
+        }
+
+        if (license.ownerName() == null || !license.ownerName().equalsIgnoreCase(req.customerName())) {
+            throw new InvalidLicenseOwnerNameException(String.format(
+                    "Provided name '%s' does not match driving license name", req.customerName()));
+        }
+    }
+
+    static Booking buildBooking(
+            BookingRequest req,
+            String ownerName,
+            long rentalDays,
+            BigDecimal total
+    ) {
+        return Booking.builder()
+                .licenseNumber(req.licenseNumber())
+                .customerName(ownerName)
+                .segment(req.segment())
+                .startDate(req.reservationStartDate())
+                .endDate(req.reservationEndDate())
+                .rentalDays(rentalDays)
+                .rentalPrice(total)
+                .age(req.age())
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.carrental.service;
 
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.cache.SerializedResponseCache;
 import com.carrental.entity.Customer;
 import com.carrental.exception.CustomerNotFoundException;
 import com.carrental.exception.DuplicateCustomerException;
+import com.carrental.exception.PreconditionFailedException;
 import com.carrental.repository.CustomerRepository;
+import com.carrental.dto.CustomerPatchRequest;
 import com.carrental.dto.CustomerRequest;
 import com.carrental.dto.CustomerResponse;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +26,7 @@ import java.util.stream.Collectors;
 public class CustomerService {
 
     private final CustomerRepository repository;
+    private final SerializedResponseCache responseCache;
 
     @Transactional
     public CustomerResponse createCustomer(CustomerRequest req) {
@@ -63,17 +68,41 @@ public class CustomerService {
         return repository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
     }
 
+    /** Full update; {@code expectedVersion} (from If-Match, may be null) must be the current version. */
     @Transactional
-    public CustomerResponse updateCustomer(UUID id, CustomerRequest req) {
+    public CustomerResponse updateCustomer(UUID id, CustomerRequest req, Long expectedVersion) {
         log.info("Updating customer id={}", id);
         Customer existing = repository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id.toString()));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Customer " + id + " has changed, current version is " + existing.getVersion());
+        }
         // Save the updated customer
         Customer saved = repository.save(updateCustomerDetails(req, existing));
+        repository.flush(); // surfaces a lost update here and makes the response carry the new version
         log.debug("Customer updated successfully: id={}", saved.getId());
         return toResponse(saved);
     }
 
+    /** Partial update as a single UPDATE statement, without loading the customer. Returns the new version. */
+    @Transactional
+    public long patchCustomer(UUID id, CustomerPatchRequest req, Long expectedVersion) {
+        log.info("Patching customer id={}", id);
+        int updated = repository.patch(id, req.firstName(), req.lastName(), req.age(), req.phoneNumber(), expectedVersion);
+        if (updated == 0) {
+            if (expectedVersion != null && repository.existsById(id)) {
+                throw new PreconditionFailedException("Customer " + id + " has changed since version " + expectedVersion);
+            }
+            throw new CustomerNotFoundException("Customer not found with id " + id);
+        }
+        long version = expectedVersion != null
+                ? expectedVersion + 1
+                : repository.findVersionById(id).orElseThrow(() -> new CustomerNotFoundException("Customer not found with id " + id));
+        // bulk updates bypass the entity listener
+        responseCache.invalidateAfterCommit(SerializedResponseCache.key(ResponseCacheInvalidator.CUSTOMERS, id), version);
+        return version;
+    }
+
 
     @Transactional
     public boolean deleteCustomer(UUID id) {
@@ -95,7 +124,8 @@ public class CustomerService {
                 c.getAge(),
                 c.getEmail(),
                 c.getDrivingLicenseNumber(),
-                c.getPhoneNumber()
+                c.getPhoneNumber(),
+                c.getVersion() == null ? 0 : c.getVersion()
         );
     }
 
@@ -0,0 +1,222 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.BookingRequest;
+import com.carrental.entity.IdempotencyRecord;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.BookingException;
+import com.carrental.exception.IdempotencyKeyReuseException;
+import com.carrental.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates booking creation by {@code Idempotency-Key}.
+ * <p>
+ * Keys are stored in the {@code idempotency_keys} table. The first request for a key runs the
+ * booking and stores the key in the same transaction as the booking insert. While it runs, the
+ * key sits in an in-memory map, and concurrent duplicates on this node wait on its future instead
+ * of racing it; the map only ever holds executions in flight. Later duplicates, on any node, are
+ * answered from the table. A failed execution is not remembered, so the client may retry it with
+ * the same key.
+ * <p>
+ * A key is bound to its request by a SHA-256 fingerprint of the request as canonical JSON,
+ * properties sorted by name, so the fingerprint survives changes to field order or
+ * {@code toString}.
+ * <p>
+ * An optional prepare step runs before that transaction, so remote calls do not hold a
+ * connection; it is skipped for replays.
+ * <p>
+ * An expired record that was not purged yet is deleted in the transaction that stores the key
+ * again. Asynchronous submissions are deduplicated the same way, with the submission id in place
+ * of the booking id; their fingerprint is taken apart from that of bookings, so a key used for one
+ * is refused for the other.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    /** The booking, or for {@link #submit} the submission, and whether it was stored before. */
+    public record Result(UUID bookingId, boolean replayed) {}
+
+    private record Entry(String requestHash, CompletableFuture<UUID> outcome, Instant expiresAt) {}
+
+    static final int MAX_KEY_LENGTH = 128;
+    private static final String SUBMISSION_SCOPE = "submission:";
+    /** independent of the application's mapper settings, so fingerprints stay stable across them */
+    private static final ObjectWriter CANONICAL_JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(MapperFeature.SORT_CREATOR_PROPERTIES_FIRST) // records are all creator properties
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writer();
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate bookingTransaction;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationProperties props) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingTransaction = new TransactionTemplate(transactionManager, BookingLeaseService.TRANSACTION);
+        this.ttl = props.getIdempotency().getTtl();
+        this.waitTimeout = props.getIdempotency().getWaitTimeout();
+    }
+
+    public Result execute(String key, BookingRequest req, Supplier<UUID> action) {
+        return execute(key, req, () -> null, prepared -> action.get());
+    }
+
+    /** Runs {@code prepare} outside any transaction, then {@code action} together with the key insert. */
+    public <P> Result execute(String key, BookingRequest req, Supplier<P> prepare, Function<P, UUID> action) {
+        return execute(key, hash("", req), prepare, action);
+    }
+
+    /** Runs {@code action}, which journals an asynchronous submission and returns its id, together with the key insert. */
+    public Result submit(String key, BookingRequest req, Supplier<UUID> action) {
+        return execute(key, hash(SUBMISSION_SCOPE, req), () -> null, prepared -> action.get());
+    }
+
+    private <P> Result execute(String key, String requestHash, Supplier<P> prepare, Function<P, UUID> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BookingException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Entry mine = new Entry(requestHash, new CompletableFuture<>(), Instant.now().plus(ttl));
+        Entry existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return new Result(await(key, existing, requestHash), true);
+        }
+        try {
+            return run(key, mine, prepare, action);
+        } finally {
+            inFlight.remove(key, mine); // from now on the table answers
+        }
+    }
+
+    private <P> Result run(String key, Entry entry, Supplier<P> prepare, Function<P, UUID> action) {
+        try {
+            IdempotencyRecord stored = repository.findById(key)
+                    .filter(r -> r.getExpiresAt().isAfter(Instant.now()))
+                    .orElse(null);
+            if (stored != null) {
+                checkSameRequest(key, stored.getRequestHash(), entry.requestHash());
+                entry.outcome().complete(stored.getBookingId());
+                return new Result(stored.getBookingId(), true);
+            }
+            P prepared = prepare.get();
+            UUID bookingId = bookingTransaction.execute(status -> {
+                UUID id = action.apply(prepared);
+                repository.deleteExpired(key, Instant.now());
+                repository.saveAndFlush(IdempotencyRecord.builder()
+                        .key(key)
+                        .requestHash(entry.requestHash())
+                        .bookingId(id)
+                        .createdAt(Instant.now())
+                        .expiresAt(entry.expiresAt())
+                        .build());
+                return id;
+            });
+            entry.outcome().complete(bookingId);
+            return new Result(bookingId, false);
+        } catch (DataIntegrityViolationException e) {
+            // another node committed the same key first; its booking is the answer
+            IdempotencyRecord winner = repository.findById(key)
+                    .filter(r -> r.getExpiresAt().isAfter(Instant.now()))
+                    .orElse(null);
+            if (winner == null) {
+                entry.outcome().completeExceptionally(e);
+                throw e;
+            }
+            try {
+                checkSameRequest(key, winner.getRequestHash(), entry.requestHash());
+            } catch (IdempotencyKeyReuseException reuse) {
+                entry.outcome().completeExceptionally(reuse);
+                throw reuse;
+            }
+            entry.outcome().complete(winner.getBookingId());
+            return new Result(winner.getBookingId(), true);
+        } catch (RuntimeException e) {
+            entry.outcome().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private UUID await(String key, Entry entry, String requestHash) {
+        checkSameRequest(key, entry.requestHash(), requestHash);
+        try {
+            return entry.outcome().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new BookingConflictException("A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Interrupted while waiting for Idempotency-Key " + key);
+        }
+    }
+
+    private static void checkSameRequest(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key " + key + " was already used with a different request");
+        }
+    }
+
+    static String hash(BookingRequest req) {
+        return hash("", req);
+    }
+
+    private static String hash(String scope, BookingRequest req) {
+        try {
+            byte[] json = CANONICAL_JSON.writeValueAsBytes(req);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint booking request", e);
+        }
+    }
+
+    /** Executions running on this node right now. */
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        Integer removed = transactionTemplate.execute(status -> repository.deleteExpired(now));
+        log.debug("Purged {} expired idempotency keys", removed);
+    }
+}
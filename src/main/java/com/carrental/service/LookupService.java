@@ -0,0 +1,115 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.BookingLookupRequest;
+import com.carrental.dto.BookingResponse;
+import com.carrental.dto.CustomerLookupRequest;
+import com.carrental.dto.CustomerResponse;
+import com.carrental.dto.LookupResponse;
+import com.carrental.dto.VehicleLookupRequest;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Multi-get of vehicles, customers and bookings. Keys are resolved with IN queries of at most
+ * {@code app.lookup.chunk-size} keys, all in one read-only transaction, into response
+ * projections rather than managed entities.
+ */
+@Service
+@Slf4j
+public class LookupService {
+
+    private final VehicleRepository vehicleRepository;
+    private final CustomerRepository customerRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final int chunkSize;
+
+    public LookupService(VehicleRepository vehicleRepository,
+                         CustomerRepository customerRepository,
+                         BookingRepository bookingRepository,
+                         ArchivedBookingRepository archivedBookingRepository,
+                         ApplicationProperties props) {
+        this.vehicleRepository = vehicleRepository;
+        this.customerRepository = customerRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.chunkSize = props.getLookup().getChunkSize();
+    }
+
+    @Transactional(readOnly = true)
+    public LookupResponse<VehicleResponse> vehicles(VehicleLookupRequest request) {
+        if (request.ids() != null) {
+            log.debug("Looking up {} vehicles by id", request.ids().size());
+            return respond(request.ids(), load(request.ids(), vehicleRepository::findResponsesByIdIn, VehicleResponse::id));
+        }
+        log.debug("Looking up {} vehicles by VIN", request.vins().size());
+        return respond(request.vins(), load(request.vins(), vehicleRepository::findResponsesByVinIn, VehicleResponse::vin));
+    }
+
+    @Transactional(readOnly = true)
+    public LookupResponse<CustomerResponse> customers(CustomerLookupRequest request) {
+        if (request.ids() != null) {
+            log.debug("Looking up {} customers by id", request.ids().size());
+            return respond(request.ids(), load(request.ids(), customerRepository::findResponsesByIdIn, CustomerResponse::id));
+        }
+        log.debug("Looking up {} customers by licence number", request.licenseNumbers().size());
+        return respond(request.licenseNumbers(), load(request.licenseNumbers(),
+                customerRepository::findResponsesByDrivingLicenseNumberIn, CustomerResponse::drivingLicenseNumber));
+    }
+
+    /** Live bookings first; ids not found there are looked up in the archive. */
+    @Transactional(readOnly = true)
+    public LookupResponse<BookingResponse> bookings(BookingLookupRequest request) {
+        log.debug("Looking up {} bookings by id", request.ids().size());
+        Map<UUID, BookingResponse> found = load(request.ids(), bookingRepository::findResponsesByIdIn, BookingResponse::bookingId);
+        List<UUID> notLive = request.ids().stream().filter(id -> !found.containsKey(id)).toList();
+        if (!notLive.isEmpty()) {
+            found.putAll(load(notLive, archivedBookingRepository::findResponsesByIdIn, BookingResponse::bookingId));
+        }
+        return respond(request.ids(), found);
+    }
+
+    /** Runs {@code query} once per chunk of the distinct keys and indexes the rows by key. */
+    private <K, T> Map<K, T> load(Collection<K> keys, Function<Collection<K>, List<T>> query, Function<T, K> keyOf) {
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, T> found = new HashMap<>(Math.max(16, distinct.size() * 2));
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<K> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            for (T row : query.apply(chunk)) {
+                found.put(keyOf.apply(row), row);
+            }
+        }
+        return found;
+    }
+
+    /** Found items and missing keys, both in request order and without repeats. */
+    private static <K, T> LookupResponse<T> respond(Collection<K> keys, Map<K, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (K key : new LinkedHashSet<>(keys)) {
+            T item = found.get(key);
+            if (item != null) {
+                items.add(item);
+            } else {
+                missing.add(String.valueOf(key));
+            }
+        }
+        return new LookupResponse<>(items, missing);
+    }
+}
@@ -0,0 +1,252 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.OccupancyResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.Booking;
+import com.carrental.entity.SegmentDailyOccupancy;
+import com.carrental.exception.BookingException;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.OccupancyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Daily occupancy and revenue per segment, kept in {@code segment_daily_occupancy}.
+ * <p>
+ * {@link #recordBooking} runs inside the booking transaction and adds the booking to each of
+ * its days with two bulk updates. A booking's revenue is spread evenly over its days, with the
+ * remainder cents on the last day, so incremental updates and {@link #rebuild} agree exactly.
+ * Rows are never deleted, so a booking always finds the rows it created before its transaction.
+ */
+@Service
+@Slf4j
+public class OccupancyService {
+
+    private static final String INSERT_ZERO_ROW = """
+        INSERT INTO segment_daily_occupancy (occupancy_date, segment, booked_vehicles, revenue)
+        VALUES (?, ?, 0, 0)
+    """;
+
+    private final OccupancyRepository occupancyRepository;
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ApplicationProperties.Occupancy cfg;
+
+    public OccupancyService(OccupancyRepository occupancyRepository,
+                            BookingRepository bookingRepository,
+                            ArchivedBookingRepository archivedBookingRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationProperties props) {
+        this.occupancyRepository = occupancyRepository;
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.cfg = props.getOccupancy();
+    }
+
+    /**
+     * Creates the missing aggregate rows for a booking that is about to be written. Called before
+     * the booking transaction, so the rows it locks are normally there already.
+     */
+    public void prepareDays(VehicleSegment segment, LocalDate start, LocalDate end) {
+        ensureRows(segment, start, end);
+    }
+
+    /** Adds {@code booking} to the aggregates; must run in the transaction that saves it. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBooking(Booking booking) {
+        VehicleSegment segment = booking.getSegment();
+        LocalDate start = booking.getStartDate();
+        LocalDate end = booking.getEndDate();
+        ensureRows(segment, start, end); // normally a no-op after prepareDays
+
+        BigDecimal[] split = splitRevenue(booking.getRentalPrice(), booking.getRentalDays());
+        int updated = occupancyRepository.addBooking(segment, start, end, split[0]);
+        checkAllDays(updated, start, end);
+        if (split[1].signum() != 0) {
+            occupancyRepository.addRevenue(segment, end, split[1]);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<OccupancyResponse> getOccupancy(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BookingException("'to' must be after or equal to 'from'");
+        }
+        return occupancyRepository.findRange(from, to).stream()
+                .map(o -> new OccupancyResponse(o.getDay(), o.getSegment(), o.getBookedVehicles(), o.getRevenue()))
+                .toList();
+    }
+
+    /**
+     * Recomputes the aggregates for {@code from..to}, at most {@code max-rebuild-days}, from live and
+     * archived bookings. The range is cut into chunks of {@code rebuild-chunk-days}; each chunk is
+     * rewritten in its own transaction, and chunks run in parallel. A chunk locks its aggregate rows
+     * before reading the bookings, so a booking recorded meanwhile either commits first and is
+     * counted, or waits for the chunk and is added on top of it. Existing rows are overwritten in
+     * place, zero included, and never deleted, so the waiting booking still finds its rows.
+     *
+     * @return number of aggregate rows written
+     */
+    public long rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BookingException("'to' must be after or equal to 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= cfg.getMaxRebuildDays()) {
+            throw new BookingException("A rebuild covers at most " + cfg.getMaxRebuildDays() + " days");
+        }
+        log.info("Rebuilding occupancy aggregates from={} to={}", from, to);
+        ExecutorService pool = Executors.newFixedThreadPool(cfg.getRebuildParallelism());
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (LocalDate chunkStart = from; !chunkStart.isAfter(to); chunkStart = chunkStart.plusDays(cfg.getRebuildChunkDays())) {
+                LocalDate start = chunkStart;
+                LocalDate end = min(to, chunkStart.plusDays(cfg.getRebuildChunkDays() - 1L));
+                chunks.add(pool.submit(() -> chunkTransaction.execute(status -> rebuildChunk(start, end))));
+            }
+            long rows = 0;
+            for (Future<Integer> chunk : chunks) {
+                rows += chunk.get();
+            }
+            log.info("Rebuilt occupancy aggregates from={} to={} rows={}", from, to, rows);
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Occupancy rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Occupancy rebuild failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Nightly rebuild of the recent window; disabled unless {@code app.occupancy.rebuild-cron} is set. */
+    @Scheduled(cron = "${app.occupancy.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(cfg.getScheduledRebuildDays()), today.plusDays(cfg.getScheduledRebuildDays()));
+    }
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        List<SegmentDailyOccupancy> existing = occupancyRepository.lockRange(from, to);
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<VehicleSegment, long[]> booked = new EnumMap<>(VehicleSegment.class);
+        Map<VehicleSegment, long[]> revenue = new EnumMap<>(VehicleSegment.class);
+        List<BookingRepository.OccupancySource> sources = new ArrayList<>(bookingRepository.findOccupancySources(from, to));
+        sources.addAll(archivedBookingRepository.findOccupancySources(from, to));
+        for (BookingRepository.OccupancySource b : sources) {
+            long[] split = splitCents(toCents(b.getRentalPrice()), b.getRentalDays());
+            long[] bookedDays = booked.computeIfAbsent(b.getSegment(), s -> new long[days]);
+            long[] revenueDays = revenue.computeIfAbsent(b.getSegment(), s -> new long[days]);
+            LocalDate first = max(from, b.getStartDate());
+            LocalDate last = min(to, b.getEndDate());
+            for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                int i = (int) ChronoUnit.DAYS.between(from, d);
+                bookedDays[i]++;
+                revenueDays[i] += split[0] + (d.equals(b.getEndDate()) ? split[1] : 0);
+            }
+        }
+
+        // the locked rows are managed and written back at commit; only days without a row are inserted
+        Map<VehicleSegment, boolean[]> written = new EnumMap<>(VehicleSegment.class);
+        for (SegmentDailyOccupancy row : existing) {
+            int i = (int) ChronoUnit.DAYS.between(from, row.getDay());
+            long[] counts = booked.get(row.getSegment());
+            row.setBookedVehicles(counts == null ? 0 : counts[i]);
+            row.setRevenue(fromCents(counts == null ? 0 : revenue.get(row.getSegment())[i]));
+            written.computeIfAbsent(row.getSegment(), s -> new boolean[days])[i] = true;
+        }
+        List<SegmentDailyOccupancy> missing = new ArrayList<>();
+        booked.forEach((segment, counts) -> {
+            long[] cents = revenue.get(segment);
+            boolean[] present = written.getOrDefault(segment, new boolean[days]);
+            for (int i = 0; i < days; i++) {
+                if (counts[i] > 0 && !present[i]) {
+                    missing.add(new SegmentDailyOccupancy(from.plusDays(i), segment, counts[i], fromCents(cents[i])));
+                }
+            }
+        });
+        occupancyRepository.saveAll(missing);
+        return existing.size() + missing.size();
+    }
+
+    /**
+     * Fails the booking when one of its days had no row to add to, rather than committing it
+     * without counting it there.
+     */
+    static void checkAllDays(long updated, LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (updated != days) {
+            throw new IllegalStateException("Occupancy rows missing for " + (days - updated) + " of the "
+                    + days + " days from " + start + " to " + end);
+        }
+    }
+
+    /**
+     * Creates missing zero rows in the caller's transaction, if any. A row inserted concurrently
+     * fails only that statement on H2 and MySQL, not the transaction, and is then just used.
+     */
+    private void ensureRows(VehicleSegment segment, LocalDate start, LocalDate end) {
+        Set<LocalDate> existing = new HashSet<>(occupancyRepository.findExistingDays(segment, start, end));
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            if (existing.contains(d)) {
+                continue;
+            }
+            try {
+                jdbcTemplate.update(INSERT_ZERO_ROW, d, segment.name());
+            } catch (DuplicateKeyException e) {
+                log.debug("Occupancy row day={} segment={} created concurrently", d, segment);
+            }
+        }
+    }
+
+    /** @return {per-day amount, extra amount for the last day} */
+    static BigDecimal[] splitRevenue(BigDecimal total, long days) {
+        long[] cents = splitCents(toCents(total), days);
+        return new BigDecimal[]{fromCents(cents[0]), fromCents(cents[1])};
+    }
+
+    private static long[] splitCents(long totalCents, long days) {
+        long perDay = Math.floorDiv(totalCents, days);
+        return new long[]{perDay, totalCents - perDay * days};
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
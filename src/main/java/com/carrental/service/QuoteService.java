@@ -0,0 +1,51 @@
+package com.carrental.service;
+
+import com.carrental.dto.QuoteResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.exception.BookingException;
+import com.carrental.pricing.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Prices a rental with the same rules as booking creation, from the in-memory rate calendars
+ * and without touching the database or the driving license service.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuoteService {
+
+    private final PricingEngine pricingEngine;
+
+    public QuoteResponse quote(VehicleSegment segment, LocalDate from, LocalDate to) {
+        BookingRules.validateReservationDates(from, to);
+        long rentalDays = BookingRules.calculateInclusiveDays(from, to);
+        return price(segment, from, to, rentalDays);
+    }
+
+    public List<QuoteResponse> quote(Collection<VehicleSegment> segments, LocalDate from, LocalDate to) {
+        BookingRules.validateReservationDates(from, to);
+        long rentalDays = BookingRules.calculateInclusiveDays(from, to);
+        List<QuoteResponse> quotes = new ArrayList<>(segments.size());
+        for (VehicleSegment segment : segments) {
+            quotes.add(price(segment, from, to, rentalDays));
+        }
+        return quotes;
+    }
+
+    private QuoteResponse price(VehicleSegment segment, LocalDate from, LocalDate to, long rentalDays) {
+        BigDecimal total = pricingEngine.price(segment, from, to)
+                .orElseThrow(() -> new BookingException("Rate not found for category: " + segment));
+        BigDecimal averageRate = total.divide(BigDecimal.valueOf(rentalDays), 2, RoundingMode.HALF_UP);
+        return new QuoteResponse(segment, from, to, rentalDays, averageRate, total);
+    }
+}
@@ -0,0 +1,131 @@
+package com.carrental.service;
+
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.VehicleEvent;
+import com.carrental.entity.Booking;
+import com.carrental.events.VehicleEventBroadcaster;
+import com.carrental.events.VehicleEventLog;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.BookingException;
+import com.carrental.exception.CustomerNotFoundException;
+import com.carrental.exception.VehicleBusyException;
+import com.carrental.exception.VehicleNotFoundException;
+import com.carrental.pricing.PricingEngine;
+import com.carrental.repository.ReactiveBookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link VehicleService#createBooking(BookingRequest)}.
+ * <p>
+ * The license lookup, the pricing and the customer/vehicle reads are started together and
+ * joined; only the overlap check and the insert run inside the R2DBC transaction. No thread is
+ * parked while waiting on the remote services or the database. The booking event is logged in
+ * that transaction and streamed here once it commits, as on the JPA path.
+ * <p>
+ * The transaction takes the vehicle's lease first, the same row {@link BookingLeaseService}
+ * locks on the JPA path, so bookings of one vehicle are serialized across both paths and every
+ * node; it runs at READ COMMITTED, so the overlap check sees what the previous holder committed.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookingService {
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final DrivingLicenseClient drivingLicenseClient;
+    private final PricingEngine pricingEngine;
+    private final TransactionalOperator bookingTransactionalOperator;
+    private final BookingLeaseService bookingLeases;
+    private final VehicleEventLog eventLog;
+    private final VehicleEventBroadcaster eventBroadcaster;
+
+    public Mono<UUID> createBooking(BookingRequest req) {
+        return Mono.defer(() -> {
+            log.info("Creating booking (reactive) for license={} and VIN={}", req.licenseNumber(), req.vin());
+            BookingRules.validateReservationDates(req.reservationStartDate(), req.reservationEndDate());
+            long rentalDays = BookingRules.calculateInclusiveDays(req.reservationStartDate(), req.reservationEndDate());
+
+            Mono<DrivingLicenseClient.LicenseResponse> license = drivingLicenseClient.licenseDetails(req.licenseNumber())
+                    .switchIfEmpty(Mono.error(() -> new BookingException("Driving license not found: " + req.licenseNumber())))
+                    .doOnNext(l -> BookingRules.verifyLicense(l, req));
+            Mono<UUID> customerId = bookingRepository.findCustomerIdByDrivingLicenseNumber(req.licenseNumber())
+                    .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException("Customer not found for license " + req.licenseNumber())));
+            Mono<UUID> vehicleId = bookingRepository.findVehicleIdByVin(req.vin())
+                    .switchIfEmpty(Mono.error(() -> new VehicleNotFoundException("Vehicle not found with VIN " + req.vin())));
+            Mono<BigDecimal> price = pricingEngine.priceAsync(req.segment(), req.reservationStartDate(), req.reservationEndDate())
+                    .switchIfEmpty(Mono.error(() -> new BookingException("Rate not found for category: " + req.segment())));
+
+            return Mono.zip(license, customerId, vehicleId, price)
+                    .flatMap(t -> {
+                        BigDecimal total = t.getT4();
+                        Booking booking = BookingRules.buildBooking(req, t.getT1().ownerName(), rentalDays, total);
+                        return persist(req, booking, t.getT2(), t.getT3());
+                    })
+                    .doOnNext(id -> log.info("Booking created successfully with id={} for VIN={}", id, req.vin()));
+        });
+    }
+
+    private Mono<UUID> persist(BookingRequest req, Booking booking, UUID customerId, UUID vehicleId) {
+        VehicleEvent event = VehicleEvent.booked(vehicleId, req.vin(), booking.getStartDate(), booking.getEndDate());
+        Mono<UUID> insert = Mono.defer(() -> {
+            BookingLeaseService.Lease lease = bookingLeases.newLease(BookingLeaseService.vehicleKey(req.vin()));
+            return takeLease(lease)
+                    .then(bookingRepository.existsOverlappingBookingForVehicle(vehicleId, req.reservationStartDate(), req.reservationEndDate()))
+                    .flatMap(overlap -> overlap
+                            ? Mono.error(new BookingConflictException("Vehicle with VIN " + req.vin() + " is not available for the requested dates"))
+                            : bookingRepository.insert(booking, customerId, vehicleId)
+                                    .flatMap(id -> recordOccupancy(booking)
+                                            .then(bookingRepository.insertVehicleEvent(eventLog.payload(event), eventLog.origin()))
+                                            .thenReturn(id)))
+                    .flatMap(id -> Mono.fromRunnable(() -> bookingLeases.checkHeld(lease)).thenReturn(id));
+        });
+        return ensureOccupancyRows(booking)
+                .then(bookingTransactionalOperator.transactional(insert))
+                .doOnNext(id -> eventBroadcaster.publish(event));
+    }
+
+    /** Reactive counterpart of {@link BookingLeaseService#acquire}; runs first in the booking transaction. */
+    private Mono<Long> takeLease(BookingLeaseService.Lease lease) {
+        return bookingRepository.takeLease(lease.key(), lease.holder(), lease.expiresAt(), bookingLeases.waitTimeout())
+                .onErrorMap(e -> e instanceof TransientDataAccessException || e instanceof DataIntegrityViolationException, e -> {
+                    log.info("Lease {} is held elsewhere: {}", lease.key(), e.getMessage());
+                    return new VehicleBusyException("Another booking for " + lease.key() + " is in progress, retry shortly");
+                });
+    }
+
+    /** Reactive counterpart of {@link OccupancyService#recordBooking}; runs inside the booking transaction. */
+    private Mono<Void> recordOccupancy(Booking booking) {
+        BigDecimal[] split = OccupancyService.splitRevenue(booking.getRentalPrice(), booking.getRentalDays());
+        Mono<Long> days = bookingRepository.addOccupancy(booking.getSegment(), booking.getStartDate(), booking.getEndDate(), split[0])
+                .doOnNext(updated -> OccupancyService.checkAllDays(updated, booking.getStartDate(), booking.getEndDate()));
+        Mono<Long> remainder = split[1].signum() == 0
+                ? Mono.empty()
+                : bookingRepository.addOccupancyRevenue(booking.getSegment(), booking.getEndDate(), split[1]);
+        return days.then(remainder).then();
+    }
+
+    /** Creates missing zero rows outside the booking transaction; a concurrent insert of the same row is ignored. */
+    private Mono<Void> ensureOccupancyRows(Booking booking) {
+        return bookingRepository.findExistingOccupancyDays(booking.getSegment(), booking.getStartDate(), booking.getEndDate())
+                .collect(Collectors.toSet())
+                .flatMapMany(existing -> Flux.fromStream(booking.getStartDate().datesUntil(booking.getEndDate().plusDays(1)))
+                        .filter(day -> !existing.contains(day)))
+                .concatMap(day -> bookingRepository.insertOccupancyRow(booking.getSegment(), day)
+                        .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty()))
+                .then();
+    }
+}
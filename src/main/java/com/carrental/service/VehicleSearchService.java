@@ -0,0 +1,135 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSearchPage;
+import com.carrental.entity.Vehicle;
+import com.carrental.fleet.FleetCatalog;
+import com.carrental.fleet.FleetSnapshot;
+import com.carrental.repository.VehicleSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtered, paged vehicle search, ordered by id. With the fleet snapshot enabled it is one scan
+ * of the in-memory {@link FleetSnapshot}, with an exact total and no database access.
+ * <p>
+ * Otherwise rows are selected as {@link VehicleResponse} projections, and the total is only
+ * counted when the page does not reveal it: a page shorter than its size ends the result, so its
+ * total is exact and cached. Otherwise the total of the same filters is reused for
+ * {@code count-ttl}, so paging through a result costs one COUNT, not one per page. Totals may
+ * therefore lag writes by up to that long.
+ */
+@Service
+@Slf4j
+public class VehicleSearchService {
+
+    private record CachedCount(long total, long expiresAt) {}
+
+    private final EntityManager entityManager;
+    private final FleetCatalog fleet;
+    private final TransactionTemplate readOnly;
+    private final Map<VehicleSearchCriteria, CachedCount> counts = new ConcurrentHashMap<>();
+    private final long countTtlNanos;
+    private final int maxCachedCounts;
+
+    public VehicleSearchService(EntityManager entityManager, FleetCatalog fleet,
+                                PlatformTransactionManager transactionManager, ApplicationProperties props) {
+        this.entityManager = entityManager;
+        this.fleet = fleet;
+        // a snapshot search must not take a connection, so the transaction is only opened for SQL
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.countTtlNanos = props.getVehicleSearch().getCountTtl().toNanos();
+        this.maxCachedCounts = props.getVehicleSearch().getMaxCachedCounts();
+    }
+
+    public VehicleSearchPage search(VehicleSearchCriteria criteria, int page, int size) {
+        log.debug("Searching vehicles {} page={} size={}", criteria, page, size);
+        if (fleet.isEnabled()) {
+            return fleet.snapshot().search(criteria, page, size);
+        }
+        return readOnly.execute(status -> searchDatabase(criteria, page, size));
+    }
+
+    private VehicleSearchPage searchDatabase(VehicleSearchCriteria criteria, int page, int size) {
+        Specification<Vehicle> filters = VehicleSpecifications.matching(criteria);
+        long offset = (long) page * size;
+        List<VehicleResponse> items = page(filters, offset, size);
+        long total;
+        if (items.size() < size && (!items.isEmpty() || page == 0)) {
+            total = offset + items.size();
+            cacheCount(criteria, total);
+        } else {
+            total = cachedCount(criteria);
+            if (total < 0) {
+                total = count(filters);
+                cacheCount(criteria, total);
+            }
+        }
+        return new VehicleSearchPage(items, page, size, total, (int) ((total + size - 1) / size));
+    }
+
+    int cachedCounts() {
+        return counts.size();
+    }
+
+    private List<VehicleResponse> page(Specification<Vehicle> filters, long offset, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VehicleResponse> query = cb.createQuery(VehicleResponse.class);
+        Root<Vehicle> v = query.from(Vehicle.class);
+        query.select(cb.construct(VehicleResponse.class, v.get("id"), v.get("type"), v.get("segment"),
+                v.get("vin"), v.get("modelYear"), v.get("status"), v.get("version")));
+        where(query, v, cb, filters);
+        query.orderBy(cb.asc(v.get("id")));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) Math.min(offset, Integer.MAX_VALUE))
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private long count(Specification<Vehicle> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Vehicle> v = query.from(Vehicle.class);
+        query.select(cb.count(v));
+        where(query, v, cb, filters);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Root<Vehicle> v, CriteriaBuilder cb, Specification<Vehicle> filters) {
+        Predicate predicate = filters.toPredicate(v, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    /** the cached total, or -1 when there is none or it expired */
+    private long cachedCount(VehicleSearchCriteria criteria) {
+        CachedCount cached = counts.get(criteria);
+        return cached != null && cached.expiresAt() - System.nanoTime() > 0 ? cached.total() : -1;
+    }
+
+    private void cacheCount(VehicleSearchCriteria criteria, long total) {
+        long now = System.nanoTime();
+        if (counts.size() >= maxCachedCounts) {
+            counts.values().removeIf(cached -> cached.expiresAt() - now <= 0);
+        }
+        if (counts.size() < maxCachedCounts || counts.containsKey(criteria)) {
+            counts.put(criteria, new CachedCount(total, now + countTtlNanos));
+        }
+    }
+}
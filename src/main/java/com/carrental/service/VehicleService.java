@@ -1,27 +1,30 @@
 package com.carrental.service;
 
 
-import com.carrental.client.CarRentalPricingClient;
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.cache.SerializedResponseCache;
 import com.carrental.client.DrivingLicenseClient;
-import com.carrental.client.dto.RateResponse;
 import com.carrental.dto.*;
 import com.carrental.entity.Booking;
 import com.carrental.entity.Customer;
 import com.carrental.entity.Vehicle;
 import com.carrental.exception.*;
+import com.carrental.fleet.FleetCatalog;
+import com.carrental.pricing.PricingEngine;
+import com.carrental.repository.ArchivedBookingRepository;
 import com.carrental.repository.BookingRepository;
 import com.carrental.repository.CustomerRepository;
 import com.carrental.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -35,7 +38,14 @@ public class VehicleService {
     private final BookingRepository carBookingRepository;
     private final CustomerRepository  customerRepository;
     private final DrivingLicenseClient drivingLicenseClient;
-    private final CarRentalPricingClient carRentalPricingClient;
+    private final PricingEngine pricingEngine;
+    private final OccupancyService occupancyService;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final SerializedResponseCache responseCache;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingLeaseService bookingLeases;
+    private final ApplicationEventPublisher events;
+    private final FleetCatalog fleet;
 
     @Transactional
     public VehicleResponse createVehicle(VehicleRequest req) {
@@ -51,8 +61,11 @@ public class VehicleService {
                 .status(req.status())
                 .build();
         Vehicle saved = repository.save(v);
+        bookingLeases.register(BookingLeaseService.vehicleKey(saved.getVin()));
         log.debug("Vehicle created id={}", saved.getId());
-        return toResponse(saved);
+        VehicleResponse created = toResponse(saved);
+        events.publishEvent(VehicleEvent.of(VehicleEventType.VEHICLE_CREATED, created));
+        return created;
     }
 
     @Transactional(readOnly = true)
@@ -63,18 +76,28 @@ public class VehicleService {
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found with id " + id));
     }
 
-    @Transactional(readOnly = true)
+    /** Served from the fleet snapshot when it is enabled, without touching the database. */
     public List<VehicleResponse> listVehicles() {
         log.debug("Listing vehicles");
+        if (fleet.isEnabled()) {
+            return fleet.snapshot().all();
+        }
         return repository.findAll().stream().map(VehicleService::toResponse).collect(Collectors.toList());
     }
 
+    /**
+     * Full update. {@code expectedVersion} (from If-Match, may be null) must be the current version;
+     * a concurrent writer between the read and the flush fails with an optimistic-lock exception.
+     */
     @Transactional
-    public VehicleResponse updateVehicle(UUID id, VehicleRequest req) {
+    public VehicleResponse updateVehicle(UUID id, VehicleRequest req, Long expectedVersion) {
         log.info("Updating vehicle id={}", id);
 
         Vehicle existing = repository.findById(id)
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found with id " + id));
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new PreconditionFailedException("Vehicle " + id + " has changed, current version is " + existing.getVersion());
+        }
 
         // Check VIN if it has changed
         if (!req.vin().equals(existing.getVin()) && repository.existsByVin(req.vin())) {
@@ -82,9 +105,41 @@ public class VehicleService {
         }
 
         Vehicle saved = repository.save(updateVehicleDetails(req,  existing));
+        repository.flush(); // surfaces a lost update here and makes the response carry the new version
         log.debug("Vehicle updated successfully: id={}", saved.getId());
 
-        return toResponse(saved);
+        VehicleResponse updated = toResponse(saved);
+        events.publishEvent(VehicleEvent.of(VehicleEventType.VEHICLE_UPDATED, updated));
+        return updated;
+    }
+
+    /**
+     * Partial update as a single UPDATE statement, without loading the vehicle. Bulk updates bypass
+     * the entity listeners, so the cached body and the fleet snapshot are refreshed here. Returns
+     * the new version.
+     */
+    @Transactional
+    public long patchVehicle(UUID id, VehiclePatchRequest req, Long expectedVersion) {
+        log.info("Patching vehicle id={}", id);
+        int updated = req.isStatusOnly()
+                ? repository.updateStatus(id, req.status(), expectedVersion)
+                : repository.patch(id, req.type(), req.segment(), req.modelYear(), req.status(), expectedVersion);
+        if (updated == 0) {
+            if (expectedVersion != null && repository.existsById(id)) {
+                throw new PreconditionFailedException("Vehicle " + id + " has changed since version " + expectedVersion);
+            }
+            throw new VehicleNotFoundException("Vehicle not found with id " + id);
+        }
+        // read back on this transaction's connection, for the fleet snapshot to patch in at commit
+        VehicleResponse patched = repository.findResponsesByIdIn(List.of(id)).stream().findFirst()
+                .orElseThrow(() -> new VehicleNotFoundException("Vehicle not found with id " + id));
+        long version = patched.version();
+        responseCache.invalidateAfterCommit(SerializedResponseCache.key(ResponseCacheInvalidator.VEHICLES, id), version);
+        fleet.patchAfterCommit(patched);
+        events.publishEvent(new VehicleEvent(
+                req.isStatusOnly() ? VehicleEventType.STATUS_CHANGED : VehicleEventType.VEHICLE_UPDATED,
+                id, null, req.status(), version, null, null));
+        return version;
     }
 
 
@@ -95,15 +150,30 @@ public class VehicleService {
             throw new VehicleNotFoundException("Vehicle not found with id " + id);
         }
         repository.deleteById(id);
+        events.publishEvent(VehicleEvent.deleted(id));
         log.debug("Deleted vehicle id={}", id);
     }
 
 
-    @Transactional
+    /** A booking request that passed remote licence verification and pricing; nothing is stored yet. */
+    public record PreparedBooking(BookingRequest request, String ownerName, long rentalDays, BigDecimal total) {}
+
+    /**
+     * Books in two phases: remote verification and pricing run first, without a transaction, and
+     * only then a short write transaction checks availability and stores the booking. A pool
+     * connection is therefore never held while waiting on the licence or pricing services.
+     */
     public UUID createBooking(BookingRequest req) {
+        PreparedBooking prepared = prepareBooking(req);
+        return new TransactionTemplate(transactionTemplate.getTransactionManager(), BookingLeaseService.TRANSACTION)
+                .execute(status -> persistBooking(prepared));
+    }
+
+    /** Validation, licence check and pricing. Must not be called inside a transaction that holds a connection. */
+    public PreparedBooking prepareBooking(BookingRequest req) {
         log.info("Creating booking for license={} and VIN={}", req.licenseNumber(), req.vin());
-        validateReservationDates(req.reservationStartDate(), req.reservationEndDate());
-        long rentalDays = calculateInclusiveDays(req.reservationStartDate(), req.reservationEndDate());
+        BookingRules.validateReservationDates(req.reservationStartDate(), req.reservationEndDate());
+        long rentalDays = BookingRules.calculateInclusiveDays(req.reservationStartDate(), req.reservationEndDate());
 
         // 2. call driving license API
         Optional<DrivingLicenseClient.LicenseResponse> licenseOpt =
@@ -116,13 +186,25 @@ public class VehicleService {
 
         var license = licenseOpt.get();
 
-        if (license.expiryDate() != null && license.expiryDate().isBefore(LocalDate.now())) {
-            throw new BookingException("Driving license must have at least 1 year remaining validity");
-        }
+        BookingRules.verifyLicense(license, req);
+
+        // price the rental from the segment's rate calendar
+        BigDecimal total = pricingEngine.price(req.segment(), req.reservationStartDate(), req.reservationEndDate())
+                .orElseThrow(() -> new BookingException("Rate not found for category: " + req.segment()));
+
+        occupancyService.prepareDays(req.segment(), req.reservationStartDate(), req.reservationEndDate());
+        return new PreparedBooking(req, license.ownerName(), rentalDays, total);
+    }
 
-        if (license.ownerName() == null || !license.ownerName().equalsIgnoreCase(req.customerName())) {
-            throw new InvalidLicenseOwnerNameException(String.format(
-                    "Provided name '%s' does not match driving license name", req.customerName()));        }
+    /**
+     * The database half of a booking: lookups, availability check and insert. The vehicle's lease
+     * is taken first, so concurrent bookings of one vehicle on any node run one at a time. Callers
+     * that open the transaction themselves use {@link BookingLeaseService#TRANSACTION}.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public UUID persistBooking(PreparedBooking prepared) {
+        BookingRequest req = prepared.request();
+        bookingLeases.acquire(BookingLeaseService.vehicleKey(req.vin()));
 
         // Fetch customer by driving license
         Customer customer = customerRepository
@@ -142,39 +224,19 @@ public class VehicleService {
             throw new BookingConflictException("Vehicle with VIN " + req.vin() +" is not available for the requested dates");
         }
 
-        // fetch rate and compute total
-        Optional<RateResponse> rateRespOpt = carRentalPricingClient.getRateForCategory(req.segment().name());
-        RateResponse rateResp = rateRespOpt
-                .orElseThrow(() -> new BookingException("Rate not found for category: " + req.segment()));
-        BigDecimal total = calculateTotal(rateResp.ratePerDay(), rentalDays);
-
         //build, persist and return id
-        Booking booking = buildBooking(req, license.ownerName(), rentalDays, total);
+        Booking booking = BookingRules.buildBooking(req, prepared.ownerName(), prepared.rentalDays(), prepared.total());
         booking.setCustomer(customer);
         booking.setVehicle(vehicle);
 
         Booking saved = carBookingRepository.save(booking);
+        occupancyService.recordBooking(saved);
+        events.publishEvent(VehicleEvent.booked(vehicle.getId(), vehicle.getVin(),
+                saved.getStartDate(), saved.getEndDate()));
         log.info("Booking created successfully with id={} for VIN={}", saved.getId(), req.vin());
         return saved.getId();
     }
 
-    private void validateReservationDates(LocalDate start, LocalDate end) {
-        Objects.requireNonNull(start, "reservationStartDate must not be null");
-        Objects.requireNonNull(end, "reservationEndDate must not be null");
-
-        if (end.isBefore(start)) {
-            throw new BookingException("Reservation end date must be after or equal to start date");
-        }
-        long days = calculateInclusiveDays(start, end);
-        if (days > 30) {
-            throw new BookingException("A car cannot be reserved for more than 30 days");
-        }
-    }
-
-    private long calculateInclusiveDays(LocalDate start, LocalDate end) {
-        return ChronoUnit.DAYS.between(start, end) + 1; // inclusive
-    }
-
     private String extractOwnerName(String ownerName) {
         if (ownerName == null || ownerName.isBlank()) {
             throw new InvalidLicenseDetailsException("Driving license does not include owner name");
@@ -182,48 +244,37 @@ public class VehicleService {
         return ownerName.trim();
     }
 
-    private BigDecimal calculateTotal(BigDecimal ratePerDay, long days) {
-        return ratePerDay.multiply(BigDecimal.valueOf(days));
-    }
-
-    private Booking buildBooking(
-            BookingRequest req,
-            String ownerName,
-            long rentalDays,
-            BigDecimal total
-    ) {
-        return Booking.builder()
-                .licenseNumber(req.licenseNumber())
-                .customerName(ownerName)
-                .segment(req.segment())
-                .startDate(req.reservationStartDate())
-                .endDate(req.reservationEndDate())
-                .rentalDays(rentalDays)
-                .rentalPrice(total)
-                .age(req.age())
-                .build();
-    }
-
     @Transactional(readOnly = true)
     public BookingResponse getBookingDetails (UUID bookingId){
-        Booking booking = carBookingRepository.findById(bookingId)
+        Optional<BookingResponse> live = carBookingRepository.findById(bookingId)
+                .map(booking -> new BookingResponse(
+                        booking.getId(),
+                        booking.getLicenseNumber(),
+                        booking.getCustomerName(),
+                        booking.getAge(),
+                        booking.getStartDate(),
+                        booking.getEndDate(),
+                        booking.getSegment(),
+                        booking.getRentalPrice()
+                ));
+        // finished bookings may have been moved by the archival job
+        return live.or(() -> archivedBookingRepository.findById(bookingId)
+                        .map(archived -> new BookingResponse(
+                                archived.getId(),
+                                archived.getLicenseNumber(),
+                                archived.getCustomerName(),
+                                archived.getAge(),
+                                archived.getStartDate(),
+                                archived.getEndDate(),
+                                archived.getSegment(),
+                                archived.getRentalPrice()
+                        )))
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found"));
-
-        VehicleSegment seg = VehicleSegment.valueOf(booking.getSegment().name());
-        return new BookingResponse(
-                booking.getId(),
-                booking.getLicenseNumber(),
-                booking.getCustomerName(),
-                booking.getAge(),
-                booking.getStartDate(),
-                booking.getEndDate(),
-                seg,
-                booking.getRentalPrice()
-        );
     }
 
     private static VehicleResponse toResponse(Vehicle v) {
-        return new VehicleResponse(v.getId(), v.getType(), v.getSegment(), v.getVin(), v.getModelYear(), v.getStatus());
+        return new VehicleResponse(v.getId(), v.getType(), v.getSegment(), v.getVin(), v.getModelYear(), v.getStatus(),
+                v.getVersion() == null ? 0 : v.getVersion());
     }
 
     private Vehicle updateVehicleDetails(VehicleRequest request, Vehicle existing) {
@@ -0,0 +1,236 @@
+package com.carrental.service;
+
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.*;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.pricing.PricingEngine;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Warms the booking path before the application reports ready. Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC} only after all runners return, so the readiness probe
+ * refuses traffic while this runs, for at most {@code app.warm-up.max-duration}.
+ * <p>
+ * Loads the rate calendars and opens the remote and database connections, then repeats the
+ * validation, booking rules, JSON and query work so it is compiled before real traffic arrives.
+ * Synthetic rows live only inside a transaction that is rolled back.
+ */
+@Component
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner, Ordered {
+
+    private static final String LICENSE = "WU000000000";
+
+    private final PricingEngine pricingEngine;
+    private final DrivingLicenseClient drivingLicenseClient;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final CustomerRepository customerRepository;
+    private final VehicleRepository vehicleRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.WarmUp cfg;
+
+    public WarmUpRunner(PricingEngine pricingEngine,
+                        DrivingLicenseClient drivingLicenseClient,
+                        DataSource dataSource,
+                        ObjectMapper objectMapper,
+                        Validator validator,
+                        CustomerRepository customerRepository,
+                        VehicleRepository vehicleRepository,
+                        BookingRepository bookingRepository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationProperties props) {
+        this.pricingEngine = pricingEngine;
+        this.drivingLicenseClient = drivingLicenseClient;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.customerRepository = customerRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cfg = props.getWarmUp();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!cfg.isEnabled()) {
+            return;
+        }
+        log.info("Warm-up started, max duration {}", cfg.getMaxDuration());
+        long start = System.nanoTime();
+        long deadline = start + cfg.getMaxDuration().toNanos();
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "warm-up"));
+        Future<?> warmUp = executor.submit(() -> warmUp(deadline));
+        try {
+            warmUp.get(cfg.getMaxDuration().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Warm-up finished in {} ms", elapsedMillis(start));
+        } catch (TimeoutException e) {
+            warmUp.cancel(true);
+            log.warn("Warm-up cut off after {} ms", elapsedMillis(start));
+        } catch (ExecutionException e) {
+            log.warn("Warm-up failed after {} ms, continuing startup", elapsedMillis(start), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void warmUp(long deadline) {
+        step("rate calendars", pricingEngine::reloadAll);
+        step("license service", () -> drivingLicenseClient.licenseDetails(LICENSE).blockOptional(Duration.ofSeconds(5)));
+        step("database connections", this::openConnections);
+        step("booking rules and JSON", () -> exerciseInMemory(deadline));
+        step("booking queries", () -> exerciseQueries(deadline));
+    }
+
+    private void step(String name, Runnable task) {
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            task.run();
+            log.debug("Warm-up step '{}' done in {} ms", name, elapsedMillis(start));
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step '{}' failed: {}", name, e.toString());
+        }
+    }
+
+    private void openConnections() {
+        List<Connection> open = new ArrayList<>();
+        try {
+            for (int i = 0; i < cfg.getConnections(); i++) {
+                Connection connection = dataSource.getConnection();
+                open.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            open.forEach(connection -> {
+                try {
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // returned to the pool anyway
+                }
+            });
+        }
+    }
+
+    private void exerciseInMemory(long deadline) {
+        LocalDate start = LocalDate.now().plusDays(1);
+        DrivingLicenseClient.LicenseResponse license = new DrivingLicenseClient.LicenseResponse("Warm Up", start.plusYears(2));
+        VehicleResponse vehicle = new VehicleResponse(UUID.randomUUID(), "Car", VehicleSegment.ECONOMY, "VIN-WU", 2024, VehicleStatus.AVAILABLE, 0);
+        // only loaded calendars, so a pricing outage does not turn every round into a remote call
+        List<VehicleSegment> priced = List.copyOf(pricingEngine.loadedSegments());
+        for (int i = 0; i < cfg.getIterations() && !stop(deadline); i++) {
+            BookingRequest valid = new BookingRequest(LICENSE, "Warm Up", 30, start, start.plusDays(i % 7),
+                    VehicleSegment.values()[i % VehicleSegment.values().length], "VIN-WU-" + i);
+            BookingRequest invalid = new BookingRequest("bad", "", -1, start, null, null, null);
+            validator.validate(valid);
+            validator.validate(invalid);
+
+            BookingRules.validateReservationDates(valid.reservationStartDate(), valid.reservationEndDate());
+            long days = BookingRules.calculateInclusiveDays(valid.reservationStartDate(), valid.reservationEndDate());
+            BookingRules.verifyLicense(license, valid);
+            if (!priced.isEmpty()) {
+                pricingEngine.price(priced.get(i % priced.size()), valid.reservationStartDate(), valid.reservationEndDate());
+            }
+            BookingRules.buildBooking(valid, license.ownerName(), days, BigDecimal.TEN);
+            expectFailure(() -> BookingRules.validateReservationDates(start, start.minusDays(1)));
+            expectFailure(() -> BookingRules.verifyLicense(license, new BookingRequest(LICENSE, "Someone Else", 30,
+                    start, start, VehicleSegment.ECONOMY, "VIN-WU")));
+
+            try {
+                objectMapper.readValue(objectMapper.writeValueAsBytes(valid), BookingRequest.class);
+                objectMapper.writeValueAsBytes(vehicle);
+                objectMapper.writeValueAsString(List.of(vehicle, vehicle));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void exerciseQueries(long deadline) {
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            String suffix = UUID.randomUUID().toString();
+            Customer customer = customerRepository.save(Customer.builder()
+                    .firstName("Warm").lastName("Up").age(30)
+                    .email("warm-up-" + suffix + "@warm-up.invalid")
+                    .drivingLicenseNumber("WU-" + suffix)
+                    .build());
+            Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                    .type("Car").segment(VehicleSegment.ECONOMY).vin("VIN-WU-" + suffix)
+                    .modelYear(2024).status(VehicleStatus.AVAILABLE)
+                    .build());
+            LocalDate start = LocalDate.now().plusDays(1);
+            bookingRepository.save(Booking.builder()
+                    .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Warm Up").age(30)
+                    .segment(VehicleSegment.ECONOMY).startDate(start).endDate(start.plusDays(2))
+                    .rentalDays(3).rentalPrice(BigDecimal.TEN)
+                    .customer(customer).vehicle(vehicle)
+                    .build());
+            bookingRepository.flush();
+
+            for (int i = 0; i < cfg.getDbIterations() && !stop(deadline); i++) {
+                customerRepository.findByDrivingLicenseNumber(customer.getDrivingLicenseNumber());
+                vehicleRepository.findByVin(vehicle.getVin());
+                bookingRepository.existsOverlappingBookingForVehicle(vehicle.getId(), start.plusDays(i % 5), start.plusDays(i % 5 + 1));
+                bookingRepository.findHistoryByCustomer(customer.getId(), null, null, PageRequest.of(0, 20));
+            }
+        });
+    }
+
+    private static void expectFailure(Runnable rule) {
+        try {
+            rule.run();
+        } catch (RuntimeException expected) {
+            // the rejection path is part of what is being warmed
+        }
+    }
+
+    private static boolean stop(long deadline) {
+        return System.nanoTime() > deadline || Thread.currentThread().isInterrupted();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,49 @@
+-- Schema as previously generated from the JPA entities.
+
+CREATE TABLE customers (
+    id                     UUID         NOT NULL,
+    first_name             VARCHAR(255) NOT NULL,
+    last_name              VARCHAR(255) NOT NULL,
+    age                    INTEGER,
+    email                  VARCHAR(255) NOT NULL,
+    driving_license_number VARCHAR(64),
+    phone_number           VARCHAR(255),
+    created_at             TIMESTAMP(6) WITH TIME ZONE,
+    updated_at             TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_customers PRIMARY KEY (id),
+    CONSTRAINT uk_customers_email UNIQUE (email),
+    CONSTRAINT uk_customers_driving_license UNIQUE (driving_license_number)
+);
+
+CREATE TABLE vehicles (
+    id         UUID         NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    segment    VARCHAR(32)  NOT NULL,
+    vin        VARCHAR(64)  NOT NULL,
+    model_year INTEGER,
+    status     VARCHAR(32)  NOT NULL,
+    CONSTRAINT pk_vehicles PRIMARY KEY (id),
+    CONSTRAINT uk_vehicles_vin UNIQUE (vin)
+);
+CREATE INDEX idx_vehicle_vin ON vehicles (vin);
+
+CREATE TABLE bookings (
+    id             UUID           NOT NULL,
+    license_number VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255),
+    segment        VARCHAR(20)    NOT NULL,
+    start_date     DATE           NOT NULL,
+    end_date       DATE           NOT NULL,
+    rental_days    BIGINT         NOT NULL,
+    rental_price   NUMERIC(19, 4) NOT NULL,
+    age            INTEGER        NOT NULL,
+    customer_id    UUID           NOT NULL,
+    vehicle_id     UUID           NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id)
+);
+CREATE INDEX idx_booking_customer ON bookings (customer_id);
+CREATE INDEX idx_booking_vehicle ON bookings (vehicle_id);
+CREATE INDEX idx_booking_start_end ON bookings (start_date, end_date);
+-- added after the indexes so H2 backs them with these instead of creating its own
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_customer FOREIGN KEY (customer_id) REFERENCES customers (id);
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id);
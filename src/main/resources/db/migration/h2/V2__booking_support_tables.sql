@@ -0,0 +1,52 @@
+-- Tables of the booking pipeline added after the baseline: the archive of finished bookings,
+-- the journal of asynchronously accepted bookings, Idempotency-Key records and the daily
+-- per-segment occupancy aggregates.
+
+CREATE TABLE bookings_archive (
+    id             UUID                        NOT NULL,
+    license_number VARCHAR(255)                NOT NULL,
+    customer_name  VARCHAR(255),
+    segment        VARCHAR(20)                 NOT NULL,
+    start_date     DATE                        NOT NULL,
+    end_date       DATE                        NOT NULL,
+    rental_days    BIGINT                      NOT NULL,
+    rental_price   NUMERIC(19, 4)              NOT NULL,
+    age            INTEGER                     NOT NULL,
+    customer_id    UUID                        NOT NULL,
+    vehicle_id     UUID                        NOT NULL,
+    archived_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id)
+);
+CREATE INDEX idx_booking_archive_customer ON bookings_archive (customer_id);
+CREATE INDEX idx_booking_archive_vehicle ON bookings_archive (vehicle_id);
+CREATE INDEX idx_booking_archive_start_end ON bookings_archive (start_date, end_date);
+
+CREATE TABLE booking_submissions (
+    id         UUID                        NOT NULL,
+    payload    VARCHAR(2048)               NOT NULL,
+    status     VARCHAR(16)                 NOT NULL,
+    booking_id UUID,
+    error      VARCHAR(512),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT pk_booking_submissions PRIMARY KEY (id)
+);
+CREATE INDEX idx_submission_status ON booking_submissions (status, created_at);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(128)                NOT NULL,
+    request_hash    VARCHAR(64)                 NOT NULL,
+    booking_id      UUID                        NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+CREATE INDEX idx_idempotency_expires ON idempotency_keys (expires_at);
+
+CREATE TABLE segment_daily_occupancy (
+    occupancy_date  DATE           NOT NULL,
+    segment         VARCHAR(20)    NOT NULL,
+    booked_vehicles BIGINT         NOT NULL,
+    revenue         NUMERIC(19, 4) NOT NULL,
+    CONSTRAINT pk_segment_daily_occupancy PRIMARY KEY (occupancy_date, segment)
+);
@@ -0,0 +1,9 @@
+-- Overlap check: vehicle_id = ? AND start_date <= ? AND end_date >= ? is answered from the index alone.
+-- Unlike MySQL, H2 only backs a foreign key with an index on exactly its columns, so idx_booking_vehicle stays.
+CREATE INDEX idx_booking_vehicle_dates ON bookings (vehicle_id, start_date, end_date);
+
+-- Archival selects the oldest finished bookings.
+CREATE INDEX idx_booking_end_date ON bookings (end_date);
+
+-- Duplicates the unique constraint on vin.
+DROP INDEX idx_vehicle_vin;
@@ -0,0 +1,3 @@
+-- Optimistic-lock versions for vehicles and customers; they also drive the ETags of both resources.
+ALTER TABLE vehicles ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE customers ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
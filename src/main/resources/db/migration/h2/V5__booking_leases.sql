@@ -0,0 +1,12 @@
+-- One row per booking critical section (e.g. "vehicle:<VIN>"); taken by the booking transaction
+-- with a row-locking UPDATE that sets its holder and expiry.
+CREATE TABLE booking_leases (
+    lease_key  VARCHAR(100) NOT NULL,
+    holder     VARCHAR(100),
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_booking_leases PRIMARY KEY (lease_key)
+);
+
+-- New vehicles get their row on creation; existing ones get it here.
+INSERT INTO booking_leases (lease_key, holder, expires_at)
+SELECT 'vehicle:' || vin, NULL, TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00' FROM vehicles;
@@ -0,0 +1,10 @@
+-- Append-only log of cache invalidations; every node polls it past its own cursor (id).
+CREATE TABLE cache_invalidations (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    cache_key   VARCHAR(200)                NOT NULL,
+    min_version BIGINT                      NOT NULL,
+    origin      VARCHAR(64)                 NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_cache_invalidations PRIMARY KEY (id)
+);
+CREATE INDEX idx_cache_invalidations_created ON cache_invalidations (created_at);
@@ -0,0 +1,10 @@
+-- Append-only log of committed vehicle events; every node polls it past its own cursor (id) to
+-- stream the events of the other nodes.
+CREATE TABLE vehicle_events (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    payload    VARCHAR(1000)               NOT NULL,
+    origin     VARCHAR(64)                 NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_vehicle_events PRIMARY KEY (id)
+);
+CREATE INDEX idx_vehicle_events_created ON vehicle_events (created_at);
@@ -0,0 +1,49 @@
+-- Schema as previously generated from the JPA entities.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE customers (
+    id                     BINARY(16)   NOT NULL,
+    first_name             VARCHAR(255) NOT NULL,
+    last_name              VARCHAR(255) NOT NULL,
+    age                    INT,
+    email                  VARCHAR(255) NOT NULL,
+    driving_license_number VARCHAR(64),
+    phone_number           VARCHAR(255),
+    created_at             DATETIME(6),
+    updated_at             DATETIME(6),
+    CONSTRAINT pk_customers PRIMARY KEY (id),
+    CONSTRAINT uk_customers_email UNIQUE (email),
+    CONSTRAINT uk_customers_driving_license UNIQUE (driving_license_number)
+) ENGINE = InnoDB;
+
+CREATE TABLE vehicles (
+    id         BINARY(16)   NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    segment    VARCHAR(32)  NOT NULL,
+    vin        VARCHAR(64)  NOT NULL,
+    model_year INT,
+    status     VARCHAR(32)  NOT NULL,
+    CONSTRAINT pk_vehicles PRIMARY KEY (id),
+    CONSTRAINT uk_vehicles_vin UNIQUE (vin),
+    INDEX idx_vehicle_vin (vin)
+) ENGINE = InnoDB;
+
+CREATE TABLE bookings (
+    id             BINARY(16)     NOT NULL,
+    license_number VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255),
+    segment        VARCHAR(20)    NOT NULL,
+    start_date     DATE           NOT NULL,
+    end_date       DATE           NOT NULL,
+    rental_days    BIGINT         NOT NULL,
+    rental_price   DECIMAL(19, 4) NOT NULL,
+    age            INT            NOT NULL,
+    customer_id    BINARY(16)     NOT NULL,
+    vehicle_id     BINARY(16)     NOT NULL,
+    CONSTRAINT pk_bookings PRIMARY KEY (id),
+    INDEX idx_booking_customer (customer_id),
+    INDEX idx_booking_vehicle (vehicle_id),
+    INDEX idx_booking_start_end (start_date, end_date),
+    CONSTRAINT fk_booking_customer FOREIGN KEY (customer_id) REFERENCES customers (id),
+    CONSTRAINT fk_booking_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicles (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,52 @@
+-- Tables of the booking pipeline added after the baseline: the archive of finished bookings,
+-- the journal of asynchronously accepted bookings, Idempotency-Key records and the daily
+-- per-segment occupancy aggregates.
+
+CREATE TABLE bookings_archive (
+    id             BINARY(16)     NOT NULL,
+    license_number VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255),
+    segment        VARCHAR(20)    NOT NULL,
+    start_date     DATE           NOT NULL,
+    end_date       DATE           NOT NULL,
+    rental_days    BIGINT         NOT NULL,
+    rental_price   DECIMAL(19, 4) NOT NULL,
+    age            INT            NOT NULL,
+    customer_id    BINARY(16)     NOT NULL,
+    vehicle_id     BINARY(16)     NOT NULL,
+    archived_at    DATETIME(6)    NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id),
+    INDEX idx_booking_archive_customer (customer_id),
+    INDEX idx_booking_archive_vehicle (vehicle_id),
+    INDEX idx_booking_archive_start_end (start_date, end_date)
+) ENGINE = InnoDB;
+
+CREATE TABLE booking_submissions (
+    id         BINARY(16)    NOT NULL,
+    payload    VARCHAR(2048) NOT NULL,
+    status     VARCHAR(16)   NOT NULL,
+    booking_id BINARY(16),
+    error      VARCHAR(512),
+    created_at DATETIME(6)   NOT NULL,
+    updated_at DATETIME(6),
+    CONSTRAINT pk_booking_submissions PRIMARY KEY (id),
+    INDEX idx_submission_status (status, created_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(128) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    booking_id      BINARY(16)   NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    expires_at      DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_expires (expires_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE segment_daily_occupancy (
+    occupancy_date  DATE           NOT NULL,
+    segment         VARCHAR(20)    NOT NULL,
+    booked_vehicles BIGINT         NOT NULL,
+    revenue         DECIMAL(19, 4) NOT NULL,
+    CONSTRAINT pk_segment_daily_occupancy PRIMARY KEY (occupancy_date, segment)
+) ENGINE = InnoDB;
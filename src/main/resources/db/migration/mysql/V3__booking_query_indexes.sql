@@ -0,0 +1,9 @@
+-- Overlap check: vehicle_id = ? AND start_date <= ? AND end_date >= ? is answered from the index alone.
+-- Its vehicle_id prefix also serves fk_booking_vehicle and per-vehicle history, so idx_booking_vehicle goes.
+ALTER TABLE bookings
+    ADD INDEX idx_booking_vehicle_dates (vehicle_id, start_date, end_date),
+    ADD INDEX idx_booking_end_date (end_date),
+    DROP INDEX idx_booking_vehicle;
+
+-- Duplicates the unique constraint on vin.
+ALTER TABLE vehicles DROP INDEX idx_vehicle_vin;
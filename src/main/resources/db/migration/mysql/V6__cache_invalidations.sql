@@ -0,0 +1,10 @@
+-- Append-only log of cache invalidations; every node polls it past its own cursor (id).
+CREATE TABLE cache_invalidations (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    cache_key   VARCHAR(200) NOT NULL,
+    min_version BIGINT       NOT NULL,
+    origin      VARCHAR(64)  NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    CONSTRAINT pk_cache_invalidations PRIMARY KEY (id),
+    INDEX idx_cache_invalidations_created (created_at)
+) ENGINE = InnoDB;
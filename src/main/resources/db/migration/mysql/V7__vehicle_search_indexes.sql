@@ -0,0 +1,5 @@
+-- Filter shapes of GET /api/v1/vehicles/search: status with optional segment and model year range,
+-- segment with optional model year range, and type with optional status.
+CREATE INDEX idx_vehicle_status_segment_year ON vehicles (status, segment, model_year);
+CREATE INDEX idx_vehicle_segment_year ON vehicles (segment, model_year);
+CREATE INDEX idx_vehicle_type_status ON vehicles (type, status);
@@ -0,0 +1,10 @@
+-- Append-only log of committed vehicle events; every node polls it past its own cursor (id) to
+-- stream the events of the other nodes.
+CREATE TABLE vehicle_events (
+    id         BIGINT        NOT NULL AUTO_INCREMENT,
+    payload    VARCHAR(1000) NOT NULL,
+    origin     VARCHAR(64)   NOT NULL,
+    created_at DATETIME(6)   NOT NULL,
+    CONSTRAINT pk_vehicle_events PRIMARY KEY (id),
+    INDEX idx_vehicle_events_created (created_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- Claimed by the node running booking archival, so that one run at a time moves bookings.
+INSERT INTO booking_leases (lease_key, holder, expires_at)
+VALUES ('archival', NULL, '1970-01-01 00:00:00');
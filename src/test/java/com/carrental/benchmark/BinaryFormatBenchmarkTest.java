@@ -0,0 +1,90 @@
+package com.carrental.benchmark;
+
+import com.carrental.cache.BodyFormat;
+import com.carrental.dto.BookingResponse;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Payload size and encode/decode throughput of large vehicle and booking lists as JSON, CBOR and
+ * Smile, with the same mapper configuration the API uses.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BinaryFormatBenchmarkTest {
+
+    private static final int LIST_SIZE = 10_000;
+    private static final int WARMUP = 30;
+    private static final int ROUNDS = 100;
+
+    private final ObjectMapper json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void vehicleAndBookingLists() throws Exception {
+        List<VehicleResponse> vehicles = new ArrayList<>();
+        List<BookingResponse> bookings = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            VehicleSegment segment = VehicleSegment.values()[i % VehicleSegment.values().length];
+            vehicles.add(new VehicleResponse(UUID.randomUUID(), "Car", segment, "VIN-" + i, 2015 + i % 10, VehicleStatus.AVAILABLE, 0));
+            bookings.add(new BookingResponse(UUID.randomUUID(), "DL" + (100000 + i), "Customer " + i, 20 + i % 50,
+                    start.plusDays(i % 365), start.plusDays(i % 365 + 3), segment, new BigDecimal("99.50").add(BigDecimal.valueOf(i % 100))));
+        }
+
+        for (BodyFormat format : BodyFormat.values()) {
+            ObjectMapper mapper = format.mapper(json);
+            run(format, "vehicles", mapper, vehicles, null);
+            run(format, "bookings", mapper, bookings, new TypeReference<List<BookingResponse>>() {});
+        }
+    }
+
+    private void run(BodyFormat format, String name, ObjectMapper mapper, List<?> list,
+                     TypeReference<? extends List<?>> decodeAs) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(list);
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.writeValueAsBytes(list);
+            if (decodeAs != null) {
+                mapper.readValue(encoded, decodeAs);
+            }
+        }
+
+        long start = System.nanoTime();
+        long bytes = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            bytes += mapper.writeValueAsBytes(list).length;
+        }
+        long encodeNanos = System.nanoTime() - start;
+        assertEquals((long) encoded.length * ROUNDS, bytes);
+
+        String decode = "n/a";
+        if (decodeAs != null) {
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                assertEquals(LIST_SIZE, mapper.readValue(encoded, decodeAs).size());
+            }
+            decode = String.format("%.0f items/ms", (double) LIST_SIZE * ROUNDS / ((System.nanoTime() - start) / 1e6));
+        }
+        assertTrue(encoded.length > 0);
+        System.out.printf("%-5s %-8s items=%d size=%,d bytes encode=%.0f items/ms decode=%s%n",
+                format, name, LIST_SIZE, encoded.length, (double) LIST_SIZE * ROUNDS / (encodeNanos / 1e6), decode);
+    }
+}
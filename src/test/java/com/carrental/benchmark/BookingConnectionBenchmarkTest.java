@@ -0,0 +1,131 @@
+package com.carrental.benchmark;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.dto.*;
+import com.carrental.service.CustomerService;
+import com.carrental.service.OccupancyService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bookings per pool connection with the licence check answering after a fixed latency, on a
+ * deliberately small pool. "held" wraps each booking in an outer transaction, which reproduces
+ * the old flow where the connection was checked out across the remote calls; "split" is the
+ * current flow, where only the short write transaction holds a connection.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=" + BookingConnectionBenchmarkTest.POOL_SIZE)
+class BookingConnectionBenchmarkTest {
+
+    static final int POOL_SIZE = 4;
+    private static final int CONCURRENCY = 32;
+    private static final int BOOKINGS = 400;
+    private static final Duration REMOTE_LATENCY = Duration.ofMillis(50);
+    private static final String LICENSE = "BC123456789";
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private DrivingLicenseClient drivingLicenseClient;
+
+    @MockBean
+    private CarRentalPricingClient carRentalPricingClient;
+
+    private final List<String> vins = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        customerService.createCustomer(new CustomerRequest(
+                "Pool", "Bench", 40, "pool.bench@example.com", LICENSE, "+1234567890"));
+        for (int i = 0; i < BOOKINGS; i++) {
+            String vin = "VIN-BC-" + i;
+            vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE));
+            vins.add(vin);
+        }
+        var license = new DrivingLicenseClient.LicenseResponse("Pool Bench", LocalDate.now().plusYears(3));
+        when(drivingLicenseClient.getLicenseDetails(anyString())).thenAnswer(inv -> {
+            Thread.sleep(REMOTE_LATENCY.toMillis());
+            return Optional.of(license);
+        });
+        when(carRentalPricingClient.getRateForCategory(anyString()))
+                .thenReturn(Optional.of(new RateResponse("ECONOMY", new BigDecimal("25.00"))));
+        // the held flow would need a second connection to create these inside its transaction
+        LocalDate from = LocalDate.now().plusDays(1);
+        occupancyService.prepareDays(VehicleSegment.ECONOMY, from, from.plusDays(120));
+    }
+
+    @Test
+    void connectionHeldVersusSplitTransaction() throws Exception {
+        LocalDate from = LocalDate.now().plusDays(1);
+        // warm both paths so neither pays for class loading and JIT in the measurement
+        run(req -> transactionTemplate.execute(s -> vehicleService.createBooking(req)), from.plusDays(100), 40);
+        run(vehicleService::createBooking, from.plusDays(110), 40);
+
+        long held = run(req -> transactionTemplate.execute(s -> vehicleService.createBooking(req)), from, BOOKINGS);
+        long split = run(vehicleService::createBooking, from.plusDays(5), BOOKINGS);
+
+        report("held", held);
+        report("split", split);
+        assertTrue(split < held, "the split flow should book faster on the same pool");
+    }
+
+    private long run(Function<BookingRequest, UUID> book, LocalDate from, int bookings) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<UUID>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (String vin : vins.subList(0, bookings)) {
+            BookingRequest req = new BookingRequest(LICENSE, "Pool Bench", 40, from, from.plusDays(2), VehicleSegment.ECONOMY, vin);
+            futures.add(pool.submit((Callable<UUID>) () -> book.apply(req)));
+        }
+        for (Future<UUID> f : futures) {
+            f.get();
+        }
+        long nanos = System.nanoTime() - start;
+        pool.shutdown();
+        return nanos;
+    }
+
+    private static void report(String flow, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        double throughput = BOOKINGS / seconds;
+        System.out.printf("%-6s bookings=%d concurrency=%d pool=%d time=%.2fs throughput=%.0f/s perConnection=%.1f/s%n",
+                flow, BOOKINGS, CONCURRENCY, POOL_SIZE, seconds, throughput, throughput / POOL_SIZE);
+    }
+}
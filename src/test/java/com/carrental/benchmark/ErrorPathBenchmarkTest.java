@@ -0,0 +1,100 @@
+package com.carrental.benchmark;
+
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.ErrorBodies;
+import com.carrental.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cost of a conflict-heavy booking workload's error path: throw at a request-like stack depth,
+ * catch it in the handler and produce the response body. "before" is a stack-capturing
+ * exception turned into a map and serialized by Jackson, as the handler used to do; "after"
+ * is a stackless domain exception rendered from its pre-serialized prefix.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ErrorPathBenchmarkTest {
+
+    /** roughly the depth of a booking call under Tomcat, Spring MVC, AOP and Hibernate */
+    private static final int STACK_DEPTH = 150;
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    private static final String PATH = "/api/v1/vehicles/bookings";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    /** the pre-change shape of a booking conflict: a plain RuntimeException with a full trace */
+    private static class LegacyConflictException extends RuntimeException {
+        LegacyConflictException(String message) {
+            super(message);
+        }
+    }
+
+    @Test
+    void conflictHeavyErrorPath() {
+        Function<String, RuntimeException> legacy = LegacyConflictException::new;
+        Function<String, RuntimeException> domain = BookingConflictException::new;
+
+        measure(legacy, this::legacyBody, WARMUP);
+        measure(domain, this::domainBody, WARMUP);
+        long before = measure(legacy, this::legacyBody, ITERATIONS);
+        long after = measure(domain, this::domainBody, ITERATIONS);
+
+        report("before", before);
+        report("after", after);
+        assertTrue(after < before, "stackless errors should be cheaper than stack-capturing ones");
+    }
+
+    private long measure(Function<String, RuntimeException> exception,
+                         Function<RuntimeException, byte[]> handler, int iterations) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String message = "Vehicle with VIN VIN-" + (i & 1023) + " is not available for the requested dates";
+            try {
+                throwAt(STACK_DEPTH, exception, message);
+            } catch (RuntimeException e) {
+                bytes += handler.apply(e).length;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        assertTrue(bytes > 0);
+        return nanos;
+    }
+
+    private static void throwAt(int depth, Function<String, RuntimeException> exception, String message) {
+        if (depth == 0) {
+            throw exception.apply(message);
+        }
+        throwAt(depth - 1, exception, message);
+    }
+
+    private byte[] legacyBody(RuntimeException e) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of(
+                    "timestamp", Instant.now(), "status", 409, "error", "Conflict",
+                    "message", e.getMessage(), "path", PATH));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private byte[] domainBody(RuntimeException e) {
+        return ErrorBodies.render(ErrorCode.BOOKING_CONFLICT, e.getMessage(), PATH);
+    }
+
+    private static void report(String path, long nanos) {
+        System.out.printf("%-6s errors=%d depth=%d time=%.2fs perError=%.2fus throughput=%.0f/s%n",
+                path, ITERATIONS, STACK_DEPTH, nanos / 1e9, nanos / 1e3 / ITERATIONS, ITERATIONS / (nanos / 1e9));
+    }
+}
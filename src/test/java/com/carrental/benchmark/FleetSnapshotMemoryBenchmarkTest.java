@@ -0,0 +1,109 @@
+package com.carrental.benchmark;
+
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Vehicle;
+import com.carrental.fleet.FleetSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Heap held by the fleet as a list of {@link Vehicle} entities, as {@code findAll} hands it out,
+ * against the same fleet as a {@link FleetSnapshot}, and the time of one filtered search over
+ * each. The entity figure leaves out what a persistence context keeps per entity on top.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class FleetSnapshotMemoryBenchmarkTest {
+
+    private static final int VEHICLES = 100_000;
+    private static final String[] TYPES = {"Car", "Van", "Scooter", "Truck", "Minibus"};
+    private static final int ROUNDS = 20;
+
+    @Test
+    void entityListVersusSnapshot() {
+        List<VehicleResponse> fleet = fleet();
+        VehicleSearchCriteria criteria = new VehicleSearchCriteria("Van", VehicleSegment.MEDIUM, VehicleStatus.AVAILABLE, 2018, 2022);
+
+        long entityBytes = retained(() -> fleet.stream().map(FleetSnapshotMemoryBenchmarkTest::entity).toList());
+        long snapshotBytes = retained(() -> FleetSnapshot.of(fleet));
+
+        List<Vehicle> entities = fleet.stream().map(FleetSnapshotMemoryBenchmarkTest::entity).toList();
+        FleetSnapshot snapshot = FleetSnapshot.of(fleet);
+        long entityScan = Long.MAX_VALUE;
+        long snapshotScan = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long matches = entities.stream()
+                    .filter(v -> v.getType().equals(criteria.type())
+                            && v.getSegment() == criteria.segment()
+                            && v.getStatus() == criteria.status()
+                            && v.getModelYear() != null
+                            && v.getModelYear() >= criteria.modelYearFrom()
+                            && v.getModelYear() <= criteria.modelYearTo())
+                    .count();
+            entityScan = Math.min(entityScan, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            long total = snapshot.search(criteria, 0, 20).totalElements();
+            snapshotScan = Math.min(snapshotScan, System.nanoTime() - start);
+            assertEquals(matches, total);
+        }
+
+        System.out.printf("%d vehicles: entities %.1f MB (%d B/vehicle), snapshot %.1f MB (%d B/vehicle)%n",
+                VEHICLES, entityBytes / 1e6, entityBytes / VEHICLES, snapshotBytes / 1e6, snapshotBytes / VEHICLES);
+        System.out.printf("filtered search: entity list %.2f ms, snapshot %.2f ms (best of %d)%n",
+                entityScan / 1e6, snapshotScan / 1e6, ROUNDS);
+    }
+
+    /** Heap still in use after a full collection while the built value is reachable, minus before. */
+    private static long retained(Supplier<Object> build) {
+        long before = usedHeap();
+        Object value = build.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(value);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<VehicleResponse> fleet() {
+        List<VehicleResponse> fleet = new ArrayList<>(VEHICLES);
+        VehicleSegment[] segments = VehicleSegment.values();
+        VehicleStatus[] statuses = VehicleStatus.values();
+        for (int i = 0; i < VEHICLES; i++) {
+            fleet.add(new VehicleResponse(UUID.randomUUID(), TYPES[i % TYPES.length], segments[i % segments.length],
+                    String.format("1HGCM82633A%06d", i), 2010 + i % 15, statuses[i % statuses.length], i % 4));
+        }
+        return fleet;
+    }
+
+    private static Vehicle entity(VehicleResponse v) {
+        // fresh copies of every value, as each row read by Hibernate has its own
+        return Vehicle.builder()
+                .id(new UUID(v.id().getMostSignificantBits(), v.id().getLeastSignificantBits()))
+                .version(Long.valueOf(v.version())).type(new String(v.type())).segment(v.segment())
+                .vin(new String(v.vin())).modelYear(Integer.valueOf(v.modelYear().intValue())).status(v.status())
+                .bookings(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.carrental.benchmark;
+
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Resolving a few thousand known booking ids one GET at a time against one multi-get request.
+ * Runs in-process through MockMvc, so the gap shown is the server-side cost alone; over a real
+ * network each single GET also pays a round-trip.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class LookupBenchmarkTest {
+
+    private static final int BOOKINGS = 1_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void singleGetsVersusLookup() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        List<UUID> ids = seed();
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("ids", ids));
+
+        long singles = Long.MAX_VALUE;
+        long lookups = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (UUID id : ids) {
+                mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", id)).andExpect(status().isOk());
+            }
+            singles = Math.min(singles, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            String result = mockMvc.perform(post("/api/v1/vehicles/bookings/lookup")
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            lookups = Math.min(lookups, System.nanoTime() - start);
+            assertEquals(BOOKINGS, objectMapper.readTree(result).get("found").size());
+        }
+
+        System.out.printf("%d bookings: %d single GETs %.1f ms, one lookup %.1f ms (best of %d)%n",
+                BOOKINGS, BOOKINGS, singles / 1e6, lookups / 1e6, ROUNDS);
+    }
+
+    private List<UUID> seed() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Bulk").lastName("Reader").age(45)
+                .email("bulk-" + suffix + "@example.com")
+                .drivingLicenseNumber("BR" + suffix)
+                .build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .type("Car").segment(VehicleSegment.ECONOMY).vin("VIN-BR-" + suffix)
+                .modelYear(2022).status(VehicleStatus.AVAILABLE)
+                .build());
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder()
+                    .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Bulk Reader").age(45)
+                    .segment(VehicleSegment.ECONOMY)
+                    .startDate(start.plusDays(i * 2L)).endDate(start.plusDays(i * 2L))
+                    .rentalDays(1).rentalPrice(new BigDecimal("30.00"))
+                    .customer(customer).vehicle(vehicle)
+                    .build());
+        }
+        return bookingRepository.saveAll(bookings).stream().map(Booking::getId).toList();
+    }
+}
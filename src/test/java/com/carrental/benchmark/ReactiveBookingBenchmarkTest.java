@@ -0,0 +1,141 @@
+package com.carrental.benchmark;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.dto.*;
+import com.carrental.service.CustomerService;
+import com.carrental.service.ReactiveBookingService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Blocking vs reactive booking under high concurrency, with both remote services answering
+ * after a fixed latency. Reports throughput and the peak number of live JVM threads.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveBookingBenchmarkTest {
+
+    private static final int CONCURRENCY = 200;
+    private static final int BOOKINGS = 2_000;
+    private static final Duration REMOTE_LATENCY = Duration.ofMillis(50);
+    private static final String LICENSE = "BM123456789";
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private ReactiveBookingService reactiveBookingService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @MockBean
+    private DrivingLicenseClient drivingLicenseClient;
+
+    @MockBean
+    private CarRentalPricingClient carRentalPricingClient;
+
+    private final List<String> vins = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        customerService.createCustomer(new CustomerRequest(
+                "Bench", "Mark", 40, "bench.mark@example.com", LICENSE, "+1234567890"));
+        for (int i = 0; i < BOOKINGS; i++) {
+            String vin = "VIN-BM-" + i;
+            vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE));
+            vins.add(vin);
+        }
+
+        var license = new DrivingLicenseClient.LicenseResponse("Bench Mark", LocalDate.now().plusYears(3));
+        var rate = new RateResponse("ECONOMY", new BigDecimal("25.00"));
+        when(drivingLicenseClient.getLicenseDetails(anyString())).thenAnswer(inv -> {
+            Thread.sleep(REMOTE_LATENCY.toMillis());
+            return Optional.of(license);
+        });
+        when(carRentalPricingClient.getRateForCategory(anyString())).thenAnswer(inv -> {
+            Thread.sleep(REMOTE_LATENCY.toMillis());
+            return Optional.of(rate);
+        });
+        when(drivingLicenseClient.licenseDetails(anyString()))
+                .thenAnswer(inv -> Mono.delay(REMOTE_LATENCY).thenReturn(license));
+        when(carRentalPricingClient.rateForCategory(anyString()))
+                .thenAnswer(inv -> Mono.delay(REMOTE_LATENCY).thenReturn(rate));
+    }
+
+    @Test
+    void blockingVersusReactive() throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // reactive first, so the peak is not inflated by the blocking pool's threads
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        LocalDate from = LocalDate.now().plusDays(1);
+        Long created = Flux.fromIterable(vins)
+                .flatMap(vin -> reactiveBookingService.createBooking(request(vin, from)), CONCURRENCY)
+                .count()
+                .block();
+        long reactiveNanos = System.nanoTime() - start;
+        int reactivePeakThreads = threads.getPeakThreadCount();
+
+        // blocking: one thread per in-flight booking, as with Tomcat request threads
+        threads.resetPeakThreadCount();
+        start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<UUID>> futures = new ArrayList<>();
+        LocalDate later = from.plusDays(5);
+        for (String vin : vins) {
+            futures.add(pool.submit(() -> vehicleService.createBooking(request(vin, later))));
+        }
+        for (Future<UUID> f : futures) {
+            f.get();
+        }
+        long blockingNanos = System.nanoTime() - start;
+        int blockingPeakThreads = threads.getPeakThreadCount();
+        pool.shutdown();
+
+        assertEquals(BOOKINGS, created);
+        report("blocking", blockingNanos, blockingPeakThreads);
+        report("reactive", reactiveNanos, reactivePeakThreads);
+    }
+
+    private BookingRequest request(String vin, LocalDate from) {
+        return new BookingRequest(LICENSE, "Bench Mark", 40, from, from.plusDays(2), VehicleSegment.ECONOMY, vin);
+    }
+
+    private static void report(String path, long nanos, int peakThreads) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-9s bookings=%d concurrency=%d time=%.2fs throughput=%.0f/s peakThreads=%d%n",
+                path, BOOKINGS, CONCURRENCY, seconds, BOOKINGS / seconds, peakThreads);
+    }
+}
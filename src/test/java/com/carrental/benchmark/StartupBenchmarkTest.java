@@ -0,0 +1,113 @@
+package com.carrental.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from JVM launch to the first successful {@code GET /api/v1/customers}, for the plain
+ * executable jar and for the fast-startup build (Spring AOT, then AOT + AppCDS). Each variant
+ * runs in a fresh JVM; the median of {@link #RUNS} launches is reported.
+ * <p>
+ * Needs the fast-startup artifacts: {@code mvn verify -Pfast-startup -DskipTests}, then
+ * {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final int RUNS = 3;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Path TARGET = Path.of("target");
+    private static final String FAT_JAR = "carrentalsystem-0.0.1-SNAPSHOT-exec.jar";
+    private static final String THIN_JAR = "carrentalsystem-0.0.1-SNAPSHOT.jar";
+    private static final String CDS_ARCHIVE = "app.jsa";
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        assumeTrue(Files.exists(TARGET.resolve(FAT_JAR)) && Files.exists(TARGET.resolve(CDS_ARCHIVE)),
+                "run mvn verify -Pfast-startup -DskipTests first");
+
+        long plain = median("jar", List.of("-jar", FAT_JAR));
+        long aot = median("aot", List.of("-Dspring.aot.enabled=true", "-jar", THIN_JAR));
+        long aotCds = median("aot+cds", List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Xlog:cds=error",
+                "-Dspring.aot.enabled=true", "-jar", THIN_JAR));
+
+        System.out.printf("Startup to first request (median of %d): jar=%dms aot=%dms aot+cds=%dms%n",
+                RUNS, plain, aot, aotCds);
+        assertTrue(aotCds < plain, "AOT + CDS should start faster than the plain jar");
+    }
+
+    private long median(String variant, List<String> args) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            samples.add(launch(variant, args));
+        }
+        samples.sort(Long::compare);
+        return samples.get(RUNS / 2);
+    }
+
+    private long launch(String variant, List<String> args) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(args);
+        command.add("--server.port=" + port);
+        File log = TARGET.resolve("startup-benchmark-" + variant + ".log").toFile();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(TARGET.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/customers"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    fail(variant + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(20);
+            }
+            return fail(variant + " did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.carrental.controller;
 
+import com.carrental.cache.SerializedResponseCache;
+import com.carrental.config.ApplicationProperties;
 import com.carrental.dto.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.carrental.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import com.carrental.dto.VehicleSegment;
@@ -25,6 +29,9 @@ class VehicleControllerTest {
     @Mock
     private VehicleService service;
 
+    @Spy
+    private SerializedResponseCache responseCache = new SerializedResponseCache(new ObjectMapper(), new ApplicationProperties());
+
     @InjectMocks
     private VehicleController controller;
 
@@ -37,7 +44,7 @@ class VehicleControllerTest {
     void testCreateVehicle() {
         VehicleRequest request = new VehicleRequest
                 ("Toyota", VehicleSegment.COMPACT, "VIN1", 2022, VehicleStatus.AVAILABLE);
-        VehicleResponse response = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE);
+        VehicleResponse response = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE, 0);
 
         when(service.createVehicle(request)).thenReturn(response);
 
@@ -53,21 +60,37 @@ class VehicleControllerTest {
     @Test
     void testGetVehicle() {
         UUID id = UUID.randomUUID();
-        VehicleResponse response = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE);
+        VehicleResponse response = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE, 0);
 
         when(service.getVehicle(id)).thenReturn(response);
 
-        ResponseEntity<VehicleResponse> result = controller.getVehicle(id);
+        ResponseEntity<byte[]> result = controller.getVehicle(id, null, null);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertEquals(response, result.getBody());
+        assertEquals("\"v0\"", result.getHeaders().getETag());
+        assertTrue(new String(result.getBody()).contains("\"vin\":\"VIN11\""));
+        verify(service, times(1)).getVehicle(id);
+    }
+
+    @Test
+    void testGetVehicleNotModified() {
+        UUID id = UUID.randomUUID();
+        VehicleResponse response = new VehicleResponse(id, "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE, 3);
+
+        when(service.getVehicle(id)).thenReturn(response);
+
+        assertEquals(HttpStatus.OK, controller.getVehicle(id, null, null).getStatusCode());
+        ResponseEntity<byte[]> result = controller.getVehicle(id, "W/\"v3\"", null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertNull(result.getBody());
         verify(service, times(1)).getVehicle(id);
     }
 
     @Test
     void testListVehicles() {
-        VehicleResponse v1 = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE);
-        VehicleResponse v2 = new VehicleResponse(UUID.randomUUID(), "Merc", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE);
+        VehicleResponse v1 = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE, 0);
+        VehicleResponse v2 = new VehicleResponse(UUID.randomUUID(), "Merc", VehicleSegment.COMPACT, "VIN11", 2022, VehicleStatus.MAINTENANCE, 0);
 
         when(service.listVehicles()).thenReturn(List.of(v1, v2));
 
@@ -82,15 +105,15 @@ class VehicleControllerTest {
     void testUpdateVehicle() {
         UUID id = UUID.randomUUID();
         VehicleRequest request = new VehicleRequest( "Honda",  VehicleSegment.ECONOMY,  "VIN123", 2021,  VehicleStatus.OUT_OF_SERVICE);
-        VehicleResponse updated = new VehicleResponse(id, "Honda", VehicleSegment.ECONOMY, "VIN123", 2023,VehicleStatus.MAINTENANCE);
+        VehicleResponse updated = new VehicleResponse(id, "Honda", VehicleSegment.ECONOMY, "VIN123", 2023,VehicleStatus.MAINTENANCE, 0);
 
-        when(service.updateVehicle(id, request)).thenReturn(updated);
+        when(service.updateVehicle(id, request, null)).thenReturn(updated);
 
-        ResponseEntity<VehicleResponse> result = controller.updateVehicle(id, request);
+        ResponseEntity<VehicleResponse> result = controller.updateVehicle(id, null, request);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
         assertEquals(updated, result.getBody());
-        verify(service, times(1)).updateVehicle(id, request);
+        verify(service, times(1)).updateVehicle(id, request, null);
     }
 
     @Test
@@ -113,7 +136,7 @@ class VehicleControllerTest {
 
         when(service.createBooking(request)).thenReturn(bookingId);
 
-        ResponseEntity<UUID> result = controller.createBooking(request);
+        ResponseEntity<UUID> result = controller.createBooking(request, null);
 
         assertEquals(HttpStatus.CREATED, result.getStatusCode());
         assertEquals(bookingId, result.getBody());
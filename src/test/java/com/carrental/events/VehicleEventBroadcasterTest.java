@@ -0,0 +1,212 @@
+package com.carrental.events;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleEvent;
+import com.carrental.exception.TooManySubscribersException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VehicleEventBroadcasterTest {
+
+    private final ApplicationProperties props = new ApplicationProperties();
+    private VehicleEventBroadcaster broadcaster;
+
+    private VehicleEventBroadcaster broadcaster(int replayBuffer, int subscriberQueue, int maxSubscribers) {
+        props.getVehicleEvents().setReplayBuffer(replayBuffer);
+        props.getVehicleEvents().setSubscriberQueue(subscriberQueue);
+        props.getVehicleEvents().setMaxSubscribers(maxSubscribers);
+        props.getVehicleEvents().setSenderThreads(2);
+        broadcaster = new VehicleEventBroadcaster(props, new SimpleMeterRegistry());
+        return broadcaster;
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribersReceiveEventsInPublishOrder() {
+        VehicleEventBroadcaster events = broadcaster(16, 64, 10);
+        Recording first = subscribe(events, null);
+        Recording second = subscribe(events, null);
+
+        List<VehicleEvent> published = publish(events, 50);
+
+        awaitWithin(Duration.ofSeconds(5), () -> first.events().size() == 50 && second.events().size() == 50);
+        assertEquals(published, first.events());
+        assertEquals(published, second.events());
+        assertEquals(first.ids(), second.ids());
+    }
+
+    @Test
+    void slowSubscriber_isDisconnectedWithoutBlockingThePublisher() throws Exception {
+        VehicleEventBroadcaster events = broadcaster(16, 4, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        Recording stuck = new Recording(release);
+        events.subscribe(null, stuck);
+        Recording fast = subscribe(events, null);
+
+        List<VehicleEvent> published = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 50; i++) {
+                published.addAll(publish(events, 1));
+                int sent = published.size();
+                awaitWithin(Duration.ofSeconds(1), () -> fast.events().size() == sent);
+            }
+        });
+
+        assertEquals(published, fast.events());
+        assertEquals(1, events.subscriberCount(), "the stuck subscriber is dropped");
+        release.countDown();
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS), "and its stream is closed once the send returns");
+    }
+
+    @Test
+    void lastEventId_replaysOnlyWhatWasMissed() {
+        VehicleEventBroadcaster events = broadcaster(16, 64, 10);
+        Recording before = subscribe(events, null);
+        publish(events, 3);
+        awaitWithin(Duration.ofSeconds(5), () -> before.ids().size() == 3);
+        List<VehicleEvent> missed = publish(events, 4);
+
+        Recording resumed = subscribe(events, before.ids().get(2));
+
+        awaitWithin(Duration.ofSeconds(5), () -> resumed.events().size() == 4);
+        assertEquals(missed, resumed.events());
+        assertFalse(resumed.names().contains(VehicleEventBroadcaster.RESET));
+    }
+
+    @Test
+    void lastEventIdNoLongerReplayable_getsReset() {
+        VehicleEventBroadcaster events = broadcaster(4, 64, 10);
+        Recording before = subscribe(events, null);
+        publish(events, 1);
+        awaitWithin(Duration.ofSeconds(5), () -> before.ids().size() == 1);
+        publish(events, 10); // more than the ring holds
+
+        Recording tooOld = subscribe(events, before.ids().get(0));
+        Recording otherInstance = subscribe(events, "0a1b2c3d-7");
+
+        awaitWithin(Duration.ofSeconds(5), () -> tooOld.names().size() == 1 && otherInstance.names().size() == 1);
+        assertEquals(List.of(VehicleEventBroadcaster.RESET), tooOld.names());
+        assertEquals(List.of(VehicleEventBroadcaster.RESET), otherInstance.names());
+        assertTrue(tooOld.events().isEmpty());
+
+        publish(events, 1);
+        awaitWithin(Duration.ofSeconds(5), () -> tooOld.events().size() == 1);
+    }
+
+    @Test
+    void subscriberLimit_isEnforced() {
+        VehicleEventBroadcaster events = broadcaster(4, 4, 2);
+        subscribe(events, null);
+        subscribe(events, null);
+
+        assertThrows(TooManySubscribersException.class, () -> events.subscribe(null, new Recording(null)));
+    }
+
+    private static Recording subscribe(VehicleEventBroadcaster events, String lastEventId) {
+        Recording recording = new Recording(null);
+        events.subscribe(lastEventId, recording);
+        return recording;
+    }
+
+    private static List<VehicleEvent> publish(VehicleEventBroadcaster events, int count) {
+        List<VehicleEvent> published = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < count; i++) {
+            VehicleEvent event = VehicleEvent.deleted(UUID.randomUUID());
+            events.publish(event);
+            published.add(event);
+        }
+        return published;
+    }
+
+    private static void awaitWithin(Duration timeout, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within " + timeout);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Keeps what would have been written; optionally blocks every send until released. */
+    private static final class Recording extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<Set<ResponseBodyEmitter.DataWithMediaType>> sent = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        Recording(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build());
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        List<VehicleEvent> events() {
+            return sent.stream()
+                    .flatMap(Set::stream)
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(VehicleEvent.class::isInstance)
+                    .map(VehicleEvent.class::cast)
+                    .toList();
+        }
+
+        List<String> ids() {
+            return fields("id:");
+        }
+
+        List<String> names() {
+            return fields("event:");
+        }
+
+        private List<String> fields(String prefix) {
+            return sent.stream()
+                    .map(parts -> parts.stream()
+                            .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                            .filter(String.class::isInstance)
+                            .map(String.class::cast)
+                            .collect(Collectors.joining()))
+                    .flatMap(String::lines)
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.carrental.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void render_writesApiErrorShapeWithCode() throws Exception {
+        JsonNode body = objectMapper.readTree(ErrorBodies.render(
+                ErrorCode.BOOKING_CONFLICT, "Vehicle with VIN VIN1 is not available", "/api/v1/vehicles/bookings"));
+
+        assertEquals(409, body.get("status").asInt());
+        assertEquals("Conflict", body.get("error").asText());
+        assertEquals("BOOKING_CONFLICT", body.get("code").asText());
+        assertEquals("Vehicle with VIN VIN1 is not available", body.get("message").asText());
+        assertEquals("/api/v1/vehicles/bookings", body.get("path").asText());
+        assertNotNull(Instant.parse(body.get("timestamp").asText()));
+    }
+
+    @Test
+    void render_escapesMessageAndPath() throws Exception {
+        String message = "Provided name 'A \"B\"' does not match\né";
+        JsonNode body = objectMapper.readTree(ErrorBodies.render(ErrorCode.INVALID_LICENSE_OWNER_NAME, message, "/p\\q"));
+
+        assertEquals(message, body.get("message").asText());
+        assertEquals("/p\\q", body.get("path").asText());
+    }
+
+    @Test
+    void render_fallsBackToTheReasonPhrase() throws Exception {
+        JsonNode body = objectMapper.readTree(ErrorBodies.render(ErrorCode.VEHICLE_NOT_FOUND, null, null));
+
+        assertEquals("Not Found", body.get("message").asText());
+        assertEquals("", body.get("path").asText());
+    }
+
+    @Test
+    void domainExceptions_doNotCaptureStackTraces() {
+        BookingConflictException conflict = new BookingConflictException("taken");
+        assertEquals(0, conflict.getStackTrace().length);
+        assertEquals(ErrorCode.BOOKING_CONFLICT, conflict.getCode());
+
+        RuntimeException cause = new RuntimeException("remote failure");
+        BookingException wrapped = new BookingException("Booking failed", cause);
+        assertEquals(0, wrapped.getStackTrace().length);
+        assertTrue(cause.getStackTrace().length > 0);
+        assertSame(cause, wrapped.getCause());
+    }
+}
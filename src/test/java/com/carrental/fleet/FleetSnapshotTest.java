@@ -0,0 +1,92 @@
+package com.carrental.fleet;
+
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSearchPage;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FleetSnapshotTest {
+
+    private static final UUID LOW = UUID.fromString("00000000-0000-0001-0000-000000000000");
+    private static final UUID MIDDLE = UUID.fromString("7fffffff-ffff-ffff-0000-000000000000");
+    // negative as a signed long, yet sorted last like the database sorts it
+    private static final UUID HIGH = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+
+    @Test
+    void rowsComeBackAsLoaded_inUnsignedIdOrder() {
+        VehicleResponse high = vehicle(HIGH, "Van", VehicleSegment.LARGE, "VIN-Ü-1", null, VehicleStatus.RENTED, 7);
+        VehicleResponse low = vehicle(LOW, "Car", VehicleSegment.ECONOMY, "VIN-1", 2020, VehicleStatus.AVAILABLE, 0);
+        VehicleResponse middle = vehicle(MIDDLE, "Car", VehicleSegment.MEDIUM, "VIN-2", 2023, VehicleStatus.MAINTENANCE, 3);
+
+        FleetSnapshot snapshot = FleetSnapshot.of(List.of(high, low, middle));
+
+        assertEquals(List.of(low, middle, high), snapshot.all());
+        assertEquals(2, snapshot.indexOf(HIGH));
+        assertTrue(snapshot.indexOf(UUID.randomUUID()) < 0);
+        assertEquals(0, FleetSnapshot.of(List.of()).all().size());
+    }
+
+    @Test
+    void with_replacesInsertsAndDeletes() {
+        VehicleResponse low = vehicle(LOW, "Car", VehicleSegment.ECONOMY, "VIN-1", 2020, VehicleStatus.AVAILABLE, 0);
+        VehicleResponse high = vehicle(HIGH, "Car", VehicleSegment.ECONOMY, "VIN-3", 2020, VehicleStatus.AVAILABLE, 0);
+        FleetSnapshot before = FleetSnapshot.of(List.of(low, high));
+
+        VehicleResponse inserted = vehicle(MIDDLE, "Scooter", VehicleSegment.COMPACT, "VIN-LONGER-THAN-BEFORE", 2024, VehicleStatus.AVAILABLE, 0);
+        VehicleResponse updated = vehicle(HIGH, "Van", VehicleSegment.LARGE, "VIN-3", 2021, VehicleStatus.RENTED, 1);
+        FleetSnapshot after = before.with(List.of(LOW, MIDDLE, HIGH), List.of(updated, inserted));
+
+        assertEquals(List.of(inserted, updated), after.all());
+        assertEquals(List.of(low, high), before.all(), "the old snapshot is left as it was");
+        assertEquals(0, after.search(criteria("Car", null, null, null, null), 0, 10).totalElements(),
+                "types no longer used drop out");
+    }
+
+    @Test
+    void search_combinesFiltersAndPages() {
+        List<VehicleResponse> fleet = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fleet.add(vehicle(new UUID(0, i), "Car", VehicleSegment.MEDIUM, "VIN-C" + i, 2015 + i,
+                    i % 2 == 0 ? VehicleStatus.AVAILABLE : VehicleStatus.RESERVED, 0));
+        }
+        fleet.add(vehicle(new UUID(0, 10), "Van", VehicleSegment.MEDIUM, "VIN-V", 2020, VehicleStatus.AVAILABLE, 0));
+        fleet.add(vehicle(new UUID(0, 11), "Car", VehicleSegment.MEDIUM, "VIN-N", null, VehicleStatus.AVAILABLE, 0));
+        FleetSnapshot snapshot = FleetSnapshot.of(fleet);
+
+        VehicleSearchPage available = snapshot.search(
+                criteria("Car", VehicleSegment.MEDIUM, VehicleStatus.AVAILABLE, 2016, 2022), 0, 2);
+        assertEquals(List.of(2017, 2019), available.items().stream().map(VehicleResponse::modelYear).toList());
+        assertEquals(3, available.totalElements());
+        assertEquals(2, available.totalPages());
+
+        VehicleSearchPage last = snapshot.search(
+                criteria("Car", VehicleSegment.MEDIUM, VehicleStatus.AVAILABLE, 2016, 2022), 1, 2);
+        assertEquals(List.of(2021), last.items().stream().map(VehicleResponse::modelYear).toList());
+        assertEquals(3, last.totalElements());
+
+        assertEquals(12, snapshot.search(criteria(null, null, null, null, null), 0, 5).totalElements());
+        assertEquals(11, snapshot.search(criteria(null, null, null, null, 3000), 0, 5).totalElements(),
+                "a year range never matches a vehicle without a model year");
+        assertEquals(0, snapshot.search(criteria("Truck", null, null, null, null), 0, 5).totalElements());
+        assertEquals(0, snapshot.search(criteria(null, VehicleSegment.LUXURY, null, null, null), 0, 5).totalPages());
+        assertTrue(snapshot.search(criteria(null, null, null, null, null), 100, 5).items().isEmpty());
+    }
+
+    private static VehicleSearchCriteria criteria(String type, VehicleSegment segment, VehicleStatus status,
+                                                  Integer from, Integer to) {
+        return new VehicleSearchCriteria(type, segment, status, from, to);
+    }
+
+    private static VehicleResponse vehicle(UUID id, String type, VehicleSegment segment, String vin,
+                                           Integer modelYear, VehicleStatus status, long version) {
+        return new VehicleResponse(id, type, segment, vin, modelYear, status, version);
+    }
+}
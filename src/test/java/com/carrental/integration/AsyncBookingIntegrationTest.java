@@ -0,0 +1,145 @@
+package com.carrental.integration;
+
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.BookingSubmissionResponse;
+import com.carrental.dto.BookingSubmissionStatus;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.BookingSubmission;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.repository.BookingSubmissionRepository;
+import com.carrental.service.AsyncBookingService;
+import com.carrental.service.VehicleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class AsyncBookingIntegrationTest {
+
+    @Autowired
+    private AsyncBookingService asyncBookingService;
+
+    @Autowired
+    private BookingSubmissionRepository submissionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private VehicleService vehicleService;
+
+    @Test
+    void submit_isJournalledAndCompletedByWorker() throws Exception {
+        UUID bookingId = UUID.randomUUID();
+        when(vehicleService.prepareBooking(any(BookingRequest.class))).thenReturn(prepared());
+        when(vehicleService.persistBooking(any(VehicleService.PreparedBooking.class))).thenReturn(bookingId);
+
+        BookingSubmissionResponse accepted = asyncBookingService.submit(request());
+        assertNotNull(accepted.requestId());
+        assertEquals(BookingSubmissionStatus.PENDING, accepted.status());
+
+        BookingSubmissionResponse done = awaitFinished(accepted.requestId());
+        assertEquals(BookingSubmissionStatus.COMPLETED, done.status());
+        assertEquals(bookingId, done.bookingId());
+    }
+
+    @Test
+    void submit_failureIsRecordedOnTheJournal() throws Exception {
+        when(vehicleService.prepareBooking(any(BookingRequest.class))).thenReturn(prepared());
+        when(vehicleService.persistBooking(any(VehicleService.PreparedBooking.class)))
+                .thenThrow(new BookingConflictException("Vehicle with VIN VIN1 is not available for the requested dates"));
+
+        BookingSubmissionResponse accepted = asyncBookingService.submit(request());
+
+        BookingSubmissionResponse done = awaitFinished(accepted.requestId());
+        assertEquals(BookingSubmissionStatus.FAILED, done.status());
+        assertNull(done.bookingId());
+        assertTrue(done.error().contains("not available"));
+    }
+
+    @Test
+    void pendingEntryReplayedByEveryNode_isBookedOnce() throws Exception {
+        String vin = "VIN-R-" + UUID.randomUUID().toString().substring(0, 8);
+        UUID bookingId = UUID.randomUUID();
+        when(vehicleService.prepareBooking(any(BookingRequest.class))).thenAnswer(inv -> prepared(inv.getArgument(0)));
+        when(vehicleService.persistBooking(any(VehicleService.PreparedBooking.class))).thenReturn(bookingId);
+        UUID requestId = journal(request(vin), BookingSubmissionStatus.PENDING, null);
+
+        // what two nodes starting side by side do
+        asyncBookingService.replayPending();
+        asyncBookingService.replayPending();
+
+        BookingSubmissionResponse done = awaitFinished(requestId);
+        assertEquals(BookingSubmissionStatus.COMPLETED, done.status());
+        assertEquals(bookingId, done.bookingId());
+        verify(vehicleService, times(1)).persistBooking(argThat(p -> p.request().vin().equals(vin)));
+    }
+
+    @Test
+    void entryClaimedByACrashedWorker_isReleasedAndReplayed() throws Exception {
+        String vin = "VIN-S-" + UUID.randomUUID().toString().substring(0, 8);
+        when(vehicleService.prepareBooking(any(BookingRequest.class))).thenAnswer(inv -> prepared(inv.getArgument(0)));
+        when(vehicleService.persistBooking(any(VehicleService.PreparedBooking.class))).thenReturn(UUID.randomUUID());
+        UUID stale = journal(request(vin), BookingSubmissionStatus.PROCESSING, Instant.now().minus(Duration.ofHours(1)));
+        UUID recent = journal(request(vin), BookingSubmissionStatus.PROCESSING, Instant.now());
+
+        asyncBookingService.recoverStaleClaims();
+
+        assertEquals(BookingSubmissionStatus.COMPLETED, awaitFinished(stale).status());
+        assertEquals(BookingSubmissionStatus.PROCESSING, asyncBookingService.getSubmission(recent).status(),
+                "a claim younger than the timeout still belongs to its worker");
+        submissionRepository.deleteById(recent);
+    }
+
+    private UUID journal(BookingRequest request, BookingSubmissionStatus status, Instant updatedAt) throws Exception {
+        return submissionRepository.save(BookingSubmission.builder()
+                .payload(objectMapper.writeValueAsString(request))
+                .status(status)
+                .createdAt(Instant.now())
+                .updatedAt(updatedAt)
+                .build()).getId();
+    }
+
+    private BookingSubmissionResponse awaitFinished(UUID requestId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var current = asyncBookingService.getSubmission(requestId);
+            if (current.status() == BookingSubmissionStatus.COMPLETED || current.status() == BookingSubmissionStatus.FAILED) {
+                return current;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Submission " + requestId + " was not processed");
+    }
+
+    private static VehicleService.PreparedBooking prepared() {
+        return prepared(request());
+    }
+
+    private static VehicleService.PreparedBooking prepared(BookingRequest request) {
+        return new VehicleService.PreparedBooking(request, "John Doe", 3, new BigDecimal("75.00"));
+    }
+
+    private static BookingRequest request() {
+        return request("VIN1");
+    }
+
+    private static BookingRequest request(String vin) {
+        return new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), VehicleSegment.COMPACT, vin);
+    }
+}
@@ -0,0 +1,47 @@
+package com.carrental.integration;
+
+import com.carrental.CarRentalApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database created before Flyway, holding only the baseline tables, is baselined at V1 as in
+ * prod; every later migration must then bring it to a schema Hibernate validates.
+ */
+class BaselineMigrationIntegrationTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:pre-flyway;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Test
+    void databaseFromBeforeMigrations_isBaselinedAtV1AndUpgraded() throws Exception {
+        try (Connection connection = DriverManager.getConnection(DB_URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/h2/V1__baseline_schema.sql"));
+        }
+
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(CarRentalApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + DB_URL,
+                        "--spring.flyway.baseline-on-migrate=true",
+                        "--spring.flyway.baseline-version=1")) {
+            JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+            assertEquals("BASELINE", jdbc.queryForObject(
+                    "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class));
+            for (String table : List.of("bookings_archive", "booking_submissions", "idempotency_keys",
+                    "segment_daily_occupancy", "cache_invalidations")) {
+                assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class), table);
+            }
+            assertEquals(List.of("archival"), jdbc.queryForList("SELECT lease_key FROM booking_leases", String.class));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.carrental.integration;
+
+import com.carrental.cache.BodyFormat;
+import com.carrental.entity.ArchivedBooking;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class BinaryFormatsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private MockMvc mockMvc;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        cbor = BodyFormat.CBOR.mapper(objectMapper);
+        smile = BodyFormat.SMILE.mapper(objectMapper);
+    }
+
+    @Test
+    void smileRequest_cborResponse() throws Exception {
+        String vin = "VIN-BIN-" + UUID.randomUUID();
+        MvcResult created = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(BodyFormat.SMILE.mediaType())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(smile.writeValueAsBytes(
+                                new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode vehicle = cbor.readTree(created.getResponse().getContentAsByteArray());
+        assertEquals(vin, vehicle.get("vin").asText());
+        assertEquals("ECONOMY", vehicle.get("segment").asText());
+    }
+
+    @Test
+    void list_isNegotiatedByAccept() throws Exception {
+        String vin = "VIN-BIN-" + UUID.randomUUID();
+        createVehicle(vin);
+
+        byte[] body = mockMvc.perform(get("/api/v1/vehicles").accept(BodyFormat.SMILE.mediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BodyFormat.SMILE.mediaType()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode list = smile.readTree(body);
+        assertTrue(list.isArray());
+        assertTrue(list.findValuesAsText("vin").contains(vin));
+
+        mockMvc.perform(get("/api/v1/vehicles"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void searchAndBookingDetails_areNegotiatedByAccept() throws Exception {
+        String vin = "VIN-BIN-" + UUID.randomUUID();
+        createVehicle(vin);
+        byte[] page = mockMvc.perform(get("/api/v1/vehicles/search").param("size", "100")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertTrue(cbor.readTree(page).get("totalElements").asLong() > 0);
+
+        LocalDate start = LocalDate.of(2020, 5, 1);
+        ArchivedBooking booking = archivedBookingRepository.save(ArchivedBooking.builder()
+                .id(UUID.randomUUID())
+                .licenseNumber("BIN-1").customerName("Bin Ary").age(30)
+                .segment(VehicleSegment.ECONOMY)
+                .startDate(start).endDate(start.plusDays(1))
+                .rentalDays(2).rentalPrice(new BigDecimal("60.00"))
+                .customerId(UUID.randomUUID()).vehicleId(UUID.randomUUID()).archivedAt(Instant.now())
+                .build());
+        byte[] details = mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", booking.getId())
+                        .accept(BodyFormat.SMILE.mediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BodyFormat.SMILE.mediaType()))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("2020-05-01", smile.readTree(details).get("reservationStartDate").asText());
+
+        mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", booking.getId()).accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/v1/vehicles/search").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void unsupportedAccept_isNotAcceptable() throws Exception {
+        String id = createVehicle("VIN-BIN-" + UUID.randomUUID());
+
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.code").value("NOT_ACCEPTABLE"));
+        mockMvc.perform(get("/api/v1/vehicles").param("fields", "id,vin")
+                        .header(HttpHeaders.ACCEPT, "application/xml, application/cbor;q=0"))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get("/api/v1/vehicles/bookings/requests/{id}", UUID.randomUUID()).accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(jsonPath("$.code").value("NOT_ACCEPTABLE"));
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void single_hasOneETagPerRepresentation() throws Exception {
+        String vin = "VIN-BIN-" + UUID.randomUUID();
+        String id = createVehicle(vin);
+
+        byte[] body = mockMvc.perform(get("/api/v1/vehicles/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0.cbor\""))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(vin, cbor.readTree(body).get("vin").asText());
+
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v0.cbor\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"v0.cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""))
+                .andExpect(jsonPath("$.vin").value(vin));
+
+        // any representation's ETag names the version for If-Match
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "\"v0.cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"RENTED\"}"))
+                .andExpect(status().isNoContent());
+        body = mockMvc.perform(get("/api/v1/vehicles/{id}", id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1.cbor\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("RENTED", cbor.readTree(body).get("status").asText());
+    }
+
+    private String createVehicle(String vin) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
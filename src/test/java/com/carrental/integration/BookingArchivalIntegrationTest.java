@@ -0,0 +1,177 @@
+package com.carrental.integration;
+
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.BookingHistoryPage;
+import com.carrental.dto.BookingResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.carrental.service.BookingArchivalService;
+import com.carrental.service.BookingHistoryService;
+import com.carrental.service.BookingLeaseService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.archival.chunk-size=2", "app.archival.pause=PT0S"})
+public class BookingArchivalIntegrationTest {
+
+    @Autowired
+    private BookingArchivalService archivalService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private BookingHistoryService bookingHistoryService;
+
+    @Autowired
+    private BookingLeaseService bookingLeaseService;
+
+    @Test
+    void archive_movesFinishedBookingsInChunks_andDetailsFallBack() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Arch").lastName("Ive").age(50)
+                .email("arch-" + suffix + "@example.com")
+                .drivingLicenseNumber("AR" + suffix)
+                .build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .type("Van").segment(VehicleSegment.MEDIUM).vin("VIN-AR-" + suffix)
+                .modelYear(2015).status(VehicleStatus.AVAILABLE)
+                .build());
+
+        LocalDate longAgo = LocalDate.now().minusYears(3);
+        List<UUID> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(save(customer, vehicle, longAgo.plusDays(i * 3L)).getId());
+        }
+        UUID recent = save(customer, vehicle, LocalDate.now().minusDays(5)).getId();
+
+        long moved = archivalService.archive(LocalDate.now().minusYears(1));
+
+        assertTrue(moved >= old.size());
+        old.forEach(id -> {
+            assertFalse(bookingRepository.existsById(id));
+            assertTrue(archivedBookingRepository.existsById(id));
+        });
+        assertTrue(bookingRepository.existsById(recent));
+        assertFalse(archivedBookingRepository.existsById(recent));
+
+        var archived = archivedBookingRepository.findById(old.get(0)).orElseThrow();
+        assertEquals(customer.getId(), archived.getCustomerId());
+        assertEquals(vehicle.getId(), archived.getVehicleId());
+        assertNotNull(archived.getArchivedAt());
+
+        BookingResponse details = vehicleService.getBookingDetails(old.get(0));
+        assertEquals(longAgo, details.reservationStartDate());
+        assertEquals(0, new BigDecimal("20.00").compareTo(details.rentalPrice()));
+        assertEquals(recent, vehicleService.getBookingDetails(recent).bookingId());
+    }
+
+    @Test
+    void history_includesArchivedBookings_newestFirstAcrossPages() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Arch").lastName("Ive").age(50)
+                .email("arch-hist-" + suffix + "@example.com")
+                .drivingLicenseNumber("AH" + suffix)
+                .build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .type("Van").segment(VehicleSegment.MEDIUM).vin("VIN-AH-" + suffix)
+                .modelYear(2015).status(VehicleStatus.AVAILABLE)
+                .build());
+        LocalDate longAgo = LocalDate.now().minusYears(3);
+        List<UUID> newestFirst = new ArrayList<>();
+        newestFirst.add(save(customer, vehicle, LocalDate.now().plusDays(20)).getId());
+        newestFirst.add(save(customer, vehicle, LocalDate.now().minusDays(5)).getId());
+        for (int i = 4; i >= 0; i--) {
+            newestFirst.add(save(customer, vehicle, longAgo.plusDays(i * 3L)).getId());
+        }
+
+        archivalService.archive(LocalDate.now().minusYears(1));
+
+        List<UUID> customerPages = new ArrayList<>();
+        List<UUID> vehiclePages = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            BookingHistoryPage byCustomer = bookingHistoryService.customerHistory(customer.getId(), null, null, page, 3);
+            assertEquals(7, byCustomer.totalElements());
+            assertEquals(3, byCustomer.totalPages());
+            byCustomer.items().forEach(item -> customerPages.add(item.bookingId()));
+            bookingHistoryService.vehicleHistory(vehicle.getId(), null, null, page, 3)
+                    .items().forEach(item -> vehiclePages.add(item.bookingId()));
+        }
+        assertEquals(newestFirst, customerPages);
+        assertEquals(newestFirst, vehiclePages);
+        assertTrue(bookingHistoryService.customerHistory(customer.getId(), null, null, 3, 3).items().isEmpty());
+
+        BookingHistoryItem archived = bookingHistoryService.customerHistory(customer.getId(), longAgo, longAgo, 0, 3).items().get(0);
+        assertEquals(newestFirst.get(6), archived.bookingId());
+        assertEquals(vehicle.getVin(), archived.vin());
+        assertEquals(customer.getId(), archived.customerId());
+    }
+
+    @Test
+    void archive_skipsTheRun_whileAnotherNodeHoldsTheClaim() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Arch").lastName("Ive").age(50)
+                .email("arch-claim-" + suffix + "@example.com")
+                .drivingLicenseNumber("AC" + suffix)
+                .build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .type("Van").segment(VehicleSegment.MEDIUM).vin("VIN-AC-" + suffix)
+                .modelYear(2015).status(VehicleStatus.AVAILABLE)
+                .build());
+        UUID old = save(customer, vehicle, LocalDate.now().minusYears(3)).getId();
+
+        BookingLeaseService.Lease elsewhere = bookingLeaseService.claim("archival", Duration.ofMinutes(1)).orElseThrow();
+        try {
+            assertEquals(0, archivalService.archive(LocalDate.now().minusYears(1)));
+            assertTrue(bookingRepository.existsById(old));
+        } finally {
+            bookingLeaseService.release(elsewhere);
+        }
+
+        assertTrue(archivalService.archive(LocalDate.now().minusYears(1)) >= 1);
+        assertTrue(archivedBookingRepository.existsById(old));
+    }
+
+    private Booking save(Customer customer, Vehicle vehicle, LocalDate start) {
+        return bookingRepository.save(Booking.builder()
+                .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Arch Ive").age(50)
+                .segment(VehicleSegment.MEDIUM)
+                .startDate(start).endDate(start.plusDays(1))
+                .rentalDays(2).rentalPrice(new BigDecimal("20.00"))
+                .customer(customer).vehicle(vehicle)
+                .build());
+    }
+}
@@ -0,0 +1,145 @@
+package com.carrental.integration;
+
+import com.carrental.dto.BookingHistoryItem;
+import com.carrental.dto.BookingHistoryPage;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.exception.CustomerNotFoundException;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.carrental.service.BookingHistoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookingHistoryIntegrationTest {
+
+    private static final int BOOKINGS = 12;
+
+    @Autowired
+    private BookingHistoryService bookingHistoryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Customer customer;
+    private final List<Vehicle> vehicles = new ArrayList<>();
+    private final LocalDate base = LocalDate.now().plusYears(2);
+
+    @BeforeEach
+    void setup() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Hist").lastName("Ory").age(45)
+                .email("hist-" + suffix + "@example.com")
+                .drivingLicenseNumber("HI" + suffix)
+                .build());
+        for (int i = 0; i < BOOKINGS; i++) {
+            Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                    .type("Car").segment(VehicleSegment.COMPACT).vin("VIN-HI-" + suffix + "-" + i)
+                    .modelYear(2021).status(VehicleStatus.AVAILABLE)
+                    .build());
+            vehicles.add(vehicle);
+            bookingRepository.save(Booking.builder()
+                    .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Hist Ory").age(45)
+                    .segment(VehicleSegment.COMPACT)
+                    .startDate(base.plusDays(i * 3L)).endDate(base.plusDays(i * 3L + 1))
+                    .rentalDays(2).rentalPrice(new BigDecimal("40.00"))
+                    .customer(customer).vehicle(vehicle)
+                    .build());
+        }
+    }
+
+    @Test
+    void customerHistory_pageCostsAFixedNumberOfStatements() {
+        BookingHistoryPage small = bookingHistoryService.customerHistory(customer.getId(), null, null, 0, 2);
+        Cost smallPage = cost(() -> bookingHistoryService.customerHistory(customer.getId(), null, null, 0, 2));
+
+        BookingHistoryPage large = bookingHistoryService.customerHistory(customer.getId(), null, null, 0, 10);
+        Cost largePage = cost(() -> bookingHistoryService.customerHistory(customer.getId(), null, null, 0, 10));
+
+        assertEquals(2, small.items().size());
+        assertEquals(10, large.items().size());
+        assertEquals(BOOKINGS, large.totalElements());
+        assertEquals(2, large.totalPages());
+        assertTrue(large.items().stream().allMatch(item -> item.vin().startsWith("VIN-HI-")));
+        assertEquals(4, smallPage.statements(), "owner check, archive count, page and count");
+        assertEquals(smallPage.statements(), largePage.statements());
+        assertEquals(0, smallPage.entityLoads() + largePage.entityLoads());
+    }
+
+    @Test
+    void customerHistory_filtersByDateAndOrdersNewestFirst() {
+        BookingHistoryPage page = bookingHistoryService.customerHistory(
+                customer.getId(), base.plusDays(4), base.plusDays(10), 0, 20);
+
+        List<LocalDate> starts = page.items().stream().map(BookingHistoryItem::reservationStartDate).toList();
+        assertEquals(List.of(base.plusDays(9), base.plusDays(6), base.plusDays(3)), starts);
+        assertEquals(3, page.totalElements());
+    }
+
+    @Test
+    void vehicleHistory_returnsOnlyThatVehicle() {
+        BookingHistoryPage page = bookingHistoryService.vehicleHistory(vehicles.get(5).getId(), null, null, 0, 20);
+        Cost cost = cost(() -> bookingHistoryService.vehicleHistory(vehicles.get(5).getId(), null, null, 0, 20));
+
+        assertEquals(1, page.items().size());
+        assertEquals(vehicles.get(5).getVin(), page.items().get(0).vin());
+        assertEquals(customer.getId(), page.items().get(0).customerId());
+        // the count is skipped when the first page is not full
+        assertTrue(cost.statements() <= 4);
+        assertEquals(0, cost.entityLoads());
+    }
+
+    @Test
+    void customerHistory_unknownCustomer_throws() {
+        assertThrows(CustomerNotFoundException.class,
+                () -> bookingHistoryService.customerHistory(UUID.randomUUID(), null, null, 0, 20));
+    }
+
+    private record Cost(long statements, long entityLoads) {}
+
+    /**
+     * Statistics cover every session, background jobs' included, so a read is repeated and the
+     * cheapest run counts.
+     */
+    private Cost cost(Runnable read) {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Cost cheapest = null;
+        for (int run = 0; run < 3; run++) {
+            stats.clear();
+            read.run();
+            Cost cost = new Cost(stats.getPrepareStatementCount(), stats.getEntityLoadCount());
+            if (cheapest == null || cost.statements() < cheapest.statements()) {
+                cheapest = cost;
+            }
+        }
+        return cheapest;
+    }
+}
@@ -0,0 +1,205 @@
+package com.carrental.integration;
+
+import com.carrental.CarRentalApplication;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.LeaseExpiredException;
+import com.carrental.exception.VehicleBusyException;
+import com.carrental.service.BookingLeaseService;
+import com.carrental.service.CustomerService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three application contexts in one JVM sharing one H2 database, standing in for replicas behind
+ * a load balancer. Bookings go straight to {@link VehicleService#persistBooking}, so no remote
+ * licence or pricing service is involved.
+ */
+class BookingLeaseClusterIntegrationTest {
+
+    private static final int NODES = 3;
+    // H2 waits on row locks for LOCK_TIMEOUT rather than the query timeout; keep it at the lease wait
+    private static final String DB_URL =
+            "jdbc:h2:mem:lease-cluster;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=1000";
+    private static final Duration TTL = Duration.ofSeconds(2);
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        // one after another, so only the first one runs the migrations
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(CarRentalApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=" + DB_URL,
+                            "--spring.jpa.show-sql=false",
+                            "--app.booking-lease.node-id=node-" + i,
+                            "--app.booking-lease.ttl=" + TTL.toMillis() + "ms",
+                            "--app.booking-lease.wait=1s"));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void sameDatesOnEveryNode_exactlyOneBookingWins() throws Exception {
+        Fixture vehicle = fixture();
+        LocalDate start = LocalDate.of(2033, 5, 1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        runOnAllNodes(30, (node, i) -> {
+            try {
+                persist(node, vehicle, start, start.plusDays(2));
+                booked.incrementAndGet();
+            } catch (BookingConflictException | VehicleBusyException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, booked.get());
+        assertEquals(29, refused.get());
+        assertEquals(1, bookingsOf(vehicle));
+    }
+
+    @Test
+    void disjointDatesOnEveryNode_runOneAtATimeAndAllCommit() throws Exception {
+        Fixture vehicle = fixture();
+        LocalDate start = LocalDate.of(2034, 1, 1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger busy = new AtomicInteger();
+
+        runOnAllNodes(24, (node, i) -> {
+            try {
+                persist(node, vehicle, start.plusDays(i * 3L), start.plusDays(i * 3L + 1));
+                booked.incrementAndGet();
+            } catch (VehicleBusyException e) {
+                busy.incrementAndGet();
+            }
+        });
+
+        assertEquals(24, booked.get() + busy.get());
+        assertTrue(booked.get() >= 20, "only " + booked + " of 24 committed");
+        assertEquals(booked.get(), bookingsOf(vehicle));
+    }
+
+    @Test
+    void pausedHolder_blocksOthersBriefly_andIsRolledBackAtCommit() throws Exception {
+        Fixture vehicle = fixture();
+        String key = BookingLeaseService.vehicleKey(vehicle.vin());
+        CountDownLatch held = new CountDownLatch(1);
+
+        CompletableFuture<Void> paused = CompletableFuture.runAsync(() ->
+                nodes.get(0).getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+                    nodes.get(0).getBean(BookingLeaseService.class).acquire(key);
+                    held.countDown();
+                    sleep(TTL.plusMillis(500)); // e.g. a long GC pause
+                }));
+        assertTrue(held.await(10, TimeUnit.SECONDS));
+
+        long waitStart = System.nanoTime();
+        LocalDate start = LocalDate.of(2035, 7, 1);
+        assertThrows(VehicleBusyException.class, () -> persist(nodes.get(1), vehicle, start, start));
+        assertTrue(System.nanoTime() - waitStart < TTL.toNanos(), "contender waited for the whole pause");
+
+        Exception expired = assertThrows(Exception.class, paused::join);
+        assertInstanceOf(LeaseExpiredException.class, expired.getCause());
+
+        persist(nodes.get(2), vehicle, start, start);
+        assertEquals(1, bookingsOf(vehicle));
+    }
+
+    private record Fixture(String license, String vin) {}
+
+    private interface NodeTask {
+        void run(ConfigurableApplicationContext node, int index) throws Exception;
+    }
+
+    private static void runOnAllNodes(int tasks, NodeTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(12);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    task.run(nodes.get(index % NODES), index);
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Fixture fixture() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        ConfigurableApplicationContext node = nodes.get(0);
+        node.getBean(CustomerService.class).createCustomer(new CustomerRequest(
+                "Lea", "Se", 35, "lease-" + suffix + "@example.com", "LS" + suffix, "+1234567890"));
+        String vin = "VIN-LS-" + suffix;
+        node.getBean(VehicleService.class).createVehicle(
+                new VehicleRequest("Car", VehicleSegment.MEDIUM, vin, 2023, VehicleStatus.AVAILABLE));
+        return new Fixture("LS" + suffix, vin);
+    }
+
+    private static void persist(ConfigurableApplicationContext node, Fixture vehicle, LocalDate start, LocalDate end) {
+        long days = end.toEpochDay() - start.toEpochDay() + 1;
+        var request = new BookingRequest(vehicle.license(), "Lea Se", 35, start, end, VehicleSegment.MEDIUM, vehicle.vin());
+        node.getBean(VehicleService.class).persistBooking(
+                new VehicleService.PreparedBooking(request, "Lea Se", days, BigDecimal.valueOf(40 * days)));
+    }
+
+    private static long bookingsOf(Fixture vehicle) {
+        return jdbc().queryForObject(
+                "SELECT COUNT(*) FROM bookings b JOIN vehicles v ON v.id = b.vehicle_id WHERE v.vin = ?",
+                Long.class, vehicle.vin());
+    }
+
+    private static JdbcTemplate jdbc() {
+        return nodes.get(0).getBean(JdbcTemplate.class);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.carrental.integration;
+
+import com.carrental.CarRentalApplication;
+import com.carrental.cache.BodyFormat;
+import com.carrental.cache.ResponseCacheInvalidator;
+import com.carrental.cache.SerializedResponseCache;
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.CustomerResponse;
+import com.carrental.dto.VehiclePatchRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.fleet.FleetCatalog;
+import com.carrental.service.CustomerService;
+import com.carrental.service.VehicleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts in one JVM sharing one H2 database: writes on one evict the cached
+ * bodies of the other through the cache_invalidations table.
+ */
+class CacheInvalidationClusterIntegrationTest {
+
+    private static final String DB_URL = "jdbc:h2:mem:invalidation-cluster;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void startNodes() {
+        for (int i = 0; i < 2; i++) {
+            nodes.add(new SpringApplicationBuilder(CarRentalApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=" + DB_URL,
+                            "--spring.jpa.show-sql=false",
+                            "--app.invalidation-bus.poll-interval=" + POLL_INTERVAL));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void vehiclePatchedOnOneNode_isEvictedOnTheOtherWithinAFewPolls() {
+        UUID id = createVehicle();
+        String key = SerializedResponseCache.key(ResponseCacheInvalidator.VEHICLES, id);
+        cachedVehicle(nodes.get(0), id);
+        long before = cachedVehicle(nodes.get(1), id).version();
+        long applied = lagCount(nodes.get(1));
+
+        long version = nodes.get(0).getBean(VehicleService.class)
+                .patchVehicle(id, new VehiclePatchRequest(null, null, null, VehicleStatus.MAINTENANCE), null);
+        assertTrue(version > before);
+        assertNull(cache(nodes.get(0)).get(key, BodyFormat.JSON), "the writer evicts its own copy at commit");
+
+        awaitWithin(Duration.ofSeconds(2), () -> cache(nodes.get(1)).get(key, BodyFormat.JSON) == null);
+        assertEquals(version, cachedVehicle(nodes.get(1), id).version());
+        assertEquals(VehicleStatus.MAINTENANCE, cachedVehicle(nodes.get(1), id).status());
+        awaitWithin(Duration.ofSeconds(1), () -> lagCount(nodes.get(1)) > applied); // lag is recorded per applied invalidation
+    }
+
+    @Test
+    void customerDeletedOnOneNode_isNotServedFromTheOthersCache() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        UUID id = nodes.get(1).getBean(CustomerService.class).createCustomer(new CustomerRequest(
+                "In", "Val", 40, "inv-" + suffix + "@example.com", "IV" + suffix, "+1234567890")).id();
+        String key = SerializedResponseCache.key(ResponseCacheInvalidator.CUSTOMERS, id);
+        CustomerService customers = nodes.get(0).getBean(CustomerService.class);
+        cache(nodes.get(0)).get(key, BodyFormat.JSON, () -> customers.getCustomerById(id), CustomerResponse::version);
+
+        assertTrue(nodes.get(1).getBean(CustomerService.class).deleteCustomer(id));
+
+        awaitWithin(Duration.ofSeconds(2), () -> cache(nodes.get(0)).get(key, BodyFormat.JSON) == null);
+    }
+
+    @Test
+    void invalidation_isWrittenInTheWritersTransaction_andRolledBackWithIt() {
+        UUID id = createVehicle();
+        String key = SerializedResponseCache.key(ResponseCacheInvalidator.VEHICLES, id);
+        long published = invalidationsOf(key);
+
+        nodes.get(0).getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            nodes.get(0).getBean(VehicleService.class)
+                    .patchVehicle(id, new VehiclePatchRequest(null, null, null, VehicleStatus.MAINTENANCE), null);
+            assertEquals(published + 1, invalidationsOf(key), "inserted before the write commits");
+            status.setRollbackOnly();
+        });
+
+        assertEquals(published, invalidationsOf(key));
+    }
+
+    @Test
+    void vehicleWrittenOnOneNode_reachesTheOthersFleetSnapshot() {
+        FleetCatalog fleet = nodes.get(1).getBean(FleetCatalog.class);
+        fleet.snapshot();
+        UUID id = createVehicle();
+        awaitWithin(Duration.ofSeconds(2), () -> fleet.snapshot().find(id).isPresent());
+
+        nodes.get(0).getBean(VehicleService.class)
+                .patchVehicle(id, new VehiclePatchRequest(null, null, null, VehicleStatus.RENTED), null);
+        awaitWithin(Duration.ofSeconds(2), () ->
+                fleet.snapshot().find(id).map(VehicleResponse::status).orElse(null) == VehicleStatus.RENTED);
+
+        nodes.get(0).getBean(VehicleService.class).deleteVehicle(id);
+        awaitWithin(Duration.ofSeconds(2), () -> fleet.snapshot().find(id).isEmpty());
+    }
+
+    @Test
+    void invalidationCommittedAfterALaterOne_isPickedUpFromTheGap() throws Exception {
+        String late = "vehicles/" + UUID.randomUUID();
+        String early = "vehicles/" + UUID.randomUUID();
+        SerializedResponseCache cache = cache(nodes.get(1));
+        cache.get(late, BodyFormat.JSON, () -> "cached", v -> 1);
+        cache.get(early, BodyFormat.JSON, () -> "cached", v -> 1);
+
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() ->
+                nodes.get(0).getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+                    insertInvalidation(late);
+                    inserted.countDown();
+                    await(commit);
+                }));
+        assertTrue(inserted.await(5, TimeUnit.SECONDS));
+        insertInvalidation(early);
+
+        awaitWithin(Duration.ofSeconds(2), () -> cache.get(early, BodyFormat.JSON) == null);
+        assertNotNull(cache.get(late, BodyFormat.JSON), "not committed yet");
+
+        commit.countDown();
+        slowWriter.get(5, TimeUnit.SECONDS);
+        awaitWithin(Duration.ofSeconds(2), () -> cache.get(late, BodyFormat.JSON) == null);
+    }
+
+    @Test
+    void invalidation_arrivesWhileAScheduledJobHoldsTheSharedScheduler() throws Exception {
+        String key = "vehicles/" + UUID.randomUUID();
+        SerializedResponseCache cache = cache(nodes.get(1));
+        cache.get(key, BodyFormat.JSON, () -> "cached", v -> 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        nodes.get(1).getBean(TaskScheduler.class).schedule(() -> {
+            started.countDown();
+            await(finish); // e.g. an archival run or an occupancy rebuild
+        }, Instant.now());
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            insertInvalidation(key);
+
+            awaitWithin(Duration.ofSeconds(1), () -> cache.get(key, BodyFormat.JSON) == null);
+        } finally {
+            finish.countDown();
+        }
+    }
+
+    private static UUID createVehicle() {
+        String vin = "VIN-IV-" + UUID.randomUUID().toString().substring(0, 8);
+        return nodes.get(0).getBean(VehicleService.class)
+                .createVehicle(new VehicleRequest("Car", VehicleSegment.MEDIUM, vin, 2023, VehicleStatus.AVAILABLE))
+                .id();
+    }
+
+    private static VehicleResponse cachedVehicle(ConfigurableApplicationContext node, UUID id) {
+        VehicleService vehicles = node.getBean(VehicleService.class);
+        cache(node).get(SerializedResponseCache.key(ResponseCacheInvalidator.VEHICLES, id), BodyFormat.JSON,
+                () -> vehicles.getVehicle(id), VehicleResponse::version);
+        return vehicles.getVehicle(id);
+    }
+
+    private static void insertInvalidation(String key) {
+        nodes.get(0).getBean(JdbcTemplate.class).update(
+                "INSERT INTO cache_invalidations (cache_key, min_version, origin, created_at) VALUES (?, 2, 'test', ?)",
+                key, Timestamp.from(Instant.now()));
+    }
+
+    private static long invalidationsOf(String key) {
+        return nodes.get(0).getBean(JdbcTemplate.class).queryForObject(
+                "SELECT COUNT(*) FROM cache_invalidations WHERE cache_key = ?", Long.class, key);
+    }
+
+    private static SerializedResponseCache cache(ConfigurableApplicationContext node) {
+        return node.getBean(SerializedResponseCache.class);
+    }
+
+    private static long lagCount(ConfigurableApplicationContext node) {
+        return node.getBean(MeterRegistry.class).get("cache.invalidation.lag").timer().count();
+    }
+
+    private static void awaitWithin(Duration timeout, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "not invalidated within " + timeout);
+            sleep(POLL_INTERVAL.dividedBy(4));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.carrental.integration;
 import com.carrental.controller.CustomerController;
 import com.carrental.dto.CustomerRequest;
 import com.carrental.dto.CustomerResponse;
+import com.carrental.exception.GlobalExceptionHandler;
 import com.carrental.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,6 +20,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,7 +41,9 @@ public class CustomerControllerIntegrationTest {
 
     @BeforeEach
     public void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(customerController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(customerController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
     }
 
     @Test
@@ -49,7 +53,7 @@ public class CustomerControllerIntegrationTest {
                 "John", "Doe", 30, "john.doe@example.com", "DL123456", "+1234567890"
         );
         CustomerResponse response = new CustomerResponse(
-                id, "John", "Doe", 30, "john.doe@example.com", "DL123456", "+1234567890"
+                id, "John", "Doe", 30, "john.doe@example.com", "DL123456", "+1234567890", 0
         );
 
         when(customerService.createCustomer(any(CustomerRequest.class))).thenReturn(response);
@@ -71,7 +75,7 @@ public class CustomerControllerIntegrationTest {
     void testGetCustomer() throws Exception {
         UUID id = UUID.randomUUID();
         CustomerResponse response = new CustomerResponse(
-                id, "Jane", "Smith", 25, "jane.smith@example.com", "DL987654", "+1987654321"
+                id, "Jane", "Smith", 25, "jane.smith@example.com", "DL987654", "+1987654321", 0
         );
 
         when(customerService.getCustomerById(id)).thenReturn(response);
@@ -89,8 +93,8 @@ public class CustomerControllerIntegrationTest {
 
     @Test
     void testListCustomers() throws Exception {
-        CustomerResponse c1 = new CustomerResponse(UUID.randomUUID(), "Alice", "Brown", 28, "alice.brown@example.com", "DL111111", "+1122334455");
-        CustomerResponse c2 = new CustomerResponse(UUID.randomUUID(), "Bob", "Green", 35, "bob.green@example.com", "DL222222", "+2233445566");
+        CustomerResponse c1 = new CustomerResponse(UUID.randomUUID(), "Alice", "Brown", 28, "alice.brown@example.com", "DL111111", "+1122334455", 0);
+        CustomerResponse c2 = new CustomerResponse(UUID.randomUUID(), "Bob", "Green", 35, "bob.green@example.com", "DL222222", "+2233445566", 0);
 
         when(customerService.listCustomers()).thenReturn(List.of(c1, c2));
 
@@ -111,10 +115,10 @@ public class CustomerControllerIntegrationTest {
                 "+10987654321"
         );
         CustomerResponse updatedResponse = new CustomerResponse(
-                id, "UpdatedFirstName", "UpdatedLastName", 40, "updated.email@example.com", "DL999999", "+10987654321"
+                id, "UpdatedFirstName", "UpdatedLastName", 40, "updated.email@example.com", "DL999999", "+10987654321", 0
         );
 
-        when(customerService.updateCustomer(any(UUID.class), any(CustomerRequest.class)))
+        when(customerService.updateCustomer(any(UUID.class), any(CustomerRequest.class), isNull()))
                 .thenReturn(updatedResponse);
 
         mockMvc.perform(put("/api/v1/customers/{id}", id)
@@ -145,4 +149,12 @@ public class CustomerControllerIntegrationTest {
         mockMvc.perform(delete("/api/v1/customers/{id}", id))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void testGetCustomerBookings_sizeOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/{id}/bookings", UUID.randomUUID()).param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"))
+                .andExpect(jsonPath("$.message").value("size must be less than or equal to 100"));
+    }
 }
@@ -0,0 +1,155 @@
+package com.carrental.integration;
+
+import com.carrental.dto.VehiclePatchRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleResponse;
+import com.carrental.dto.VehicleSearchCriteria;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.fleet.FleetCatalog;
+import com.carrental.service.VehicleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Vehicle list and search served from the fleet snapshot see every committed write at once. */
+@SpringBootTest
+public class FleetSnapshotIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private FleetCatalog fleet;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+    private String type;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        type = "Fleet-" + UUID.randomUUID().toString().substring(0, 8);
+        fleet.snapshot(); // loaded before the writes, so they have to be patched in
+    }
+
+    @Test
+    void createPatchAndDelete_areVisibleRightAfterCommit() throws Exception {
+        String vin = vin();
+        String created = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest(type, VehicleSegment.COMPACT, vin, 2022, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/vehicles"))
+                .andExpect(jsonPath("$[*].vin", hasItem(vin)));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("status", "AVAILABLE"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(id));
+
+        mockMvc.perform(patch("/api/v1/vehicles/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"RENTED\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("status", "AVAILABLE"))
+                .andExpect(jsonPath("$.totalElements").value(0));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("status", "RENTED"))
+                .andExpect(jsonPath("$.items[0].vin").value(vin));
+
+        mockMvc.perform(put("/api/v1/vehicles/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest(type, VehicleSegment.LUXURY, vin, 2024, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("segment", "LUXURY"))
+                .andExpect(jsonPath("$.items[0].modelYear").value(2024));
+
+        mockMvc.perform(delete("/api/v1/vehicles/" + id)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/vehicles"))
+                .andExpect(jsonPath("$[*].vin", not(hasItem(vin))));
+    }
+
+    @Test
+    void oneTransactionsWrites_arePatchedTogether_andRollbacksNot() {
+        String rolledBack = vin();
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleService.createVehicle(request(rolledBack));
+            status.setRollbackOnly();
+        });
+        List<String> committed = transactionTemplate.execute(status -> List.of(
+                vehicleService.createVehicle(request(vin())).vin(),
+                vehicleService.createVehicle(request(vin())).vin()));
+
+        List<String> listed = vehicleService.listVehicles().stream().map(VehicleResponse::vin).toList();
+        assertTrue(listed.containsAll(committed));
+        assertFalse(listed.contains(rolledBack));
+    }
+
+    @Test
+    void writeBehindTheApplicationsBack_showsUpAfterARebuild() {
+        UUID id = vehicleService.createVehicle(request(vin())).id();
+        jdbcTemplate.update("UPDATE vehicles SET status = 'OUT_OF_SERVICE', version = version + 1 WHERE id = ?", id);
+        VehicleSearchCriteria outOfService = new VehicleSearchCriteria(type, null, VehicleStatus.OUT_OF_SERVICE, null, null);
+
+        assertEquals(0, fleet.snapshot().search(outOfService, 0, 10).totalElements());
+        fleet.rebuild();
+        assertEquals(1, fleet.snapshot().search(outOfService, 0, 10).totalElements());
+
+        vehicleService.patchVehicle(id, new VehiclePatchRequest(null, null, null, VehicleStatus.AVAILABLE), null);
+        assertEquals(0, fleet.snapshot().search(outOfService, 0, 10).totalElements());
+    }
+
+    @Test
+    void latePatch_neverPutsBackAnOlderStateOrADeletedVehicle() {
+        VehicleResponse created = vehicleService.createVehicle(request(vin()));
+        vehicleService.patchVehicle(created.id(), new VehiclePatchRequest(null, null, null, VehicleStatus.RENTED), null);
+
+        fleet.patchAfterCommit(created); // the creation, arriving after the patch
+        assertEquals(VehicleStatus.RENTED, fleet.snapshot().find(created.id()).orElseThrow().status());
+
+        vehicleService.deleteVehicle(created.id());
+        fleet.patchAfterCommit(new VehicleResponse(created.id(), type, VehicleSegment.MEDIUM, created.vin(), 2023,
+                VehicleStatus.AVAILABLE, created.version() + 5));
+        assertTrue(fleet.snapshot().find(created.id()).isEmpty());
+    }
+
+    private VehicleRequest request(String vin) {
+        return new VehicleRequest(type, VehicleSegment.MEDIUM, vin, 2023, VehicleStatus.AVAILABLE);
+    }
+
+    private static String vin() {
+        return "VIN-FS-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
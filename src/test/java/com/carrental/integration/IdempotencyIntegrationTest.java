@@ -0,0 +1,190 @@
+package com.carrental.integration;
+
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.IdempotencyRecord;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.IdempotencyKeyReuseException;
+import com.carrental.repository.IdempotencyRecordRepository;
+import com.carrental.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class IdempotencyIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void replay_returnsOriginalBookingWithoutRerunning() {
+        String key = UUID.randomUUID().toString();
+        UUID bookingId = UUID.randomUUID();
+        AtomicInteger calls = new AtomicInteger();
+
+        var first = idempotencyService.execute(key, request("VIN1"), () -> {
+            calls.incrementAndGet();
+            return bookingId;
+        });
+        var replay = idempotencyService.execute(key, request("VIN1"), () -> {
+            calls.incrementAndGet();
+            return UUID.randomUUID();
+        });
+
+        assertFalse(first.replayed());
+        assertTrue(replay.replayed());
+        assertEquals(bookingId, replay.bookingId());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void concurrentDuplicates_waitForTheFirstExecution() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> idempotencyService.execute(key, request("VIN2"), () -> {
+                calls.incrementAndGet();
+                awaitQuietly(release);
+                return UUID.randomUUID();
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        UUID expected = null;
+        for (Future<IdempotencyService.Result> f : results) {
+            UUID id = f.get(5, TimeUnit.SECONDS).bookingId();
+            expected = expected == null ? id : expected;
+            assertEquals(expected, id);
+        }
+        assertEquals(1, calls.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void failedExecution_isNotRemembered() {
+        String key = UUID.randomUUID().toString();
+        assertThrows(BookingConflictException.class, () -> idempotencyService.execute(key, request("VIN3"), () -> {
+            throw new BookingConflictException("not available");
+        }));
+
+        UUID bookingId = UUID.randomUUID();
+        var retry = idempotencyService.execute(key, request("VIN3"), () -> bookingId);
+        assertEquals(bookingId, retry.bookingId());
+        assertFalse(retry.replayed());
+    }
+
+    @Test
+    void sameKeyDifferentRequest_isRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(key, request("VIN4"), UUID::randomUUID);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute(key, request("VIN5"), UUID::randomUUID));
+    }
+
+    @Test
+    void expiredRecord_isReplacedByTheNewExecution() {
+        String key = UUID.randomUUID().toString();
+        UUID stale = UUID.randomUUID();
+        repository.saveAndFlush(IdempotencyRecord.builder()
+                .key(key)
+                .requestHash("0".repeat(64))
+                .bookingId(stale)
+                .createdAt(Instant.now().minusSeconds(7200))
+                .expiresAt(Instant.now().minusSeconds(3600))
+                .build());
+
+        UUID bookingId = UUID.randomUUID();
+        var fresh = idempotencyService.execute(key, request("VIN6"), () -> bookingId);
+        var replay = idempotencyService.execute(key, request("VIN6"), UUID::randomUUID);
+
+        assertFalse(fresh.replayed());
+        assertEquals(bookingId, fresh.bookingId());
+        assertTrue(replay.replayed());
+        assertEquals(bookingId, replay.bookingId());
+        assertEquals(bookingId, repository.findById(key).orElseThrow().getBookingId());
+    }
+
+    @Test
+    void asyncSubmission_replayReturnsTheOriginal202AndLocation() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(request("VIN7"));
+
+        MvcResult first = mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "respond-async")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn();
+        String location = first.getResponse().getHeader("Location");
+        String requestId = objectMapper.readTree(first.getResponse().getContentAsString()).get("requestId").asText();
+        assertEquals("/api/v1/vehicles/bookings/requests/" + requestId, location);
+
+        mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "respond-async")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location", location))
+                .andExpect(jsonPath("$.requestId").value(requestId));
+    }
+
+    @Test
+    void keyOfABooking_isRejectedForASubmission() {
+        String key = UUID.randomUUID().toString();
+        idempotencyService.execute(key, request("VIN8"), UUID::randomUUID);
+
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.submit(key, request("VIN8"), UUID::randomUUID));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BookingRequest request(String vin) {
+        return new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3), VehicleSegment.COMPACT, vin);
+    }
+}
@@ -0,0 +1,190 @@
+package com.carrental.integration;
+
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.ArchivedBooking;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Chunk size 3, so every lookup here spans several IN queries. */
+@SpringBootTest(properties = "app.lookup.chunk-size=3")
+public class LookupIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void vehicles_byIdAndByVin() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            vehicles.add(vehicle("VIN-LK-" + suffix + "-" + i));
+        }
+        UUID unknown = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>(vehicles.stream().map(Vehicle::getId).toList());
+        ids.add(2, unknown);
+        ids.add(vehicles.get(0).getId()); // repeats are answered once
+
+        mockMvc.perform(lookup("/api/v1/vehicles/lookup", Map.of("ids", ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(7)))
+                .andExpect(jsonPath("$.found[0].id").value(vehicles.get(0).getId().toString()))
+                .andExpect(jsonPath("$.found[2].vin").value(vehicles.get(2).getVin()))
+                .andExpect(jsonPath("$.found[6].status").value("AVAILABLE"))
+                .andExpect(jsonPath("$.missing", contains(unknown.toString())));
+
+        mockMvc.perform(lookup("/api/v1/vehicles/lookup",
+                        Map.of("vins", List.of("VIN-NOPE-" + suffix, vehicles.get(5).getVin(), vehicles.get(1).getVin()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[*].vin", contains(vehicles.get(5).getVin(), vehicles.get(1).getVin())))
+                .andExpect(jsonPath("$.missing", contains("VIN-NOPE-" + suffix)));
+    }
+
+    @Test
+    void customers_byLicenceNumber() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        List<String> licences = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            licences.add(customer(suffix + i).getDrivingLicenseNumber());
+        }
+        licences.add("LK-MISSING-" + suffix);
+
+        mockMvc.perform(lookup("/api/v1/customers/lookup", Map.of("licenseNumbers", licences)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[*].drivingLicenseNumber", contains(licences.subList(0, 4).toArray())))
+                .andExpect(jsonPath("$.found[0].version").doesNotExist())
+                .andExpect(jsonPath("$.missing", contains("LK-MISSING-" + suffix)));
+    }
+
+    @Test
+    void customers_requireJsonBody() throws Exception {
+        mockMvc.perform(post("/api/v1/customers/lookup")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("{\"ids\": []}"))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.code").value("UNSUPPORTED_MEDIA_TYPE"));
+    }
+
+    @Test
+    void bookings_liveAndArchived() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customer(suffix);
+        Vehicle vehicle = vehicle("VIN-LKB-" + suffix);
+        LocalDate start = LocalDate.of(2032, 6, 1);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(bookingRepository.save(Booking.builder()
+                    .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Look Up").age(30)
+                    .segment(VehicleSegment.ECONOMY)
+                    .startDate(start.plusDays(i * 3L)).endDate(start.plusDays(i * 3L + 1))
+                    .rentalDays(2).rentalPrice(new BigDecimal("40.00"))
+                    .customer(customer).vehicle(vehicle)
+                    .build()).getId());
+        }
+        UUID archived = archivedBookingRepository.save(ArchivedBooking.builder()
+                .id(UUID.randomUUID())
+                .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Look Up").age(30)
+                .segment(VehicleSegment.ECONOMY)
+                .startDate(start.minusYears(4)).endDate(start.minusYears(4).plusDays(1))
+                .rentalDays(2).rentalPrice(new BigDecimal("35.00"))
+                .customerId(customer.getId()).vehicleId(vehicle.getId()).archivedAt(Instant.now())
+                .build()).getId();
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = new ArrayList<>(ids);
+        requested.add(1, archived);
+        requested.add(unknown);
+
+        mockMvc.perform(lookup("/api/v1/vehicles/bookings/lookup", Map.of("ids", requested)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", hasSize(5)))
+                .andExpect(jsonPath("$.found[1].bookingId").value(archived.toString()))
+                .andExpect(jsonPath("$.found[1].rentalPrice").value(35.0))
+                .andExpect(jsonPath("$.found[4].bookingId").value(ids.get(3).toString()))
+                .andExpect(jsonPath("$.missing", contains(unknown.toString())));
+    }
+
+    @Test
+    void invalidRequests() throws Exception {
+        mockMvc.perform(lookup("/api/v1/vehicles/lookup", Map.of("ids", List.of(UUID.randomUUID()), "vins", List.of("X"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+        mockMvc.perform(lookup("/api/v1/customers/lookup", Map.of()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(lookup("/api/v1/vehicles/bookings/lookup", Map.of("ids", List.of())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(lookup("/api/v1/vehicles/bookings/lookup",
+                        Map.of("ids", Collections.nCopies(1_001, UUID.randomUUID()))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(lookup("/api/v1/vehicles/lookup", Map.of("ids", List.of("not-a-uuid"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Vehicle vehicle(String vin) {
+        return vehicleRepository.save(Vehicle.builder()
+                .type("Car").segment(VehicleSegment.ECONOMY).vin(vin)
+                .modelYear(2022).status(VehicleStatus.AVAILABLE)
+                .build());
+    }
+
+    private Customer customer(String suffix) {
+        return customerRepository.save(Customer.builder()
+                .firstName("Look").lastName("Up").age(30)
+                .email("lookup-" + suffix + "@example.com")
+                .drivingLicenseNumber("LK" + suffix)
+                .build());
+    }
+
+    private RequestBuilder lookup(String path, Object body) throws Exception {
+        return post(path).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+}
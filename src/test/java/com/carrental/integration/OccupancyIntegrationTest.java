@@ -0,0 +1,159 @@
+package com.carrental.integration;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.dto.*;
+import com.carrental.exception.BookingException;
+import com.carrental.service.CustomerService;
+import com.carrental.service.OccupancyService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class OccupancyIntegrationTest {
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private DrivingLicenseClient drivingLicenseClient;
+
+    @MockBean
+    private CarRentalPricingClient carRentalPricingClient;
+
+    @Test
+    void bookings_updateAggregates_andRebuildAgrees() {
+        String license = license();
+
+        LocalDate base = LocalDate.now().plusYears(1);
+        book(license, base, base.plusDays(2));
+        book(license, base.plusDays(1), base.plusDays(4));
+
+        List<OccupancyResponse> incremental = occupancyService.getOccupancy(base, base.plusDays(4));
+        assertEquals(5, incremental.size());
+        assertEquals(List.of(1L, 2L, 2L, 1L, 1L), incremental.stream().map(OccupancyResponse::bookedVehicles).toList());
+        BigDecimal total = incremental.stream().map(OccupancyResponse::revenue).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, new BigDecimal("233.31").compareTo(total));
+
+        occupancyService.rebuild(base.minusDays(3), base.plusDays(7));
+
+        List<OccupancyResponse> rebuilt = occupancyService.getOccupancy(base, base.plusDays(4));
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(incremental.get(i).date(), rebuilt.get(i).date());
+            assertEquals(incremental.get(i).bookedVehicles(), rebuilt.get(i).bookedVehicles());
+            assertEquals(0, incremental.get(i).revenue().compareTo(rebuilt.get(i).revenue()));
+        }
+    }
+
+    @Test
+    void bookingCommittedDuringRebuild_isNotLost() throws Exception {
+        String license = license();
+        LocalDate base = LocalDate.now().plusYears(3).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        book(license, base, base.plusDays(1));
+        String vin = vehicle();
+        VehicleService.PreparedBooking prepared = vehicleService.prepareBooking(
+                new BookingRequest(license, "Ann Lee", 40, base, base.plusDays(1), VehicleSegment.LUXURY, vin));
+
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> booking = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            vehicleService.persistBooking(prepared);
+            recorded.countDown();
+            awaitQuietly(release); // the aggregate rows stay locked until the rebuild has started
+        }));
+        assertTrue(recorded.await(5, TimeUnit.SECONDS));
+        Future<Long> rebuild = pool.submit(() -> occupancyService.rebuild(base, base.plusDays(1)));
+        Thread.sleep(300);
+        release.countDown();
+        booking.get(5, TimeUnit.SECONDS);
+        rebuild.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(List.of(2L, 2L), occupancyService.getOccupancy(base, base.plusDays(1)).stream()
+                .map(OccupancyResponse::bookedVehicles).toList());
+    }
+
+    @Test
+    void rebuild_keepsZeroRows_soABookingPreparedBeforeItIsStillCounted() {
+        String license = license();
+        LocalDate base = LocalDate.now().plusYears(3).plusDays(ThreadLocalRandom.current().nextInt(3000));
+        VehicleService.PreparedBooking prepared = vehicleService.prepareBooking(
+                new BookingRequest(license, "Ann Lee", 40, base, base.plusDays(1), VehicleSegment.LUXURY, vehicle()));
+
+        occupancyService.rebuild(base, base.plusDays(1));
+        assertEquals(List.of(0L, 0L), luxuryBooked(base, base.plusDays(1)));
+
+        transactionTemplate.executeWithoutResult(status -> vehicleService.persistBooking(prepared));
+        assertEquals(List.of(1L, 1L), luxuryBooked(base, base.plusDays(1)));
+    }
+
+    @Test
+    void rebuild_refusesRangesLongerThanTheCap() {
+        LocalDate from = LocalDate.now();
+        assertThrows(BookingException.class, () -> occupancyService.rebuild(from, from.plusDays(366)));
+    }
+
+    private List<Long> luxuryBooked(LocalDate from, LocalDate to) {
+        return occupancyService.getOccupancy(from, to).stream()
+                .filter(o -> o.segment() == VehicleSegment.LUXURY)
+                .map(OccupancyResponse::bookedVehicles)
+                .toList();
+    }
+
+    private String license() {
+        String license = "OC" + String.format("%09d", Math.abs(UUID.randomUUID().getMostSignificantBits() % 1_000_000_000L));
+        customerService.createCustomer(new CustomerRequest(
+                "Ann", "Lee", 40, license.toLowerCase() + "@example.com", license, "+1234567890"));
+        when(drivingLicenseClient.getLicenseDetails(anyString()))
+                .thenReturn(Optional.of(new DrivingLicenseClient.LicenseResponse("Ann Lee", LocalDate.now().plusYears(3))));
+        when(carRentalPricingClient.getRateForCategory("LUXURY"))
+                .thenReturn(Optional.of(new RateResponse("LUXURY", new BigDecimal("33.33"))));
+        return license;
+    }
+
+    private String vehicle() {
+        String vin = "VIN-OC-" + UUID.randomUUID();
+        vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.LUXURY, vin, 2023, VehicleStatus.AVAILABLE));
+        return vin;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void book(String license, LocalDate start, LocalDate end) {
+        String vin = vehicle();
+        vehicleService.createBooking(new BookingRequest(license, "Ann Lee", 40, start, end, VehicleSegment.LUXURY, vin));
+    }
+}
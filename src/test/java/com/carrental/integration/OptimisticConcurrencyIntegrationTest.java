@@ -0,0 +1,164 @@
+package com.carrental.integration;
+
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class OptimisticConcurrencyIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void put_withStaleIfMatch_isRejected() throws Exception {
+        String vin = "VIN-OCC-" + UUID.randomUUID();
+        String id = createVehicle(vin);
+        VehicleRequest update = new VehicleRequest("Van", VehicleSegment.COMMERCIAL, vin, 2023, VehicleStatus.AVAILABLE);
+
+        mockMvc.perform(put("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        mockMvc.perform(put("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"v1\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchStatus_updatesWithoutLoadingAndInvalidatesTheCache() throws Exception {
+        String id = createVehicle("VIN-OCC-" + UUID.randomUUID());
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id)).andExpect(jsonPath("$.status").value("AVAILABLE"));
+
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"RENTED\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(jsonPath("$.status").value("RENTED"))
+                .andExpect(jsonPath("$.type").value("Car"));
+
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"AVAILABLE\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patch_changesOnlyTheGivenFields() throws Exception {
+        String id = createVehicle("VIN-OCC-" + UUID.randomUUID());
+
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"type\":\"Van\",\"modelYear\":2020}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        Vehicle vehicle = vehicleRepository.findById(UUID.fromString(id)).orElseThrow();
+        assertEquals("Van", vehicle.getType());
+        assertEquals(2020, vehicle.getModelYear());
+        assertEquals(VehicleSegment.ECONOMY, vehicle.getSegment());
+        assertEquals(VehicleStatus.AVAILABLE, vehicle.getStatus());
+    }
+
+    @Test
+    void patch_rejectsEmptyBodiesAndUnknownVehicles() throws Exception {
+        String id = createVehicle("VIN-OCC-" + UUID.randomUUID());
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/v1/vehicles/{id}", UUID.randomUUID()).header(HttpHeaders.IF_MATCH, "\"v0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"RENTED\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void patchCustomer_keepsOtherFields() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String body = mockMvc.perform(post("/api/v1/customers").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest(
+                                "Ada", "Byron", 36, "occ-" + suffix + "@example.com", "DL-OCC-" + suffix, "+1234567890"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(body).get("id").asText();
+
+        mockMvc.perform(patch("/api/v1/customers/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"lastName\":\"Lovelace\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""));
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(jsonPath("$.firstName").value("Ada"))
+                .andExpect(jsonPath("$.lastName").value("Lovelace"))
+                .andExpect(jsonPath("$.age").value(36));
+    }
+
+    @Test
+    void concurrentWriter_isDetectedInsteadOfOverwritten() throws Exception {
+        UUID id = UUID.fromString(createVehicle("VIN-OCC-" + UUID.randomUUID()));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+            Vehicle stale = vehicleRepository.findById(id).orElseThrow();
+            // another request flips the status while this one still holds the old row
+            CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                    other -> vehicleRepository.updateStatus(id, VehicleStatus.MAINTENANCE, null))).join();
+            stale.setType("Overwritten");
+            vehicleRepository.flush();
+        }));
+
+        Vehicle current = vehicleRepository.findById(id).orElseThrow();
+        assertEquals("Car", current.getType());
+        assertEquals(VehicleStatus.MAINTENANCE, current.getStatus());
+    }
+
+    private String createVehicle(String vin) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -0,0 +1,49 @@
+package com.carrental.integration;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the hot queries against the migrated H2 schema and fails if any of them
+ * stops using its intended index, e.g. after a migration drops or reorders one.
+ */
+@SpringBootTest
+public class QueryPlanIntegrationTest {
+
+    private static final String ID = "'00000000-0000-0000-0000-000000000001'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+        booking overlap        | IDX_BOOKING_VEHICLE_DATES | SELECT COUNT(*) FROM bookings b WHERE b.vehicle_id = $ID AND b.start_date <= DATE '2030-01-10' AND b.end_date >= DATE '2030-01-05'
+        vehicle history        | IDX_BOOKING_VEHICLE       | SELECT b.id FROM bookings b WHERE b.vehicle_id = $ID ORDER BY b.start_date DESC
+        customer history       | IDX_BOOKING_CUSTOMER      | SELECT b.id FROM bookings b WHERE b.customer_id = $ID ORDER BY b.start_date DESC
+        archival selection     | IDX_BOOKING_END_DATE      | SELECT b.id FROM bookings b WHERE b.end_date < DATE '2020-01-01' ORDER BY b.end_date, b.id LIMIT 500
+        occupancy sources      | IDX_BOOKING_START_END     | SELECT b.segment FROM bookings b WHERE b.start_date <= DATE '2030-01-31' AND b.end_date >= DATE '2030-01-01'
+        vehicle by vin         | UK_VEHICLES_VIN           | SELECT v.id FROM vehicles v WHERE v.vin = 'VIN1'
+        search by status       | IDX_VEHICLE_STATUS_SEGMENT_YEAR | SELECT v.id FROM vehicles v WHERE v.status = 'AVAILABLE' ORDER BY v.id LIMIT 20
+        search status, segment | IDX_VEHICLE_STATUS_SEGMENT_YEAR | SELECT v.id FROM vehicles v WHERE v.status = 'AVAILABLE' AND v.segment = 'MEDIUM' AND v.model_year >= 2020 ORDER BY v.id LIMIT 20
+        search by segment      | IDX_VEHICLE_SEGMENT_YEAR  | SELECT v.id FROM vehicles v WHERE v.segment = 'MEDIUM' AND v.model_year BETWEEN 2018 AND 2022 ORDER BY v.id LIMIT 20
+        search by type         | IDX_VEHICLE_TYPE_STATUS   | SELECT v.id FROM vehicles v WHERE v.type = 'Van' AND v.status = 'AVAILABLE' ORDER BY v.id LIMIT 20
+        search count           | IDX_VEHICLE_STATUS_SEGMENT_YEAR | SELECT COUNT(*) FROM vehicles v WHERE v.status = 'AVAILABLE' AND v.segment = 'MEDIUM'
+        customer by license    | UK_CUSTOMERS_DRIVING_LICENSE | SELECT c.id FROM customers c WHERE c.driving_license_number = 'DL1'
+        occupancy range        | PRIMARY_KEY               | SELECT o.segment FROM segment_daily_occupancy o WHERE o.occupancy_date BETWEEN DATE '2030-01-01' AND DATE '2030-01-31'
+        pending submissions    | IDX_SUBMISSION_STATUS     | SELECT s.id FROM booking_submissions s WHERE s.status = 'PENDING'
+        expired idempotency    | IDX_IDEMPOTENCY_EXPIRES   | SELECT k.idempotency_key FROM idempotency_keys k WHERE k.expires_at < TIMESTAMP WITH TIME ZONE '2030-01-01 00:00:00+00'
+        archived booking by id | PRIMARY_KEY               | SELECT a.id FROM bookings_archive a WHERE a.id = $ID
+        """)
+    void hotQuery_usesIndex(String name, String expectedIndex, String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql.replace("$ID", ID), String.class);
+
+        assertNotNull(plan);
+        assertFalse(plan.contains("tableScan"), () -> name + " falls back to a table scan:\n" + plan);
+        assertTrue(plan.toUpperCase().contains(expectedIndex), () -> name + " does not use " + expectedIndex + ":\n" + plan);
+    }
+}
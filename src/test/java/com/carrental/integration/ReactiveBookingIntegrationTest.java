@@ -0,0 +1,103 @@
+package com.carrental.integration;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.dto.*;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.repository.BookingRepository;
+import com.carrental.service.CustomerService;
+import com.carrental.service.OccupancyService;
+import com.carrental.service.ReactiveBookingService;
+import com.carrental.service.VehicleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+public class ReactiveBookingIntegrationTest {
+
+    @Autowired
+    private ReactiveBookingService reactiveBookingService;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private DrivingLicenseClient drivingLicenseClient;
+
+    @MockBean
+    private CarRentalPricingClient carRentalPricingClient;
+
+    private final String license = "RX" + String.format("%09d", Math.abs(UUID.randomUUID().getMostSignificantBits() % 1_000_000_000L));
+    private final String vin = "VIN-RX-" + UUID.randomUUID();
+
+    @BeforeEach
+    void setup() {
+        customerService.createCustomer(new CustomerRequest(
+                "Jane", "Roe", 35, license.toLowerCase() + "@example.com", license, "+1234567890"));
+        vehicleService.createVehicle(new VehicleRequest(
+                "Car", VehicleSegment.MEDIUM, vin, 2022, VehicleStatus.AVAILABLE));
+
+        when(drivingLicenseClient.licenseDetails(anyString()))
+                .thenReturn(Mono.just(new DrivingLicenseClient.LicenseResponse("Jane Roe", LocalDate.now().plusYears(2))));
+        when(carRentalPricingClient.rateForCategory("MEDIUM"))
+                .thenReturn(Mono.just(new RateResponse("MEDIUM", new BigDecimal("10.00"))));
+    }
+
+    @Test
+    void createBooking_persistsThroughR2dbc() {
+        var req = new BookingRequest(license, "Jane Roe", 35,
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), VehicleSegment.MEDIUM, vin);
+
+        UUID id = reactiveBookingService.createBooking(req).block();
+
+        assertNotNull(id);
+        var saved = bookingRepository.findById(id).orElseThrow();
+        assertEquals(3, saved.getRentalDays());
+        assertEquals(0, new BigDecimal("30.00").compareTo(saved.getRentalPrice()));
+        var occupancy = occupancyService.getOccupancy(req.reservationStartDate(), req.reservationEndDate()).stream()
+                .filter(o -> o.segment() == VehicleSegment.MEDIUM)
+                .toList();
+        assertEquals(3, occupancy.size());
+        assertTrue(occupancy.stream().allMatch(o -> o.bookedVehicles() >= 1));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vehicle_events WHERE payload LIKE ? AND payload LIKE '%BOOKING_CREATED%'",
+                Integer.class, "%" + vin + "%"), "logged for the event stream of every instance");
+    }
+
+    @Test
+    void createBooking_overlap_throwsBookingConflictException() {
+        var req = new BookingRequest(license, "Jane Roe", 35,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(12), VehicleSegment.MEDIUM, vin);
+        reactiveBookingService.createBooking(req).block();
+
+        assertThrows(BookingConflictException.class, () -> reactiveBookingService.createBooking(req).block());
+    }
+}
@@ -0,0 +1,218 @@
+package com.carrental.integration;
+
+import com.carrental.CarRentalApplication;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.exception.BookingConflictException;
+import com.carrental.exception.VehicleBusyException;
+import com.carrental.service.BookingLeaseService;
+import com.carrental.service.CustomerService;
+import com.carrental.service.ReactiveBookingService;
+import com.carrental.service.VehicleService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two application contexts with the reactive profile sharing one H2 database, booking the same
+ * vehicles through the R2DBC path and the JPA path at once. A local HTTP stub stands in for the
+ * licence and pricing services the reactive path calls.
+ */
+class ReactiveBookingLeaseClusterIntegrationTest {
+
+    private static final int NODES = 2;
+    private static final String OWNER = "Rea Ctive";
+    // H2 waits on row locks for LOCK_TIMEOUT on both drivers; keep it at the lease wait
+    private static final String DB = "reactive-lease-cluster;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=1000";
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static HttpServer remoteServices;
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        remoteServices = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        remoteServices.createContext("/driving-license-api/license/details",
+                exchange -> respond(exchange, "{\"ownerName\":\"" + OWNER + "\",\"expiryDate\":\"2040-01-01\"}"));
+        remoteServices.createContext("/car-rental-pricing-api/rental/rate",
+                exchange -> respond(exchange, "{\"category\":\"MEDIUM\",\"ratePerDay\":40.00}"));
+        remoteServices.start();
+        String base = "http://localhost:" + remoteServices.getAddress().getPort();
+
+        // one after another, so only the first one runs the migrations
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(CarRentalApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("reactive")
+                    .run("--spring.datasource.url=jdbc:h2:mem:" + DB,
+                            "--app.reactive.url=r2dbc:h2:mem:///" + DB,
+                            "--spring.jpa.show-sql=false",
+                            "--app.driving-license-api.base-url=" + base + "/driving-license-api",
+                            "--app.car-pricing-api.base-url=" + base + "/car-rental-pricing-api",
+                            "--app.booking-lease.node-id=node-" + i,
+                            "--app.booking-lease.wait=1s"));
+        }
+        // the first remote calls of a node are slow enough to hide a race
+        for (ConfigurableApplicationContext node : nodes) {
+            reactive(node, fixture(), LocalDate.now().plusDays(10), LocalDate.now().plusDays(11));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        remoteServices.stop(0);
+    }
+
+    @Test
+    void reactiveBooking_waitsForTheBlockingHolder_andSeesItsBooking() throws Exception {
+        Fixture vehicle = fixture();
+        LocalDate start = LocalDate.now().plusDays(30);
+        CountDownLatch held = new CountDownLatch(1);
+
+        CompletableFuture<Void> blocking = CompletableFuture.runAsync(() ->
+                nodes.get(0).getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+                    nodes.get(0).getBean(BookingLeaseService.class).acquire(BookingLeaseService.vehicleKey(vehicle.vin()));
+                    held.countDown();
+                    sleep(Duration.ofMillis(500)); // the reactive booking below is well under way by now
+                    persist(nodes.get(0), vehicle, start, start.plusDays(2));
+                }));
+        assertTrue(held.await(10, TimeUnit.SECONDS));
+
+        Exception refused = assertThrows(Exception.class, () -> reactive(nodes.get(1), vehicle, start.plusDays(1), start.plusDays(3)));
+        assertInstanceOf(BookingConflictException.class, refused, "the overlap check ran after the holder committed");
+        blocking.get(5, TimeUnit.SECONDS);
+        assertEquals(1, bookingsOf(vehicle));
+    }
+
+    @Test
+    void sameDatesOnBothPathsAndNodes_exactlyOneBookingWins() throws Exception {
+        Fixture vehicle = fixture();
+        LocalDate start = LocalDate.now().plusDays(60);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        runConcurrently(20, i -> {
+            ConfigurableApplicationContext node = nodes.get(i % NODES);
+            try {
+                if (i / NODES % 2 == 0) {
+                    reactive(node, vehicle, start, start.plusDays(2));
+                } else {
+                    persist(node, vehicle, start, start.plusDays(2));
+                }
+                booked.incrementAndGet();
+            } catch (BookingConflictException | VehicleBusyException e) {
+                refused.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, booked.get());
+        assertEquals(19, refused.get());
+        assertEquals(1, bookingsOf(vehicle));
+    }
+
+    private record Fixture(String license, String vin) {}
+
+    private interface Task {
+        void run(int index) throws Exception;
+    }
+
+    private static void runConcurrently(int tasks, Task task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static Fixture fixture() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        ConfigurableApplicationContext node = nodes.get(0);
+        node.getBean(CustomerService.class).createCustomer(new CustomerRequest(
+                "Rea", "Ctive", 35, "rlease-" + suffix + "@example.com", "RL" + suffix, "+1234567890"));
+        String vin = "VIN-RL-" + suffix;
+        node.getBean(VehicleService.class).createVehicle(
+                new VehicleRequest("Car", VehicleSegment.MEDIUM, vin, 2023, VehicleStatus.AVAILABLE));
+        return new Fixture("RL" + suffix, vin);
+    }
+
+    private static BookingRequest request(Fixture vehicle, LocalDate start, LocalDate end) {
+        return new BookingRequest(vehicle.license(), OWNER, 35, start, end, VehicleSegment.MEDIUM, vehicle.vin());
+    }
+
+    private static void reactive(ConfigurableApplicationContext node, Fixture vehicle, LocalDate start, LocalDate end) {
+        node.getBean(ReactiveBookingService.class).createBooking(request(vehicle, start, end)).block(Duration.ofSeconds(10));
+    }
+
+    private static void persist(ConfigurableApplicationContext node, Fixture vehicle, LocalDate start, LocalDate end) {
+        long days = end.toEpochDay() - start.toEpochDay() + 1;
+        node.getBean(VehicleService.class).persistBooking(new VehicleService.PreparedBooking(
+                request(vehicle, start, end), OWNER, days, BigDecimal.valueOf(40 * days)));
+    }
+
+    private static long bookingsOf(Fixture vehicle) {
+        return nodes.get(0).getBean(JdbcTemplate.class).queryForObject(
+                "SELECT COUNT(*) FROM bookings b JOIN vehicles v ON v.id = b.vehicle_id WHERE v.vin = ?",
+                Long.class, vehicle.vin());
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.carrental.integration;
+
+import com.carrental.config.ReadReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two local H2 databases stand in for the primary and a replica; the replica's lag is read from
+ * a table the test controls.
+ */
+@SpringBootTest(properties = {
+        "app.read-replicas.enabled=true",
+        "app.read-replicas.max-lag=5s",
+        "app.read-replicas.check-interval=PT1H",
+        "app.read-replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.read-replicas.lag-column=",
+        "app.read-replicas.replicas[0].url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "app.read-replicas.replicas[0].username=sa",
+        "app.read-replicas.replicas[0].password="
+})
+public class ReadReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica1;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setup() throws Exception {
+        setReplicaLag(0);
+        routingDataSource.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransaction_goesToReplica() {
+        assertEquals("REPLICA1", databaseName(true));
+    }
+
+    @Test
+    void readWriteTransaction_goesToPrimary() {
+        assertEquals("CARRENTALDB", databaseName(false));
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimary() throws Exception {
+        setReplicaLag(3600);
+        routingDataSource.checkReplicas();
+
+        assertEquals("CARRENTALDB", databaseName(true));
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static void setReplicaLag(long seconds) throws Exception {
+        try (Connection c = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds BIGINT)");
+            st.execute("DELETE FROM replica_lag");
+            st.execute("INSERT INTO replica_lag VALUES (" + seconds + ")");
+        }
+    }
+}
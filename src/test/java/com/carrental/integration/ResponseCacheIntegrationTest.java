@@ -0,0 +1,122 @@
+package com.carrental.integration;
+
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ResponseCacheIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatedGet_isServedFromCacheAndRevalidatesWith304() throws Exception {
+        String id = createVehicle("VIN-ETAG-" + UUID.randomUUID());
+
+        String etag = mockMvc.perform(get("/api/v1/vehicles/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""))
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vin").exists());
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void update_invalidatesTheCachedBody() throws Exception {
+        String vin = "VIN-ETAG-" + UUID.randomUUID();
+        String id = createVehicle(vin);
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id)).andExpect(header().string(HttpHeaders.ETAG, "\"v0\""));
+
+        mockMvc.perform(put("/api/v1/vehicles/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest("Van", VehicleSegment.COMMERCIAL, vin, 2023, VehicleStatus.MAINTENANCE))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v1\""))
+                .andExpect(jsonPath("$.type").value("Van"))
+                .andExpect(jsonPath("$.status").value("MAINTENANCE"));
+    }
+
+    @Test
+    void delete_invalidatesTheCachedBody() throws Exception {
+        String id = createCustomer();
+        mockMvc.perform(get("/api/v1/customers/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""));
+
+        mockMvc.perform(delete("/api/v1/customers/{id}", id)).andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createVehicle(String vin) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2022, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    private String createCustomer() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String body = mockMvc.perform(post("/api/v1/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest(
+                                "Etag", "Customer", 40, "etag-" + suffix + "@example.com", "DL-ETAG-" + suffix, "+1234567890"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
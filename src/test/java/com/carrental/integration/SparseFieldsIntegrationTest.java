@@ -0,0 +1,196 @@
+package com.carrental.integration;
+
+import com.carrental.cache.BodyFormat;
+import com.carrental.dto.CustomerRequest;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.ArchivedBooking;
+import com.carrental.entity.Booking;
+import com.carrental.entity.Customer;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.ArchivedBookingRepository;
+import com.carrental.repository.BookingRepository;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.repository.VehicleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+public class SparseFieldsIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void vehicles_listAndDetailCarryOnlyTheNamedFields() throws Exception {
+        String vin = "VIN-SPARSE-" + UUID.randomUUID();
+        String id = create("/api/v1/vehicles",
+                new VehicleRequest("Car", VehicleSegment.ECONOMY, vin, 2021, VehicleStatus.AVAILABLE));
+
+        String list = mockMvc.perform(get("/api/v1/vehicles").param("fields", "id,vin,status"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode mine = null;
+        for (JsonNode vehicle : objectMapper.readTree(list)) {
+            assertEquals(3, vehicle.size());
+            if (vin.equals(vehicle.get("vin").asText())) {
+                mine = vehicle;
+            }
+        }
+        assertNotNull(mine);
+        assertEquals(id, mine.get("id").asText());
+        assertEquals("AVAILABLE", mine.get("status").asText());
+
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).param("fields", "status,modelYear"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0\""))
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$.modelYear").value(2021))
+                .andExpect(jsonPath("$.status").value("AVAILABLE"));
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id).param("fields", "status")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"v0\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/v1/vehicles").param("fields", "id,version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == '" + id + "')].version", contains(0)));
+
+        // without fields= the full, cached representation is unchanged
+        mockMvc.perform(get("/api/v1/vehicles/{id}", id))
+                .andExpect(jsonPath("$.*", hasSize(6)));
+    }
+
+    @Test
+    void customers_detailInBinaryFormat() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        String id = create("/api/v1/customers", new CustomerRequest("Ada", "Lovelace", 36,
+                "ada-" + suffix + "@example.com", "DL-SP-" + suffix, "555-0100"));
+
+        byte[] body = mockMvc.perform(get("/api/v1/customers/{id}", id).param("fields", "email,lastName")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v0.cbor\""))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode customer = BodyFormat.CBOR.mapper(objectMapper).readTree(body);
+        assertEquals(2, customer.size());
+        assertEquals("Lovelace", customer.get("lastName").asText());
+
+        mockMvc.perform(get("/api/v1/customers/{id}", id).param("fields", "id,version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(0));
+        mockMvc.perform(get("/api/v1/customers").param("fields", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", hasItem(id)))
+                .andExpect(jsonPath("$[0].*", hasSize(1)));
+    }
+
+    @Test
+    void bookings_liveAndArchived() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Spar").lastName("Se").age(40)
+                .email("sparse-" + suffix + "@example.com")
+                .drivingLicenseNumber("SP" + suffix)
+                .build());
+        Vehicle vehicle = vehicleRepository.save(Vehicle.builder()
+                .type("Car").segment(VehicleSegment.LARGE).vin("VIN-SP-" + suffix)
+                .modelYear(2020).status(VehicleStatus.AVAILABLE)
+                .build());
+        LocalDate start = LocalDate.of(2031, 3, 1);
+        Booking live = bookingRepository.save(Booking.builder()
+                .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Spar Se").age(40)
+                .segment(VehicleSegment.LARGE)
+                .startDate(start).endDate(start.plusDays(2))
+                .rentalDays(3).rentalPrice(new BigDecimal("150.00"))
+                .customer(customer).vehicle(vehicle)
+                .build());
+        ArchivedBooking archived = archivedBookingRepository.save(ArchivedBooking.builder()
+                .id(UUID.randomUUID())
+                .licenseNumber(customer.getDrivingLicenseNumber()).customerName("Spar Se").age(40)
+                .segment(VehicleSegment.LARGE)
+                .startDate(start.minusYears(5)).endDate(start.minusYears(5).plusDays(1))
+                .rentalDays(2).rentalPrice(new BigDecimal("80.00"))
+                .customerId(customer.getId()).vehicleId(vehicle.getId()).archivedAt(Instant.now())
+                .build());
+
+        mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", live.getId())
+                        .param("fields", "rentalPrice,reservationStartDate"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.*", hasSize(2)))
+                .andExpect(jsonPath("$.reservationStartDate").value("2031-03-01"))
+                .andExpect(jsonPath("$.rentalPrice").value(150.0));
+        mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", archived.getId()).param("fields", "bookingId"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"bookingId\":\"" + archived.getId() + "\"}", true));
+    }
+
+    @Test
+    void invalidSelections_andMissingResources() throws Exception {
+        mockMvc.perform(get("/api/v1/vehicles").param("fields", "id,colour"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_FIELDS"))
+                .andExpect(jsonPath("$.message", containsString("colour")));
+        mockMvc.perform(get("/api/v1/customers/{id}", UUID.randomUUID()).param("fields", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/vehicles/{id}", UUID.randomUUID()).param("fields", "vin"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("VEHICLE_NOT_FOUND"));
+        mockMvc.perform(get("/api/v1/vehicles/bookings/{id}", UUID.randomUUID()).param("fields", "bookingId"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("BOOKING_NOT_FOUND"));
+    }
+
+    private String create(String path, Object request) throws Exception {
+        String body = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -2,6 +2,9 @@ package com.carrental.integration;
 
 import com.carrental.controller.VehicleController;
 import com.carrental.dto.*;
+import com.carrental.exception.BookingQueueFullException;
+import com.carrental.exception.GlobalExceptionHandler;
+import com.carrental.service.AsyncBookingService;
 import com.carrental.service.VehicleService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -22,6 +25,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,12 +41,17 @@ public class VehicleControllerIntegrationTest {
     @MockBean
     private VehicleService vehicleService;
 
+    @MockBean
+    private AsyncBookingService asyncBookingService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @BeforeEach
     public void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(vehicleController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(vehicleController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
@@ -54,7 +63,7 @@ public class VehicleControllerIntegrationTest {
                 "Honda", VehicleSegment.COMPACT, "VIN123456789", 2021, VehicleStatus.AVAILABLE
         );
         VehicleResponse response = new VehicleResponse(
-                id, "Honda", VehicleSegment.COMPACT, "VIN123456789", 2021, VehicleStatus.AVAILABLE
+                id, "Honda", VehicleSegment.COMPACT, "VIN123456789", 2021, VehicleStatus.AVAILABLE, 0
         );
 
         when(vehicleService.createVehicle(any(VehicleRequest.class))).thenReturn(response);
@@ -75,7 +84,7 @@ public class VehicleControllerIntegrationTest {
     void testGetVehicle() throws Exception {
         UUID id = UUID.randomUUID();
         VehicleResponse response = new VehicleResponse(
-                id, "Toyota", VehicleSegment.MEDIUM, "VIN987654321", 2020, VehicleStatus.RENTED
+                id, "Toyota", VehicleSegment.MEDIUM, "VIN987654321", 2020, VehicleStatus.RENTED, 0
         );
 
         when(vehicleService.getVehicle(id)).thenReturn(response);
@@ -92,8 +101,8 @@ public class VehicleControllerIntegrationTest {
 
     @Test
     void testListVehicles() throws Exception {
-        VehicleResponse v1 = new VehicleResponse(UUID.randomUUID(), "Honda", VehicleSegment.COMPACT, "VIN123", 2021, VehicleStatus.AVAILABLE);
-        VehicleResponse v2 = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.MEDIUM, "VIN456", 2020, VehicleStatus.RENTED);
+        VehicleResponse v1 = new VehicleResponse(UUID.randomUUID(), "Honda", VehicleSegment.COMPACT, "VIN123", 2021, VehicleStatus.AVAILABLE, 0);
+        VehicleResponse v2 = new VehicleResponse(UUID.randomUUID(), "Toyota", VehicleSegment.MEDIUM, "VIN456", 2020, VehicleStatus.RENTED, 0);
 
         when(vehicleService.listVehicles()).thenReturn(List.of(v1, v2));
 
@@ -113,10 +122,10 @@ public class VehicleControllerIntegrationTest {
                 VehicleStatus.MAINTENANCE
         );
         VehicleResponse updatedResponse = new VehicleResponse(
-                id, "UpdatedType", VehicleSegment.LUXURY, "VIN999999", 2022, VehicleStatus.MAINTENANCE
+                id, "UpdatedType", VehicleSegment.LUXURY, "VIN999999", 2022, VehicleStatus.MAINTENANCE, 0
         );
 
-        when(vehicleService.updateVehicle(any(UUID.class), any(VehicleRequest.class)))
+        when(vehicleService.updateVehicle(any(UUID.class), any(VehicleRequest.class), isNull()))
                 .thenReturn(updatedResponse);
 
         mockMvc.perform(put("/api/v1/vehicles/{id}", id)
@@ -158,6 +167,83 @@ public class VehicleControllerIntegrationTest {
                 .andExpect(content().string("\"" + bookingId + "\""));
     }
 
+    @Test
+    void testSubmitBookingAsync() throws Exception {
+        UUID requestId = UUID.randomUUID();
+        BookingRequest request = new BookingRequest(
+                "DL123456789", "John Doe", 30,
+                LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 1, 10),
+                VehicleSegment.COMPACT,
+                "VIN123456789"
+        );
+        when(asyncBookingService.submit(any(BookingRequest.class))).thenReturn(
+                new BookingSubmissionResponse(requestId, BookingSubmissionStatus.PENDING, null, null, null));
+
+        mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/vehicles/bookings/requests/" + requestId))
+                .andExpect(jsonPath("$.requestId").value(requestId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void testSubmitBookingAsync_amongOtherPreferences() throws Exception {
+        UUID requestId = UUID.randomUUID();
+        when(asyncBookingService.submit(any(BookingRequest.class))).thenReturn(
+                new BookingSubmissionResponse(requestId, BookingSubmissionStatus.PENDING, null, null, null));
+
+        mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "return=minimal, Respond-Async; foo=bar, wait=5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.requestId").value(requestId.toString()));
+    }
+
+    @Test
+    void testCreateBooking_withoutRespondAsyncPreference_isSynchronous() throws Exception {
+        UUID bookingId = UUID.randomUUID();
+        when(vehicleService.createBooking(any(BookingRequest.class))).thenReturn(bookingId);
+
+        mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "wait=5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(content().string("\"" + bookingId + "\""));
+    }
+
+    @Test
+    void testSubmitBookingAsync_queueFull() throws Exception {
+        when(asyncBookingService.submit(any(BookingRequest.class)))
+                .thenThrow(new BookingQueueFullException("Booking queue is full, please retry later"));
+
+        mockMvc.perform(post("/api/v1/vehicles/bookings")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("BOOKING_QUEUE_FULL"));
+    }
+
+    @Test
+    void testGetVehicleBookings_pageOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/v1/vehicles/{id}/bookings", UUID.randomUUID()).param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"))
+                .andExpect(jsonPath("$.message").value("page must be greater than or equal to 0"));
+    }
+
+    private static BookingRequest bookingRequest() {
+        return new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 10), VehicleSegment.COMPACT, "VIN123456789");
+    }
+
     @Test
     void testGetBookingDetails() throws Exception {
         UUID bookingId = UUID.randomUUID();
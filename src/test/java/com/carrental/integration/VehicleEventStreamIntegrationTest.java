@@ -0,0 +1,208 @@
+package com.carrental.integration;
+
+import com.carrental.dto.VehicleEvent;
+import com.carrental.dto.VehicleRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.service.VehicleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.UnsupportedEncodingException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class VehicleEventStreamIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void committedChanges_areStreamedInOrder() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+        String vin = vin();
+
+        String created = mockMvc.perform(post("/api/v1/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new VehicleRequest("Car", VehicleSegment.MEDIUM, vin, 2023, VehicleStatus.AVAILABLE))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+        mockMvc.perform(patch("/api/v1/vehicles/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"MAINTENANCE\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/v1/vehicles/" + id)).andExpect(status().isNoContent());
+
+        List<Map<?, ?>> events = awaitEvents(stream, e -> id.equals(e.get("vehicleId")), 3);
+        assertEquals(List.of("VEHICLE_CREATED", "STATUS_CHANGED", "VEHICLE_DELETED"),
+                events.stream().map(e -> e.get("type")).toList());
+        assertEquals(vin, events.get(0).get("vin"));
+        assertEquals("MAINTENANCE", events.get(1).get("status"));
+        assertEquals(MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.parseMediaType(stream.getContentType()).toString());
+    }
+
+    @Test
+    void rolledBackWrite_isNotStreamed() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+        String rolledBack = vin();
+        String committed = vin();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.MEDIUM, rolledBack, 2023, VehicleStatus.AVAILABLE));
+            status.setRollbackOnly();
+        });
+        vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.MEDIUM, committed, 2023, VehicleStatus.AVAILABLE));
+
+        awaitEvents(stream, e -> committed.equals(e.get("vin")), 1);
+        assertFalse(stream.getContentAsString().contains(rolledBack));
+        assertEquals(1, loggedEventsWith(committed), "logged for the other instances");
+        assertEquals(0, loggedEventsWith(rolledBack));
+    }
+
+    @Test
+    void eventLoggedByAnotherInstance_isStreamed() throws Exception {
+        MockHttpServletResponse stream = subscribe(null);
+        String vin = vin();
+        String payload = objectMapper.writeValueAsString(
+                VehicleEvent.booked(UUID.randomUUID(), vin, LocalDate.now(), LocalDate.now().plusDays(2)));
+
+        jdbcTemplate.update("INSERT INTO vehicle_events (payload, origin, created_at) VALUES (?, 'another-instance', ?)",
+                payload, Timestamp.from(Instant.now()));
+
+        Map<?, ?> event = awaitEvents(stream, e -> vin.equals(e.get("vin")), 1).get(0);
+        assertEquals("BOOKING_CREATED", event.get("type"));
+    }
+
+    @Test
+    void reconnectWithLastEventId_resumesAfterIt() throws Exception {
+        MockHttpServletResponse first = subscribe(null);
+        String before = vin();
+        vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.MEDIUM, before, 2023, VehicleStatus.AVAILABLE));
+        awaitEvents(first, e -> before.equals(e.get("vin")), 1);
+        String lastEventId = lastIdBefore(first.getContentAsString(), before);
+
+        String missed = vin();
+        vehicleService.createVehicle(new VehicleRequest("Car", VehicleSegment.MEDIUM, missed, 2023, VehicleStatus.AVAILABLE));
+
+        MockHttpServletResponse resumed = subscribe(lastEventId);
+        awaitEvents(resumed, e -> missed.equals(e.get("vin")), 1);
+        assertFalse(resumed.getContentAsString().contains(before));
+
+        MockHttpServletResponse unknown = subscribe("not-an-event-of-this-instance");
+        awaitWithin(Duration.ofSeconds(5), () -> content(unknown).contains("event:reset"));
+    }
+
+    private MockHttpServletResponse subscribe(String lastEventId) throws Exception {
+        var subscription = get("/api/v1/vehicles/events").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            subscription.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(subscription)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    /** The first {@code count} streamed events matching {@code filter}, waiting up to 5 seconds for them. */
+    private List<Map<?, ?>> awaitEvents(MockHttpServletResponse stream, Predicate<Map<?, ?>> filter, int count) {
+        awaitWithin(Duration.ofSeconds(5), () -> events(stream).stream().filter(filter).count() >= count);
+        return events(stream).stream().filter(filter).limit(count).toList();
+    }
+
+    private List<Map<?, ?>> events(MockHttpServletResponse stream) {
+        return content(stream).lines()
+                .filter(line -> line.startsWith("data:{\""))
+                .<Map<?, ?>>map(line -> {
+                    try {
+                        return objectMapper.readValue(line.substring("data:".length()), Map.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private int loggedEventsWith(String vin) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicle_events WHERE payload LIKE ?",
+                Integer.class, "%\"" + vin + "\"%");
+    }
+
+    private static String lastIdBefore(String content, String marker) {
+        String id = null;
+        for (String line : content.lines().toList()) {
+            if (line.startsWith("id:")) {
+                id = line.substring("id:".length());
+            } else if (line.contains(marker)) {
+                return id;
+            }
+        }
+        throw new AssertionError("no event with " + marker);
+    }
+
+    private static String content(MockHttpServletResponse stream) {
+        try {
+            return stream.getContentAsString();
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String vin() {
+        return "VIN-EV-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static void awaitWithin(Duration timeout, BooleanSupplier condition) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "not streamed within " + timeout);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.carrental.integration;
+
+import com.carrental.dto.VehicleSegment;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.entity.Vehicle;
+import com.carrental.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The SQL search, with the fleet snapshot off. Totals are cached for 300ms here, so the test can
+ * watch one expire.
+ */
+@SpringBootTest(properties = {"app.vehicle-search.count-ttl=300ms", "app.fleet-snapshot.enabled=false"})
+public class VehicleSearchIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private MockMvc mockMvc;
+    private String type;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        // a type of its own, so vehicles of other tests never match
+        type = "Search-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void filters_combine() throws Exception {
+        for (int year = 2018; year <= 2022; year++) {
+            vehicle(VehicleSegment.MEDIUM, year, VehicleStatus.AVAILABLE);
+        }
+        vehicle(VehicleSegment.MEDIUM, 2020, VehicleStatus.MAINTENANCE);
+        vehicle(VehicleSegment.LARGE, 2020, VehicleStatus.AVAILABLE);
+
+        mockMvc.perform(get("/api/v1/vehicles/search")
+                        .param("type", type)
+                        .param("segment", "MEDIUM")
+                        .param("status", "AVAILABLE")
+                        .param("modelYearFrom", "2019")
+                        .param("modelYearTo", "2021"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[*].modelYear", containsInAnyOrder(2019, 2020, 2021)))
+                .andExpect(jsonPath("$.items[*].status", everyItem(is("AVAILABLE"))))
+                .andExpect(jsonPath("$.totalElements").value(3));
+
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("modelYearFrom", "2020"))
+                .andExpect(jsonPath("$.totalElements").value(5));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("segment", "LARGE"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].segment").value("LARGE"));
+    }
+
+    @Test
+    void pages_areStableAndCounted() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.AVAILABLE);
+        }
+
+        String first = mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.totalElements").value(7))
+                .andExpect(jsonPath("$.totalPages").value(3))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "3").param("page", "2"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.totalElements").value(7));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "3"))
+                .andExpect(content().json(first, true));
+    }
+
+    @Test
+    void total_isReusedAcrossPagesUntilItExpires() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.RESERVED);
+        }
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2"))
+                .andExpect(jsonPath("$.totalElements").value(4));
+
+        vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.RESERVED);
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2").param("page", "1"))
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.totalElements").value(4)); // cached, not counted again
+
+        Thread.sleep(400);
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2"))
+                .andExpect(jsonPath("$.totalElements").value(5));
+    }
+
+    @Test
+    void shortPage_tellsTheTotalWithoutCounting() throws Exception {
+        vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.AVAILABLE);
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+
+        vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.AVAILABLE);
+        vehicle(VehicleSegment.ECONOMY, 2021, VehicleStatus.AVAILABLE);
+        // the page is full now, but the total learned above is still fresh
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+        // a short last page corrects it right away
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2").param("page", "1"))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").value(3));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "2"))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void outOfRangePaging_isABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "1000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"))
+                .andExpect(jsonPath("$.message").value("size must be less than or equal to 100"));
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/vehicles/search").param("type", type).param("page", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("page must be greater than or equal to 0"));
+    }
+
+    private void vehicle(VehicleSegment segment, int modelYear, VehicleStatus status) {
+        vehicleRepository.save(Vehicle.builder()
+                .type(type)
+                .segment(segment)
+                .vin("VIN-SR-" + UUID.randomUUID().toString().substring(0, 12))
+                .modelYear(modelYear)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,84 @@
+package com.carrental.integration;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.DrivingLicenseClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.pricing.PricingEngine;
+import com.carrental.repository.CustomerRepository;
+import com.carrental.service.WarmUpRunner;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "app.warm-up.enabled=true",
+        "app.warm-up.iterations=50",
+        "app.warm-up.db-iterations=5"
+})
+public class WarmUpIntegrationTest {
+
+    @Autowired
+    private WarmUpRunner warmUpRunner;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ApplicationProperties props;
+
+    @MockBean
+    private CarRentalPricingClient carRentalPricingClient;
+
+    @MockBean
+    private DrivingLicenseClient drivingLicenseClient;
+
+    @Test
+    void warmUp_runsBeforeReadiness_andLeavesNoData() throws Exception {
+        when(carRentalPricingClient.getRateForCategory(anyString()))
+                .thenReturn(Optional.of(new RateResponse("ECONOMY", new BigDecimal("10.00"))));
+        when(drivingLicenseClient.licenseDetails(anyString())).thenReturn(Mono.empty());
+        long customersBefore = customerRepository.count();
+
+        warmUpRunner.run(null);
+
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertFalse(pricingEngine.loadedSegments().isEmpty());
+        assertEquals(customersBefore, customerRepository.count());
+    }
+
+    @Test
+    void warmUp_isCutOffAtMaxDuration() {
+        when(carRentalPricingClient.getRateForCategory(anyString())).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return Optional.empty();
+        });
+        Duration original = props.getWarmUp().getMaxDuration();
+        props.getWarmUp().setMaxDuration(Duration.ofMillis(300));
+        try {
+            long start = System.nanoTime();
+            warmUpRunner.run(null);
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+        } finally {
+            props.getWarmUp().setMaxDuration(original);
+        }
+    }
+}
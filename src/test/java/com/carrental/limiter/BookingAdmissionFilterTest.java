@@ -0,0 +1,70 @@
+package com.carrental.limiter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingAdmissionFilterTest {
+
+    private final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(2, 1, 10, 0.2, 1.5, 100);
+    private final BookingAdmissionFilter filter = new BookingAdmissionFilter(limiter, 3);
+
+    @Test
+    void saturatedLimiter_rejectsWith503AndRetryAfter() throws Exception {
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(booking(), response, chain);
+
+        assertNull(chain.getRequest(), "the controller is never reached");
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"code\":\"BOOKINGS_AT_CAPACITY\""), body);
+        assertTrue(body.contains("\"message\":\"Booking service is at capacity"), body);
+        assertTrue(body.contains("\"path\":\"/api/v1/vehicles/bookings\""), body);
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight(), "a rejected request holds no permit");
+    }
+
+    @Test
+    void retryAfter_followsTheLongTermLatency() throws Exception {
+        limiter.release(TimeUnit.SECONDS.toNanos(5), limiter.tryAcquire());
+        while (limiter.tryAcquire() > 0) {
+            // saturate whatever limit the sample left
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(booking(), response, new MockFilterChain());
+
+        assertEquals(503, response.getStatus());
+        assertEquals("6", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void admittedRequest_passesAndReleasesItsPermit() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(booking(), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static MockHttpServletRequest booking() {
+        return new MockHttpServletRequest("POST", "/api/v1/vehicles/bookings");
+    }
+}
@@ -0,0 +1,65 @@
+package com.carrental.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_rejectsOverLimit() {
+        var limiter = new GradientConcurrencyLimiter(2, 1, 10, 0.2, 1.5, 100);
+
+        assertEquals(1, limiter.tryAcquire());
+        assertEquals(2, limiter.tryAcquire());
+        assertEquals(-1, limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(10 * MS, 2);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire() > 0);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyIsSteady() {
+        var limiter = new GradientConcurrencyLimiter(10, 1, 100, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(10 * MS, limiter.getLimit());
+        }
+
+        assertEquals(100, limiter.getLimit());
+    }
+
+    @Test
+    void limitShrinksWhenLatencyRises() {
+        var limiter = new GradientConcurrencyLimiter(50, 4, 100, 0.2, 1.5, 100);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MS, limiter.getLimit());
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(200 * MS, limiter.getLimit());
+        }
+
+        assertTrue(limiter.getLimit() < before / 2, "limit should collapse under rising latency");
+        assertTrue(limiter.getLimit() >= 4);
+    }
+
+    @Test
+    void appLimitedSamplesDoNotChangeLimit() {
+        var limiter = new GradientConcurrencyLimiter(20, 1, 100, 0.2, 1.5, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MS, 1);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+}
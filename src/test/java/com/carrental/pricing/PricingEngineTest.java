@@ -0,0 +1,125 @@
+package com.carrental.pricing;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingEngineTest {
+
+    @Mock
+    private CarRentalPricingClient carRentalPricingClient;
+
+    private ApplicationProperties props;
+
+    @BeforeEach
+    void setUp() {
+        props = new ApplicationProperties();
+        ApplicationProperties.Pricing pricing = props.getPricing();
+        pricing.setWeekendDays(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+        pricing.setWeekendMultiplier(new BigDecimal("1.5"));
+
+        var winter = new ApplicationProperties.Pricing.Season();
+        winter.setFrom("12-20");
+        winter.setTo("01-05");
+        winter.setMultiplier(new BigDecimal("2"));
+        pricing.setSeasons(List.of(winter));
+
+        var newYear = new ApplicationProperties.Pricing.Holiday();
+        newYear.setDate("01-01");
+        newYear.setMultiplier(new BigDecimal("1.1"));
+        pricing.setHolidays(List.of(newYear));
+    }
+
+    @Test
+    void price_appliesWeekendMultiplier() {
+        rate("MEDIUM", "10.00");
+        PricingEngine engine = new PricingEngine(carRentalPricingClient, props);
+        LocalDate monday = LocalDate.now().plusDays(14).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        while (inWinter(monday) || inWinter(monday.plusDays(6))) {
+            monday = monday.plusWeeks(4);
+        }
+
+        // Mon..Sun: 5 x 10.00 + 2 x 15.00
+        assertEquals(new BigDecimal("80.00"), engine.price(VehicleSegment.MEDIUM, monday, monday.plusDays(6)).orElseThrow());
+    }
+
+    @Test
+    void price_seasonWrapsOverNewYearAndHolidayStacks() {
+        rate("ECONOMY", "10.00");
+        PricingEngine engine = new PricingEngine(carRentalPricingClient, props);
+        LocalDate newYear = LocalDate.of(LocalDate.now().getYear() + 1, 1, 1);
+
+        BigDecimal expected = BigDecimal.valueOf(PricingRules.from(props.getPricing()).dailyCents(1000, newYear), 2);
+        assertEquals(expected, engine.price(VehicleSegment.ECONOMY, newYear, newYear).orElseThrow());
+        // 10.00 x 2 (season) x 1.1 (holiday), x 1.5 again when it falls on a weekend
+        boolean weekend = newYear.getDayOfWeek() == DayOfWeek.SATURDAY || newYear.getDayOfWeek() == DayOfWeek.SUNDAY;
+        assertEquals(weekend ? new BigDecimal("33.00") : new BigDecimal("22.00"), expected);
+    }
+
+    @Test
+    void price_rangeMatchesSumOfDays_insideAndBeyondHorizon() {
+        rate("LUXURY", "99.99");
+        PricingEngine engine = new PricingEngine(carRentalPricingClient, props);
+        PricingRules rules = PricingRules.from(props.getPricing());
+
+        for (LocalDate start : List.of(LocalDate.now(), LocalDate.now().plusDays(700), LocalDate.now().plusYears(5))) {
+            LocalDate end = start.plusDays(29);
+            long cents = 0;
+            for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                cents += rules.dailyCents(9999, d);
+            }
+            assertEquals(BigDecimal.valueOf(cents, 2), engine.price(VehicleSegment.LUXURY, start, end).orElseThrow());
+        }
+        verify(carRentalPricingClient, times(1)).getRateForCategory("LUXURY");
+    }
+
+    @Test
+    void refresh_swapsInNewRatesAndKeepsOldOnFailure() {
+        rate("COMPACT", "10.00");
+        PricingEngine engine = new PricingEngine(carRentalPricingClient, new ApplicationProperties());
+        LocalDate day = LocalDate.now().plusDays(3);
+        assertEquals(new BigDecimal("10.00"), engine.price(VehicleSegment.COMPACT, day, day).orElseThrow());
+
+        rate("COMPACT", "12.00");
+        engine.refresh();
+        assertEquals(new BigDecimal("12.00"), engine.price(VehicleSegment.COMPACT, day, day).orElseThrow());
+
+        when(carRentalPricingClient.getRateForCategory("COMPACT")).thenThrow(new RuntimeException("down"));
+        engine.refresh();
+        assertEquals(new BigDecimal("12.00"), engine.price(VehicleSegment.COMPACT, day, day).orElseThrow());
+    }
+
+    @Test
+    void price_unknownSegment_isEmpty() {
+        when(carRentalPricingClient.getRateForCategory("COMMERCIAL")).thenReturn(Optional.empty());
+        PricingEngine engine = new PricingEngine(carRentalPricingClient, props);
+
+        assertTrue(engine.price(VehicleSegment.COMMERCIAL, LocalDate.now(), LocalDate.now()).isEmpty());
+    }
+
+    private void rate(String category, String rate) {
+        when(carRentalPricingClient.getRateForCategory(category))
+                .thenReturn(Optional.of(new RateResponse(category, new BigDecimal(rate))));
+    }
+
+    private static boolean inWinter(LocalDate d) {
+        return (d.getMonthValue() == 12 && d.getDayOfMonth() >= 20) || (d.getMonthValue() == 1 && d.getDayOfMonth() <= 5);
+    }
+}
@@ -0,0 +1,82 @@
+package com.carrental.projection;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.VehicleStatus;
+import com.carrental.exception.InvalidFieldsException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SparseFieldsServiceTest {
+
+    private final SparseFieldsService service =
+            new SparseFieldsService(mock(EntityManager.class), new ObjectMapper(), new ApplicationProperties());
+
+    @Test
+    void plan_selectsOnlyTheNamedColumns() {
+        ShapingPlan plan = service.plan(ResourceFields.VEHICLES, "vin,id");
+
+        assertEquals("SELECT v.id, v.vin FROM Vehicle v", plan.listQuery());
+        assertEquals("SELECT v.id, v.vin, v.version FROM Vehicle v WHERE v.id = :id", plan.byIdQuery());
+        assertEquals("SELECT v.id, v.startDate FROM ArchivedBooking v WHERE v.id = :id",
+                service.plan(ResourceFields.ARCHIVED_BOOKINGS, "bookingId,reservationStartDate").byIdQuery());
+    }
+
+    @Test
+    void plan_isSharedBySpellingsOfOneSelection() {
+        ShapingPlan plan = service.plan(ResourceFields.VEHICLES, "id,vin,status");
+
+        assertSame(plan, service.plan(ResourceFields.VEHICLES, "id,vin,status"));
+        assertSame(plan, service.plan(ResourceFields.VEHICLES, "status, vin,id,id"));
+        assertNotSame(plan, service.plan(ResourceFields.CUSTOMERS, "id"));
+        assertEquals(2, service.cachedPlans());
+    }
+
+    @Test
+    void plan_cacheIsBounded() {
+        ApplicationProperties props = new ApplicationProperties();
+        props.getSparseFields().setMaxPlans(1);
+        SparseFieldsService bounded = new SparseFieldsService(mock(EntityManager.class), new ObjectMapper(), props);
+
+        bounded.plan(ResourceFields.VEHICLES, "id");
+        bounded.plan(ResourceFields.VEHICLES, "vin");
+
+        assertEquals(1, bounded.cachedPlans());
+        assertEquals("SELECT v.vin FROM Vehicle v", bounded.plan(ResourceFields.VEHICLES, "vin").listQuery());
+    }
+
+    @Test
+    void plan_rejectsUnknownAndEmptySelections() {
+        InvalidFieldsException unknown = assertThrows(InvalidFieldsException.class,
+                () -> service.plan(ResourceFields.VEHICLES, "id,colour"));
+        assertTrue(unknown.getMessage().contains("'colour'"));
+        assertThrows(InvalidFieldsException.class, () -> service.plan(ResourceFields.CUSTOMERS, " , "));
+        assertEquals(0, service.cachedPlans());
+    }
+
+    @Test
+    void write_rendersRowInResponseOrder() throws Exception {
+        UUID id = UUID.randomUUID();
+        Tuple row = mock(Tuple.class);
+        when(row.get(0)).thenReturn(id);
+        when(row.get(1)).thenReturn(null);
+        when(row.get(2)).thenReturn(VehicleStatus.AVAILABLE);
+        ShapingPlan plan = service.plan(ResourceFields.VEHICLES, "status,modelYear,id");
+
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = new ObjectMapper().getFactory().createGenerator(out)) {
+            plan.write(generator, row);
+        }
+
+        assertEquals("{\"id\":\"" + id + "\",\"modelYear\":null,\"status\":\"AVAILABLE\"}", out.toString());
+    }
+}
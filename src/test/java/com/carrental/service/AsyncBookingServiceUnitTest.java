@@ -0,0 +1,69 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.BookingSubmissionStatus;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.BookingSubmission;
+import com.carrental.exception.BookingQueueFullException;
+import com.carrental.repository.BookingSubmissionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBookingServiceUnitTest {
+
+    @Mock
+    private BookingSubmissionRepository submissionRepository;
+
+    @Mock
+    private VehicleService vehicleService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AsyncBookingService asyncBookingService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties props = new ApplicationProperties();
+        props.getAsyncBooking().setWorkers(0); // nothing drains the queue
+        props.getAsyncBooking().setQueueCapacity(1);
+        asyncBookingService = new AsyncBookingService(submissionRepository, vehicleService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager, props);
+        when(submissionRepository.save(any(BookingSubmission.class))).thenAnswer(inv -> {
+            BookingSubmission s = inv.getArgument(0);
+            s.setId(UUID.randomUUID());
+            return s;
+        });
+    }
+
+    @Test
+    void submit_whenQueueIsFull_isRefusedAndNotJournalled() {
+        assertEquals(BookingSubmissionStatus.PENDING, asyncBookingService.submit(request()).status());
+
+        assertThrows(BookingQueueFullException.class, () -> asyncBookingService.submit(request()));
+
+        verify(submissionRepository, times(2)).save(any(BookingSubmission.class));
+        verify(submissionRepository, times(1)).deleteById(any(UUID.class));
+        verifyNoInteractions(vehicleService);
+    }
+
+    private static BookingRequest request() {
+        return new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3), VehicleSegment.COMPACT, "VIN1");
+    }
+}
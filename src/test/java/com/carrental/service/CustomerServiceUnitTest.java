@@ -201,7 +201,7 @@ class CustomerServiceUnitTest {
 
         when(repository.save(any(Customer.class))).thenReturn(saved);
 
-        CustomerResponse resp = customerService.updateCustomer(id, updateReq);
+        CustomerResponse resp = customerService.updateCustomer(id, updateReq, null);
 
         assertEquals("NewFirst", resp.firstName());
         assertEquals(55, resp.age());
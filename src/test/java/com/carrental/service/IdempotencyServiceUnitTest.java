@@ -0,0 +1,70 @@
+package com.carrental.service;
+
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.BookingRequest;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.entity.IdempotencyRecord;
+import com.carrental.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceUnitTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, transactionManager, new ApplicationProperties());
+    }
+
+    @Test
+    void hash_isSha256OfTheRequestAsSortedJson() throws Exception {
+        BookingRequest request = new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3), VehicleSegment.COMPACT, "VIN1");
+        String canonical = "{\"age\":30,\"customerName\":\"John Doe\",\"licenseNumber\":\"DL123456789\","
+                + "\"reservationEndDate\":\"2030-01-03\",\"reservationStartDate\":\"2030-01-01\","
+                + "\"segment\":\"COMPACT\",\"vin\":\"VIN1\"}";
+
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(canonical.getBytes(StandardCharsets.UTF_8))), IdempotencyService.hash(request));
+    }
+
+    @Test
+    void finishedExecutions_areNotKeptInMemory() {
+        when(repository.findById(any(String.class))).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        for (int i = 0; i < 100; i++) {
+            idempotencyService.execute(UUID.randomUUID().toString(), request(), UUID::randomUUID);
+        }
+
+        assertEquals(0, idempotencyService.inFlight());
+    }
+
+    private static BookingRequest request() {
+        return new BookingRequest("DL123456789", "John Doe", 30,
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 3), VehicleSegment.COMPACT, "VIN1");
+    }
+}
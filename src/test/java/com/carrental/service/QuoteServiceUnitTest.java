@@ -0,0 +1,83 @@
+package com.carrental.service;
+
+import com.carrental.client.CarRentalPricingClient;
+import com.carrental.client.dto.RateResponse;
+import com.carrental.config.ApplicationProperties;
+import com.carrental.dto.QuoteResponse;
+import com.carrental.dto.VehicleSegment;
+import com.carrental.exception.BookingException;
+import com.carrental.pricing.PricingEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteServiceUnitTest {
+
+    @Mock
+    private CarRentalPricingClient carRentalPricingClient;
+
+    private QuoteService quoteService;
+
+    @BeforeEach
+    void setUp() {
+        quoteService = new QuoteService(new PricingEngine(carRentalPricingClient, new ApplicationProperties()));
+    }
+
+    @Test
+    void quote_pricesInclusiveDaysFromRateCalendar() {
+        when(carRentalPricingClient.getRateForCategory("MEDIUM"))
+                .thenReturn(Optional.of(new RateResponse("MEDIUM", new BigDecimal("10.00"))));
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        QuoteResponse first = quoteService.quote(VehicleSegment.MEDIUM, from, from.plusDays(2));
+        QuoteResponse second = quoteService.quote(VehicleSegment.MEDIUM, from, from.plusDays(9));
+
+        assertEquals(3, first.rentalDays());
+        assertEquals(new BigDecimal("30.00"), first.totalPrice());
+        assertEquals(new BigDecimal("100.00"), second.totalPrice());
+        verify(carRentalPricingClient, times(1)).getRateForCategory("MEDIUM");
+    }
+
+    @Test
+    void quote_multipleSegments() {
+        when(carRentalPricingClient.getRateForCategory("ECONOMY"))
+                .thenReturn(Optional.of(new RateResponse("ECONOMY", new BigDecimal("5.00"))));
+        when(carRentalPricingClient.getRateForCategory("LUXURY"))
+                .thenReturn(Optional.of(new RateResponse("LUXURY", new BigDecimal("50.00"))));
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        List<QuoteResponse> quotes = quoteService.quote(
+                List.of(VehicleSegment.ECONOMY, VehicleSegment.LUXURY), from, from);
+
+        assertEquals(2, quotes.size());
+        assertEquals(new BigDecimal("5.00"), quotes.get(0).totalPrice());
+        assertEquals(new BigDecimal("50.00"), quotes.get(1).totalPrice());
+    }
+
+    @Test
+    void quote_moreThan30Days_throwsBookingException() {
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        assertThrows(BookingException.class, () -> quoteService.quote(VehicleSegment.MEDIUM, from, from.plusDays(30)));
+        verifyNoInteractions(carRentalPricingClient);
+    }
+
+    @Test
+    void quote_unknownRate_throwsBookingException() {
+        when(carRentalPricingClient.getRateForCategory("COMMERCIAL")).thenReturn(Optional.empty());
+        LocalDate from = LocalDate.of(2030, 5, 1);
+
+        assertThrows(BookingException.class, () -> quoteService.quote(VehicleSegment.COMMERCIAL, from, from));
+    }
+}
@@ -1,12 +1,16 @@
 package com.carrental.service;
 
+import com.carrental.cache.SerializedResponseCache;
 import com.carrental.client.CarRentalPricingClient;
 import com.carrental.client.DrivingLicenseClient;
 import com.carrental.client.dto.LicenseResponse;
 import com.carrental.client.dto.RateResponse;
+import com.carrental.config.ApplicationProperties;
 import com.carrental.dto.*;
 import com.carrental.entity.*;
 import com.carrental.exception.*;
+import com.carrental.fleet.FleetCatalog;
+import com.carrental.pricing.PricingEngine;
 import com.carrental.repository.*;
 import com.carrental.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +18,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.carrental.client.DrivingLicenseClient;
 
 import java.math.BigDecimal;
@@ -43,6 +50,27 @@ class VehicleServiceUnitTest {
     @Mock
     private CarRentalPricingClient carRentalPricingClient;
 
+    @Mock
+    private OccupancyService occupancyService;
+
+    @Mock
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Mock
+    private SerializedResponseCache responseCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BookingLeaseService bookingLeases;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private FleetCatalog fleet;
+
     @Captor
     private ArgumentCaptor<Booking> bookingCaptor;
 
@@ -57,7 +85,14 @@ class VehicleServiceUnitTest {
                 bookingRepository,
                 customerRepository,
                 drivingLicenseClient,
-                carRentalPricingClient
+                new PricingEngine(carRentalPricingClient, new ApplicationProperties()),
+                occupancyService,
+                archivedBookingRepository,
+                responseCache,
+                new TransactionTemplate(transactionManager),
+                bookingLeases,
+                events,
+                fleet
         );
     }
 
@@ -138,6 +173,8 @@ class VehicleServiceUnitTest {
         assertEquals("John Doe", captured.getCustomerName());
         assertEquals(expectedDays, captured.getRentalDays());
         assertEquals(new BigDecimal("30.00"), captured.getRentalPrice());
+        verify(bookingLeases).acquire(BookingLeaseService.vehicleKey("VIN123"));
+        verify(events).publishEvent(VehicleEvent.booked(vehicle.getId(), "VIN123", start, end));
     }
 
 
@@ -197,29 +234,12 @@ class VehicleServiceUnitTest {
         when(drivingLicenseClient.getLicenseDetails("DL-1"))
                 .thenReturn( Optional.of(licenseResp));
 
-        Customer customer = Customer.builder()
-                .id(UUID.randomUUID())
-                .firstName("John")
-                .lastName("Doe")
-                .drivingLicenseNumber("DL-1")
-                .age(30)
-                .build();
-        when(customerRepository.findByDrivingLicenseNumber("DL-1")).thenReturn(Optional.of(customer));
-
-        Vehicle vehicle = Vehicle.builder()
-                .id(UUID.randomUUID())
-                .vin("VIN11123")
-                .segment(VehicleSegment.MEDIUM)
-                .status(VehicleStatus.AVAILABLE)
-                .build();
-        when(vehicleRepository.findByVin("VIN11123")).thenReturn(Optional.of(vehicle));
-
-        when(bookingRepository.existsOverlappingBookingForVehicle(any(), any(), any())).thenReturn(false);
-
         when(carRentalPricingClient.getRateForCategory("MEDIUM"))
                 .thenReturn(Optional.empty());
 
         assertThrows(BookingException.class, () -> vehicleService.createBooking(req));
+        // pricing runs before the write transaction, so a missing rate never touches the database
+        verifyNoInteractions(customerRepository, vehicleRepository, bookingRepository, transactionManager, bookingLeases, events);
     }
 
 